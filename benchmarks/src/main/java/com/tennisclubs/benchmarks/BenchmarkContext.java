@@ -0,0 +1,72 @@
+package com.tennisclubs.benchmarks;
+
+import com.tennisclubs.TennisClubsApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Boots the application without the web layer against a private in-memory H2 database,
+ * with the {@code generate} profile filling it with the synthetic data set of the requested
+ * scale before the benchmark starts.
+ */
+public class BenchmarkContext implements AutoCloseable {
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate readOnly;
+    private final JdbcRoundTrips roundTrips = new JdbcRoundTrips();
+
+    /**
+     * The settings are passed as command line arguments so they take precedence over
+     * {@code application.properties} and the {@code generate} profile defaults.
+     */
+    public BenchmarkContext(String name, int clubs, int players, int matches, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "generator.clubs=" + clubs,
+                "generator.players=" + players,
+                "generator.matches=" + matches));
+        args.addAll(List.of(properties));
+        context = new SpringApplicationBuilder(TennisClubsApplication.class)
+                .initializers(applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(roundTrips))
+                .web(WebApplicationType.NONE)
+                .profiles("generate")
+                .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /** Statements executed against the database so far, a batch counting once. */
+    public long roundTrips() {
+        return roundTrips.count();
+    }
+
+    public long queryForId(String sql) {
+        return getBean(JdbcTemplate.class).queryForObject(sql, Long.class);
+    }
+
+    /**
+     * Runs a read inside a read-only transaction, the way a service method reads and maps its
+     * entities, so lazy associations can be walked until the work returns.
+     */
+    public <T> T read(Supplier<T> work) {
+        return readOnly.execute(status -> work.get());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,112 @@
+package com.tennisclubs.benchmarks;
+
+import com.tennisclubs.dao.*;
+import com.tennisclubs.entity.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports {@code rows} meetings, training sessions and transactions, with their attendees and
+ * players, in one transaction and rolls it back after the flush. Compare {@code batchSize=1}
+ * with the configured batch size; the {@code roundTrips} counter is the number of JDBC
+ * statement executions per import, which is what batching and pooled sequences cut down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+public class BulkImportBenchmark {
+    private static final int ATTENDEES = 5;
+    private static final int TRAINED_PLAYERS = 3;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"1000"})
+    public int rows;
+
+    private BenchmarkContext context;
+    private TransactionTemplate transaction;
+    private MeetingRepository meetingRepository;
+    private TrainingRepository trainingRepository;
+    private TransactionRepository transactionRepository;
+    private ClubRepository clubRepository;
+    private CoachRepository coachRepository;
+    private PlayerRepository playerRepository;
+    private List<Long> playerIds;
+    private long clubId;
+    private long coachId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long roundTrips;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext("bulk-import-benchmark", 10, 1000, 1000,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        meetingRepository = context.getBean(MeetingRepository.class);
+        trainingRepository = context.getBean(TrainingRepository.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        clubRepository = context.getBean(ClubRepository.class);
+        coachRepository = context.getBean(CoachRepository.class);
+        playerRepository = context.getBean(PlayerRepository.class);
+        playerIds = context.getBean(JdbcTemplate.class)
+                .queryForList("select player_id from player order by player_id", Long.class);
+        clubId = context.queryForId("select min(club_id) from club");
+        coachId = context.queryForId("select min(coach_id) from coach");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void importRows(RoundTrips counter) {
+        long before = context.roundTrips();
+        transaction.executeWithoutResult(status -> {
+            Club club = clubRepository.getReferenceById(clubId);
+            Coach coach = coachRepository.getReferenceById(coachId);
+            LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+            List<Meeting> meetings = new ArrayList<>();
+            List<Training> trainings = new ArrayList<>();
+            List<Transaction> transactions = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                Meeting meeting = new Meeting(start.plusHours(i), "Imported agenda " + i, null, club);
+                meeting.setAttendees(new HashSet<>(players(i, ATTENDEES)));
+                meetings.add(meeting);
+                trainings.add(new Training(start.plusHours(i), "1h", "Imported", null, players(i, TRAINED_PLAYERS), coach));
+                transactions.add(new Transaction(null, club, start.plusHours(i), 50.0, PaymentMethodEnum.CASH, "Imported fee"));
+            }
+            meetingRepository.saveAll(meetings);
+            trainingRepository.saveAll(trainings);
+            transactionRepository.saveAll(transactions);
+            meetingRepository.flush();
+            status.setRollbackOnly();
+        });
+        counter.roundTrips = context.roundTrips() - before;
+    }
+
+    private Set<Player> players(int row, int count) {
+        Set<Player> players = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            players.add(playerRepository.getReferenceById(playerIds.get((row * count + i) % playerIds.size())));
+        }
+        return players;
+    }
+}
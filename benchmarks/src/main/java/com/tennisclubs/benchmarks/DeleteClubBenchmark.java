@@ -0,0 +1,55 @@
+package com.tennisclubs.benchmarks;
+
+import com.tennisclubs.service.ClubService;
+import com.tennisclubs.service.SyntheticDataGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes a freshly seeded club on every invocation. The club owns its share of the
+ * matches ({@code matches / clubs}), so the cost of the cascade grows with the data set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class DeleteClubBenchmark {
+    @Param({"100"})
+    public int clubs;
+
+    @Param({"10000"})
+    public int players;
+
+    @Param({"10000", "100000", "1000000"})
+    public int matches;
+
+    private BenchmarkContext context;
+    private ClubService clubService;
+    private SyntheticDataGenerator generator;
+    private long clubId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext("delete-club-benchmark", clubs, players, matches);
+        clubService = context.getBean(ClubService.class);
+        generator = context.getBean(SyntheticDataGenerator.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void seedClub() {
+        clubId = generator.generateClub(matches / clubs);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void deleteClub() {
+        clubService.deleteClub(clubId);
+    }
+}
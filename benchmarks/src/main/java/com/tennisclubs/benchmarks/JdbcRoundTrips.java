@@ -0,0 +1,51 @@
+package com.tennisclubs.benchmarks;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the statement executions, single or batched, that reach the JDBC driver, i.e. the
+ * database round trips. Registered as a bean post-processor that wraps the data source.
+ */
+public class JdbcRoundTrips implements BeanPostProcessor {
+    private final AtomicLong executions = new AtomicLong();
+
+    public long count() {
+        return executions.get();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? wrap(dataSource, DataSource.class) : bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T wrap(T target, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute") && target instanceof Statement) {
+                executions.incrementAndGet();
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+                return wrap(connection, Connection.class);
+            }
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return wrap(statement, (Class<Statement>) method.getReturnType());
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
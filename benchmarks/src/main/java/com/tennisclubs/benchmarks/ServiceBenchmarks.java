@@ -0,0 +1,71 @@
+package com.tennisclubs.benchmarks;
+
+import com.tennisclubs.dto.GetMatchDTO;
+import com.tennisclubs.dto.GetPlayerDTO;
+import com.tennisclubs.dto.PersonDTO;
+import com.tennisclubs.service.CoachService;
+import com.tennisclubs.service.PlayerService;
+import com.tennisclubs.service.TournamentService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of the service layer. Run with {@code -prof gc} to get the allocation rate
+ * next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class ServiceBenchmarks {
+    @Param({"100"})
+    public int clubs;
+
+    @Param({"10000"})
+    public int players;
+
+    @Param({"10000", "100000", "1000000"})
+    public int matches;
+
+    private BenchmarkContext context;
+    private PlayerService playerService;
+    private TournamentService tournamentService;
+    private CoachService coachService;
+    private long tournamentId;
+    private long coachId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new BenchmarkContext("service-benchmarks", clubs, players, matches);
+        playerService = context.getBean(PlayerService.class);
+        tournamentService = context.getBean(TournamentService.class);
+        coachService = context.getBean(CoachService.class);
+        tournamentId = context.queryForId("select min(t.tournament_id) from tournament t " +
+                "join category c on c.category_id = t.category_id where c.type = 'SINGLES'");
+        coachId = context.queryForId("select min(coach_id) from coach");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<GetPlayerDTO> getAllPlayers() {
+        return context.read(playerService::getAllPlayers);
+    }
+
+    @Benchmark
+    public List<GetMatchDTO> getAllTournamentMatches() {
+        return context.read(() -> tournamentService.getAllTournamentMatches(tournamentId));
+    }
+
+    @Benchmark
+    public List<PersonDTO> getPlayersAvailableToTheCoach() {
+        return context.read(() -> coachService.getPlayersAvailableToTheCoach(coachId));
+    }
+}
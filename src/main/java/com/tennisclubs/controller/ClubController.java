@@ -1,11 +1,22 @@
 package com.tennisclubs.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.tennisclubs.dto.*;
 import com.tennisclubs.entity.pkeys.OwnsPK;
 import com.tennisclubs.service.ClubService;
+import com.tennisclubs.service.CsvReader;
+import com.tennisclubs.service.MergePatch;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -18,8 +29,12 @@ public class ClubController {
     }
 
     @GetMapping
-    public List<GetClubDTO> getAllClubs() {
-        return clubService.getAllClubs();
+    public ResponseEntity<List<GetClubDTO>> getAllClubs(@RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "after", required = false) String after) {
+        if (limit == null) {
+            return ResponseEntity.ok(clubService.getAllClubs());
+        }
+        return clubService.getClubsPage(limit, after);
     }
 
     @PostMapping
@@ -28,13 +43,21 @@ public class ClubController {
     }
 
     @GetMapping("/{clubId}")
-    public GetClubDTO seeClubInfo(@PathVariable("clubId") Long clubId) {
-        return clubService.seeClubInfo(clubId);
+    public ResponseEntity<GetClubDTO> seeClubInfo(@PathVariable("clubId") Long clubId) {
+        GetClubDTO dto = clubService.seeClubInfo(clubId);
+        return ResponseEntity.ok().eTag(String.valueOf(dto.getVersion())).body(dto);
     }
 
     @PutMapping("/{clubId}")
-    public ResponseEntity<Object> changeClubInfo(@PathVariable("clubId") Long clubId, @ModelAttribute AddClubDTO dto) {
-        return clubService.changeClubInfo(clubId, dto);
+    public ResponseEntity<Object> changeClubInfo(@PathVariable("clubId") Long clubId, @ModelAttribute AddClubDTO dto,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        return clubService.changeClubInfo(clubId, dto, ETags.requireIfMatch(ifMatch));
+    }
+
+    @PatchMapping(value = "/{clubId}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<Object> patchClubInfo(@PathVariable("clubId") Long clubId, @RequestBody JsonNode patch,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        return clubService.patchClubInfo(clubId, patch, ETags.requireIfMatch(ifMatch));
     }
 
     @DeleteMapping("/{clubId}")
@@ -48,6 +71,13 @@ public class ClubController {
     public List<GetTransactionDTO> getClubTransactions(@PathVariable("clubId") Long clubId) {
         return clubService.getClubTransactions(clubId); }
 
+    @GetMapping(value = "/{clubId}/transactions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportClubTransactions(@PathVariable("clubId") Long clubId) {
+        clubService.checkClubExists(clubId);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> clubService.exportClubTransactions(clubId, out));
+    }
+
     @GetMapping("/person")
     public List<PersonDTO> getPerson() {
         return clubService.getPerson(); }
@@ -57,6 +87,32 @@ public class ClubController {
         return clubService.addNewTransaction(dto, clubId);
     }
 
+    @PostMapping(value = "/{clubId}/transactions:bulk", consumes = CsvReader.MEDIA_TYPE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importClubTransactions(@PathVariable("clubId") Long clubId, InputStream csv) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(clubService.importClubTransactions(clubId, new InputStreamReader(csv, StandardCharsets.UTF_8)));
+    }
+
+    @GetMapping("/{clubId}/transactions/summary")
+    public List<TransactionSummaryDTO> getClubTransactionSummary(@PathVariable("clubId") Long clubId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "groupBy", defaultValue = "MONTH") TransactionSummaryGroupEnum groupBy) {
+        return clubService.getClubTransactionSummary(clubId, from, to, groupBy);
+    }
+
+    @GetMapping("/{clubId}/balance")
+    public GetClubBalanceDTO getClubBalance(@PathVariable("clubId") Long clubId) {
+        return clubService.getClubBalance(clubId);
+    }
+
+    @GetMapping("/{clubId}/balance/monthly")
+    public List<GetMonthlyBalanceDTO> getClubMonthlyBalances(@PathVariable("clubId") Long clubId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return clubService.getClubMonthlyBalances(clubId, from, to);
+    }
+
     @GetMapping("/{clubId}/transactions/{transactionId}")
     public GetTransactionDTO seeTransactionInfo(@PathVariable("transactionId") Long transactionId, @PathVariable("clubId") Long clubId) {
         return clubService.seeTransactionInfo(transactionId, clubId);
@@ -99,10 +155,26 @@ public class ClubController {
         return ResponseEntity.ok().body("Equipment deleted successfully!");
     }
 
+    // club players
+    @GetMapping("/{clubId}/players")
+    public List<PersonDTO> getClubPlayers(@PathVariable("clubId") Long clubId,
+            @RequestParam(name = "current", defaultValue = "false") boolean current) {
+        return clubService.getClubPlayers(clubId, current);
+    }
+
+    @GetMapping("/{clubId}/roster")
+    public GetClubRosterDTO getClubRoster(@PathVariable("clubId") Long clubId,
+            @RequestParam(name = "at", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate at) {
+        return clubService.getClubRoster(clubId, at);
+    }
+
     // club meetings
     @GetMapping("/{clubId}/meetings")
-    public List<GetMeetingDTO> getClubMeetings(@PathVariable("clubId") Long clubId) {
-        return clubService.getClubMeetings(clubId); }
+    public List<GetMeetingDTO> getClubMeetings(@PathVariable("clubId") Long clubId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return clubService.getClubMeetings(clubId, from, to);
+    }
 
     @PostMapping("/{clubId}/meetings")
     public ResponseEntity<Object> addNewMeeting(@ModelAttribute AddMeetingDTO dto, @PathVariable("clubId") Long clubId) {
@@ -140,6 +212,13 @@ public class ClubController {
         return clubService.seeCourtInfo(courtId, clubId);
     }
 
+    @GetMapping("/{clubId}/courts/{courtId}/availability")
+    public GetCourtAvailabilityDTO getCourtAvailability(@PathVariable("courtId") Long courtId, @PathVariable("clubId") Long clubId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return clubService.getCourtAvailability(clubId, courtId, from, to);
+    }
+
     @PutMapping("/{clubId}/courts/{courtId}")
     public ResponseEntity<Object> changeCourtInfo(@PathVariable("courtId") Long courtId, @ModelAttribute AddCourtDTO dto, @PathVariable("clubId") Long clubId) {
         return clubService.changeCourtInfo(courtId, dto, clubId);
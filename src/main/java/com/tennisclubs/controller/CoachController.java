@@ -1,10 +1,14 @@
 package com.tennisclubs.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.tennisclubs.dto.*;
 import com.tennisclubs.service.CoachService;
+import com.tennisclubs.service.MergePatch;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,8 +21,12 @@ public class CoachController {
     }
 
     @GetMapping
-    public List<GetCoachDTO> getAllCoaches() {
-        return coachService.getAllCoaches();
+    public ResponseEntity<List<GetCoachDTO>> getAllCoaches(@RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "after", required = false) String after) {
+        if (limit == null) {
+            return ResponseEntity.ok(coachService.getAllCoaches());
+        }
+        return coachService.getCoachesPage(limit, after);
     }
 
     @PostMapping
@@ -27,13 +35,21 @@ public class CoachController {
     }
 
     @GetMapping("/{coachId}")
-    public GetCoachDTO seeCoachInfo(@PathVariable("coachId") Long coachId) {
-        return coachService.seeCoachInfo(coachId);
+    public ResponseEntity<GetCoachDTO> seeCoachInfo(@PathVariable("coachId") Long coachId) {
+        GetCoachDTO dto = coachService.seeCoachInfo(coachId);
+        return ResponseEntity.ok().eTag(String.valueOf(dto.getVersion())).body(dto);
     }
 
     @PutMapping("/{coachId}")
-    public ResponseEntity<Object> changeCoachInfo(@PathVariable("coachId") Long coachId, @ModelAttribute AddCoachDTO dto) {
-        return coachService.changeCoachInfo(coachId, dto);
+    public ResponseEntity<Object> changeCoachInfo(@PathVariable("coachId") Long coachId, @ModelAttribute AddCoachDTO dto,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        return coachService.changeCoachInfo(coachId, dto, ETags.requireIfMatch(ifMatch));
+    }
+
+    @PatchMapping(value = "/{coachId}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<Object> patchCoachInfo(@PathVariable("coachId") Long coachId, @RequestBody JsonNode patch,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        return coachService.patchCoachInfo(coachId, patch, ETags.requireIfMatch(ifMatch));
     }
 
     @DeleteMapping("/{coachId}")
@@ -42,10 +58,24 @@ public class CoachController {
         return ResponseEntity.ok().body("Coach deleted successfully!");
     }
 
+    @GetMapping("/{coachId}/clubs")
+    public List<MembershipDTO> getCoachClubs(@PathVariable("coachId") Long coachId) {
+        return coachService.getCoachClubs(coachId);
+    }
+
     // coach training sessions
     @GetMapping("/{coachId}/training-sessions")
-    public List<GetTrainingDTO> getCoachTrainingSessions(@PathVariable("coachId") Long coachId) {
-        return coachService.getCoachTrainingSessions(coachId);
+    public List<GetTrainingDTO> getCoachTrainingSessions(@PathVariable("coachId") Long coachId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return coachService.getCoachTrainingSessions(coachId, from, to);
+    }
+
+    @GetMapping("/{coachId}/free-slots")
+    public List<TimeSlotDTO> getCoachFreeSlots(@PathVariable("coachId") Long coachId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return coachService.getCoachFreeSlots(coachId, from, to);
     }
 
     @GetMapping("/{coachId}/players")
@@ -3,6 +3,7 @@ package com.tennisclubs.controller;
 import com.tennisclubs.dto.AddDoubleDTO;
 import com.tennisclubs.dto.GetDoubleDTO;
 import com.tennisclubs.dto.GetMatchDTO;
+import com.tennisclubs.dto.GetMatchStatsDTO;
 import com.tennisclubs.entity.Match;
 import com.tennisclubs.service.DoubleService;
 import org.springframework.http.ResponseEntity;
@@ -20,8 +21,12 @@ public class DoubleController {
     }
 
     @GetMapping
-    public List<GetDoubleDTO> getAllDoubles() {
-        return doubleService.getAllDoubles();
+    public ResponseEntity<List<GetDoubleDTO>> getAllDoubles(@RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "after", required = false) String after) {
+        if (limit == null) {
+            return ResponseEntity.ok(doubleService.getAllDoubles());
+        }
+        return doubleService.getDoublesPage(limit, after);
     }
 
     @PostMapping
@@ -50,4 +55,9 @@ public class DoubleController {
     public List<GetMatchDTO> getAllDoubleMatches(@PathVariable("pairId") Long pairId) {
         return doubleService.getAllDoubleMatches(pairId);
     }
+
+    @GetMapping("/{pairId}/stats")
+    public GetMatchStatsDTO getPairStats(@PathVariable("pairId") Long pairId) {
+        return doubleService.getPairStats(pairId);
+    }
 }
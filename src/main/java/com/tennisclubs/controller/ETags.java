@@ -0,0 +1,44 @@
+package com.tennisclubs.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Entity versions as HTTP entity tags: {@code "3"} for version 3.
+ */
+final class ETags {
+    private ETags() {}
+
+    /**
+     * The version pinned by the {@code If-Match} header of a change submitted by a client, or
+     * {@code null} for {@code *}, which lets the change overwrite any version. Without the header
+     * the change is rejected with 428, so a client never replaces a version it has not seen.
+     */
+    static Long requireIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED, "If-Match with the ETag of a GET response is required");
+        }
+        return parseIfMatch(ifMatch);
+    }
+
+    /**
+     * The version pinned by an {@code If-Match} header, or {@code null} when there is none or it is {@code *}.
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must be a single entity tag from a GET response");
+        }
+    }
+}
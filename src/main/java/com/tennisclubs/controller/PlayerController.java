@@ -1,12 +1,18 @@
 package com.tennisclubs.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.tennisclubs.dto.AddPlayerDTO;
 import com.tennisclubs.dto.GetMatchDTO;
+import com.tennisclubs.dto.GetMatchStatsDTO;
 import com.tennisclubs.dto.GetPlayerDTO;
+import com.tennisclubs.dto.MembershipDTO;
 import com.tennisclubs.entity.Match;
+import com.tennisclubs.service.MergePatch;
 import com.tennisclubs.service.PlayerService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,21 +26,38 @@ public class PlayerController {
     }
 
     @GetMapping
-    public List<GetPlayerDTO> getAllPlayers() {
-        return playerService.getAllPlayers();
+    public ResponseEntity<List<GetPlayerDTO>> getAllPlayers(@RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "after", required = false) String after) {
+        if (limit == null) {
+            return ResponseEntity.ok(playerService.getAllPlayers());
+        }
+        return playerService.getPlayersPage(limit, after);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPlayers() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(playerService::exportPlayers);
     }
 
     @PostMapping
     public ResponseEntity<Object> addNewPlayer(@ModelAttribute AddPlayerDTO dto) { return playerService.addNewPlayer(dto); }
 
     @GetMapping("/{playerId}")
-    public GetPlayerDTO seePlayerInfo(@PathVariable("playerId") Long playerId) {
-        return playerService.seePlayerInfo(playerId);
+    public ResponseEntity<GetPlayerDTO> seePlayerInfo(@PathVariable("playerId") Long playerId) {
+        GetPlayerDTO dto = playerService.seePlayerInfo(playerId);
+        return ResponseEntity.ok().eTag(String.valueOf(dto.getVersion())).body(dto);
     }
 
     @PutMapping("/{playerId}")
-    public ResponseEntity<Object> changePlayerInfo(@PathVariable("playerId") Long playerId, @ModelAttribute AddPlayerDTO dto) {
-        return playerService.changePlayerInfo(playerId, dto);
+    public ResponseEntity<Object> changePlayerInfo(@PathVariable("playerId") Long playerId, @ModelAttribute AddPlayerDTO dto,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        return playerService.changePlayerInfo(playerId, dto, ETags.requireIfMatch(ifMatch));
+    }
+
+    @PatchMapping(value = "/{playerId}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<Object> patchPlayerInfo(@PathVariable("playerId") Long playerId, @RequestBody JsonNode patch,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        return playerService.patchPlayerInfo(playerId, patch, ETags.requireIfMatch(ifMatch));
     }
 
     @DeleteMapping("/{playerId}")
@@ -48,4 +71,14 @@ public class PlayerController {
     public List<GetMatchDTO> getPlayerMatches(@PathVariable("playerId") Long playerId) {
         return playerService.getPlayerMatches(playerId); }
 
+    @GetMapping("/{playerId}/stats")
+    public GetMatchStatsDTO getPlayerStats(@PathVariable("playerId") Long playerId) {
+        return playerService.getPlayerStats(playerId);
+    }
+
+    @GetMapping("/{playerId}/clubs")
+    public List<MembershipDTO> getPlayerClubs(@PathVariable("playerId") Long playerId) {
+        return playerService.getPlayerClubs(playerId);
+    }
+
 }
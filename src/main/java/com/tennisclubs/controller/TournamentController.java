@@ -4,11 +4,21 @@ import com.tennisclubs.dto.AddMatchDTO;
 import com.tennisclubs.dto.AddTournamentDTO;
 import com.tennisclubs.dto.GetMatchDTO;
 import com.tennisclubs.dto.GetTournamentDTO;
+import com.tennisclubs.entity.CategoryTypeEnum;
 import com.tennisclubs.entity.Match;
+import com.tennisclubs.service.CsvReader;
 import com.tennisclubs.service.TournamentService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -21,8 +31,12 @@ public class TournamentController {
     }
 
     @GetMapping
-    public List<GetTournamentDTO> getAllTournaments() {
-        return tournamentService.getAllTournaments();
+    public ResponseEntity<List<GetTournamentDTO>> getAllTournaments(@RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "after", required = false) String after) {
+        if (limit == null) {
+            return ResponseEntity.ok(tournamentService.getAllTournaments());
+        }
+        return tournamentService.getTournamentsPage(limit, after);
     }
 
     @PostMapping
@@ -31,13 +45,15 @@ public class TournamentController {
     }
 
     @GetMapping("/{tournamentId}")
-    public GetTournamentDTO seeTournamentInfo(@PathVariable("tournamentId") Long tournamentId) {
-        return tournamentService.seeTournamentInfo(tournamentId);
+    public ResponseEntity<GetTournamentDTO> seeTournamentInfo(@PathVariable("tournamentId") Long tournamentId) {
+        GetTournamentDTO dto = tournamentService.seeTournamentInfo(tournamentId);
+        return ResponseEntity.ok().eTag(String.valueOf(dto.getVersion())).body(dto);
     }
 
     @PutMapping("/{tournamentId}")
-    public ResponseEntity<Object> changeTournamentInfo(@PathVariable("tournamentId") Long tournamentId, @ModelAttribute AddTournamentDTO dto) {
-        return tournamentService.changeTournamentInfo(tournamentId, dto);
+    public ResponseEntity<Object> changeTournamentInfo(@PathVariable("tournamentId") Long tournamentId, @ModelAttribute AddTournamentDTO dto,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        return tournamentService.changeTournamentInfo(tournamentId, dto, ETags.requireIfMatch(ifMatch));
     }
 
     @DeleteMapping("/{tournamentId}")
@@ -48,8 +64,25 @@ public class TournamentController {
 
     // tournament matches
     @GetMapping("/{tournamentId}/matches")
-    public List<GetMatchDTO> getAllTournamentMatches(@PathVariable("tournamentId") Long tournamentId) {
-        return tournamentService.getAllTournamentMatches(tournamentId);
+    public ResponseEntity<List<GetMatchDTO>> getAllTournamentMatches(@PathVariable("tournamentId") Long tournamentId,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from != null || to != null) {
+            return ResponseEntity.ok(tournamentService.getTournamentMatchesInPeriod(tournamentId, from, to, limit));
+        }
+        if (limit == null) {
+            return ResponseEntity.ok(tournamentService.getAllTournamentMatches(tournamentId));
+        }
+        return tournamentService.getTournamentMatchesPage(tournamentId, limit, after);
+    }
+
+    @GetMapping(value = "/{tournamentId}/matches", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTournamentMatches(@PathVariable("tournamentId") Long tournamentId) {
+        CategoryTypeEnum type = tournamentService.getTournamentType(tournamentId);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> tournamentService.exportTournamentMatches(tournamentId, type, out));
     }
 
     @PostMapping("/{tournamentId}/matches")
@@ -57,14 +90,26 @@ public class TournamentController {
         return tournamentService.addNewTournamentMatch(dto, tournamentId);
     }
 
+    @PostMapping(value = "/{tournamentId}/matches:bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> importTournamentMatches(@PathVariable("tournamentId") Long tournamentId, @RequestBody List<AddMatchDTO> dtos) {
+        return tournamentService.importTournamentMatches(tournamentId, dtos);
+    }
+
+    @PostMapping(value = "/{tournamentId}/matches:bulk", consumes = CsvReader.MEDIA_TYPE)
+    public ResponseEntity<Object> importTournamentMatchesCsv(@PathVariable("tournamentId") Long tournamentId, InputStream csv) throws IOException {
+        return tournamentService.importTournamentMatchesCsv(tournamentId, new InputStreamReader(csv, StandardCharsets.UTF_8));
+    }
+
     @GetMapping("/{tournamentId}/matches/{matchId}")
-    public GetMatchDTO seeTournamentMatchInfo(@PathVariable("matchId") Long matchId, @PathVariable("tournamentId") Long tournamentId) {
-        return tournamentService.seeTournamentMatchInfo(matchId, tournamentId);
+    public ResponseEntity<GetMatchDTO> seeTournamentMatchInfo(@PathVariable("matchId") Long matchId, @PathVariable("tournamentId") Long tournamentId) {
+        GetMatchDTO dto = tournamentService.seeTournamentMatchInfo(matchId, tournamentId);
+        return ResponseEntity.ok().eTag(String.valueOf(dto.getVersion())).body(dto);
     }
 
     @PutMapping("/{tournamentId}/matches/{matchId}")
-    public ResponseEntity<Object> changeTournamentMatchInfo(@PathVariable("matchId") Long matchId, @PathVariable("tournamentId") Long tournamentId, @ModelAttribute AddMatchDTO dto) {
-        return tournamentService.changeTournamentMatchInfo(matchId, tournamentId, dto);
+    public ResponseEntity<Object> changeTournamentMatchInfo(@PathVariable("matchId") Long matchId, @PathVariable("tournamentId") Long tournamentId, @ModelAttribute AddMatchDTO dto,
+            @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        return tournamentService.changeTournamentMatchInfo(matchId, tournamentId, dto, ETags.requireIfMatch(ifMatch));
     }
 
     @DeleteMapping("/{tournamentId}/matches/{matchId}")
@@ -1,8 +1,20 @@
 package com.tennisclubs.dao;
 
 import com.tennisclubs.entity.Category;
+import com.tennisclubs.entity.CategoryTypeEnum;
+import com.tennisclubs.entity.SexEnum;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    Optional<Category> findByTypeAndAgeLimitAndSexLimit(CategoryTypeEnum type, String ageLimit, SexEnum sexLimit);
 
+    @Modifying
+    @Query("delete from Category c where c.categoryId in :categoryIds and not exists (select t from Tournament t where t.category = c)")
+    int deleteUnusedByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds);
 }
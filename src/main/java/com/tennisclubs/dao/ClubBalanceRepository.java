@@ -0,0 +1,18 @@
+package com.tennisclubs.dao;
+
+import com.tennisclubs.entity.ClubBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ClubBalanceRepository extends JpaRepository<ClubBalance, Long> {
+    @Modifying
+    @Query(value = "update club_balance set income = income + :income, expenses = expenses + :expenses, " +
+            "transaction_count = transaction_count + :count where club_id = :clubId", nativeQuery = true)
+    int addToBalance(@Param("clubId") Long clubId, @Param("income") Double income, @Param("expenses") Double expenses, @Param("count") Long count);
+
+    @Modifying
+    @Query("delete from ClubBalance b where b.clubId = :clubId")
+    int deleteAllByClubId(@Param("clubId") Long clubId);
+}
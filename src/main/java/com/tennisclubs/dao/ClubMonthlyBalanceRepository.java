@@ -0,0 +1,28 @@
+package com.tennisclubs.dao;
+
+import com.tennisclubs.entity.ClubMonthlyBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ClubMonthlyBalanceRepository extends JpaRepository<ClubMonthlyBalance, Long> {
+    List<ClubMonthlyBalance> findAllByClubIdOrderByMonth(Long clubId);
+    List<ClubMonthlyBalance> findAllByClubIdAndMonthBeforeOrderByMonth(Long clubId, LocalDate before);
+
+    @Modifying
+    @Query(value = "update club_monthly_balance set income = income + :income, expenses = expenses + :expenses, " +
+            "transaction_count = transaction_count + :count where club_id = :clubId and balance_month = :month", nativeQuery = true)
+    int addToMonth(@Param("clubId") Long clubId, @Param("month") LocalDate month, @Param("income") Double income, @Param("expenses") Double expenses, @Param("count") Long count);
+
+    @Modifying
+    @Query("delete from ClubMonthlyBalance b where b.clubId = :clubId and b.month = :month and b.transactionCount = 0")
+    int deleteIfEmpty(@Param("clubId") Long clubId, @Param("month") LocalDate month);
+
+    @Modifying
+    @Query("delete from ClubMonthlyBalance b where b.clubId = :clubId")
+    int deleteAllByClubId(@Param("clubId") Long clubId);
+}
@@ -1,7 +1,12 @@
 package com.tennisclubs.dao;
 
 import com.tennisclubs.entity.Club;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -9,4 +14,8 @@ public interface ClubRepository extends JpaRepository<Club, Long> {
     Optional<Club> findByClubId(Long clubId);
     boolean existsByClubId(Long clubId);
     Optional<Club> findByName(String name);
+
+    @EntityGraph(attributePaths = {"place"})
+    @Query("select c from Club c where c.name > :name or (c.name = :name and c.clubId > :clubId) order by c.name, c.clubId")
+    Slice<Club> findPageAfter(@Param("name") String name, @Param("clubId") Long clubId, Pageable pageable);
 }
@@ -1,12 +1,31 @@
 package com.tennisclubs.dao;
 
 import com.tennisclubs.entity.Coach;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CoachRepository extends JpaRepository<Coach, Long> {
     Optional<Coach> findByOib(String oib);
     Optional<Coach> findByPersonId(Long coachId);
     boolean existsByPersonId(Long coachId);
+
+    @EntityGraph(attributePaths = {"place", "clubsCoachedAt", "clubsCoachedAt.club"})
+    @Query("select c from Coach c")
+    List<Coach> findAllWithClubs();
+
+    @Query("select c.personId from Coach c where c.surname > :surname or (c.surname = :surname and c.personId > :coachId) " +
+            "order by c.surname, c.personId")
+    Slice<Long> findIdPageAfter(@Param("surname") String surname, @Param("coachId") Long coachId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"place", "clubsCoachedAt", "clubsCoachedAt.club"})
+    @Query("select c from Coach c where c.personId in :coachIds order by c.surname, c.personId")
+    List<Coach> findAllWithClubsByPersonIdIn(@Param("coachIds") Collection<Long> coachIds);
 }
@@ -2,12 +2,29 @@ package com.tennisclubs.dao;
 
 import com.tennisclubs.entity.Club;
 import com.tennisclubs.entity.Court;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CourtRepository extends JpaRepository<Court, Long> {
     Optional<Court> findByClub(Club club);
+    Optional<Court> findByClubAndName(Club club, String name);
     boolean existsByCourtId(Long courtId);
     Optional<Court> findByCourtId(Long courtId);
+    List<Court> findAllByClubClubId(Long clubId);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select c from Court c where c.courtId in :courtIds order by c.courtId")
+    List<Court> lockAllByCourtIdIn(@Param("courtIds") Collection<Long> courtIds);
+
+    @Modifying
+    @Query("delete from Court c where c.club.clubId = :clubId")
+    int deleteAllByClubId(@Param("clubId") Long clubId);
 }
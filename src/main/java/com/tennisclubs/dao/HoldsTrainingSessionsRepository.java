@@ -1,14 +1,44 @@
 package com.tennisclubs.dao;
 
+import com.tennisclubs.dto.MembershipDTO;
+import com.tennisclubs.dto.PersonDTO;
 import com.tennisclubs.entity.Club;
 import com.tennisclubs.entity.Coach;
 import com.tennisclubs.entity.HoldsTrainingSessions;
-import com.tennisclubs.entity.pkeys.HoldsTrainingSessionsPK;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
-public interface HoldsTrainingSessionsRepository extends JpaRepository<HoldsTrainingSessions, HoldsTrainingSessionsPK> {
+public interface HoldsTrainingSessionsRepository extends JpaRepository<HoldsTrainingSessions, Long> {
     Optional<HoldsTrainingSessions> findByCoach(Coach coach);
     Optional<HoldsTrainingSessions> findByClub(Club club);
+
+    @Query("select h.club.clubId from HoldsTrainingSessions h where h.coach.personId = :coachId and h.toDate is null " +
+            "order by h.fromDate desc, h.club.clubId desc")
+    List<Long> findCurrentClubIds(@Param("coachId") Long coachId);
+
+    /**
+     * Coaches of the club on the day, with {@code toDate} exclusive as in {@link RepresentsRepository#findRosterAt}.
+     */
+    @Query("select new com.tennisclubs.dto.PersonDTO(c.personId, c.oib, c.name, c.surname) from HoldsTrainingSessions h join h.coach c " +
+            "where h.club.clubId = :clubId and (h.toDate is null or h.toDate > :at) and h.fromDate <= :at " +
+            "order by c.surname, c.name, c.personId")
+    List<PersonDTO> findCoachesAt(@Param("clubId") Long clubId, @Param("at") LocalDate at);
+
+    @Query("select new com.tennisclubs.dto.MembershipDTO(c.clubId, c.name, h.fromDate, h.toDate) from HoldsTrainingSessions h join h.club c " +
+            "where h.coach.personId = :coachId order by h.fromDate, c.clubId")
+    List<MembershipDTO> findTimeline(@Param("coachId") Long coachId);
+
+    @Modifying
+    @Query("delete from HoldsTrainingSessions h where h.club.clubId = :clubId")
+    int deleteAllByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("delete from HoldsTrainingSessions h where h.coach.personId = :coachId")
+    int deleteAllByCoachId(@Param("coachId") Long coachId);
 }
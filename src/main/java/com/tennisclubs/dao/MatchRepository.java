@@ -1,17 +1,157 @@
 package com.tennisclubs.dao;
 
+import com.tennisclubs.dto.BookedSlotDTO;
+import com.tennisclubs.dto.MatchOutcome;
+import com.tennisclubs.dto.ScheduledSlotDTO;
 import com.tennisclubs.entity.Match;
 import com.tennisclubs.entity.Pair;
 import com.tennisclubs.entity.Player;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MatchRepository extends JpaRepository<Match, Long> {
+    String SELECT_OUTCOME = "select new com.tennisclubs.dto.MatchOutcome(m.player1.personId, m.player2.personId, " +
+            "m.pair1.pairId, m.pair2.pairId, m.winnerSide, m.court.surface, m.stage) from Match m ";
+    String IN_PERIOD = "and m.matchTimestamp >= :from and m.matchTimestamp < :to order by m.matchTimestamp, m.matchId";
+
     boolean existsByMatchId(Long matchId);
     Optional<Match> findByMatchId(Long matchId);
     Optional<Match> findByPlayer1(Player player1);
     Optional<Match> findByPlayer2(Player player2);
     Optional<Match> findByPair1(Pair pair1);
     Optional<Match> findByPair2(Pair pair2);
+
+    @EntityGraph(attributePaths = {"player1", "player2", "court", "tournament", "tournament.category"})
+    @Query("select m from Match m where m.tournament.tournamentId = :tournamentId")
+    List<Match> findSinglesByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    @EntityGraph(attributePaths = {"pair1", "pair1.player1", "pair1.player2", "pair2", "pair2.player1", "pair2.player2",
+            "court", "tournament", "tournament.category"})
+    @Query("select m from Match m where m.tournament.tournamentId = :tournamentId")
+    List<Match> findDoublesByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    @EntityGraph(attributePaths = {"player1", "player2", "court", "tournament", "tournament.category"})
+    @Query("select m from Match m where m.tournament.tournamentId = :tournamentId " + IN_PERIOD)
+    List<Match> findSinglesByTournamentIdAndPeriod(@Param("tournamentId") Long tournamentId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @EntityGraph(attributePaths = {"pair1", "pair1.player1", "pair1.player2", "pair2", "pair2.player1", "pair2.player2",
+            "court", "tournament", "tournament.category"})
+    @Query("select m from Match m where m.tournament.tournamentId = :tournamentId " + IN_PERIOD)
+    List<Match> findDoublesByTournamentIdAndPeriod(@Param("tournamentId") Long tournamentId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Bookings of the court overlapping {@code [from, to)}. No match lasts longer than
+     * {@link Match#MAX_DURATION}, so callers pass {@code from} minus that as {@code earliestStart}
+     * and the (court, timestamp) index is scanned only over that window.
+     */
+    @Query("select new com.tennisclubs.dto.BookedSlotDTO(m.matchId, m.matchTimestamp, m.matchEnd) from Match m " +
+            "where m.court.courtId = :courtId and m.matchTimestamp >= :earliestStart and m.matchTimestamp < :to and m.matchEnd > :from " +
+            "order by m.matchTimestamp")
+    List<BookedSlotDTO> findCourtBookings(@Param("courtId") Long courtId, @Param("earliestStart") LocalDateTime earliestStart,
+                                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Matches overlapping {@code [from, to)} played by the players, alone or in a pair; none
+     * starts before {@code earliestStart}.
+     */
+    @Query("select new com.tennisclubs.dto.ScheduledSlotDTO(p.personId, m.matchTimestamp, m.matchEnd, 'match', m.matchId) " +
+            "from Match m left join m.pair1 a left join m.pair2 b join Player p " +
+            "on p = m.player1 or p = m.player2 or p = a.player1 or p = a.player2 or p = b.player1 or p = b.player2 " +
+            "where p.personId in :personIds and m.matchTimestamp >= :earliestStart and m.matchTimestamp < :to and m.matchEnd > :from " +
+            "order by m.matchTimestamp")
+    List<ScheduledSlotDTO> findPlayedInPeriod(@Param("personIds") Collection<Long> personIds, @Param("earliestStart") LocalDateTime earliestStart,
+                                              @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select m from Match m where m.matchEnd is null and m.matchTimestamp is not null")
+    List<Match> findAllWithoutMatchEnd();
+
+    @EntityGraph(attributePaths = {"player1", "player2", "court", "tournament", "tournament.category"})
+    @Query("select m from Match m where m.tournament.tournamentId = :tournamentId and m.matchId > :matchId order by m.matchId")
+    Slice<Match> findSinglesPageByTournamentId(@Param("tournamentId") Long tournamentId, @Param("matchId") Long matchId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"pair1", "pair1.player1", "pair1.player2", "pair2", "pair2.player1", "pair2.player2",
+            "court", "tournament", "tournament.category"})
+    @Query("select m from Match m where m.tournament.tournamentId = :tournamentId and m.matchId > :matchId order by m.matchId")
+    Slice<Match> findDoublesPageByTournamentId(@Param("tournamentId") Long tournamentId, @Param("matchId") Long matchId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"player1", "player2", "court", "tournament", "tournament.category"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select m from Match m where m.tournament.tournamentId = :tournamentId order by m.matchId")
+    Stream<Match> streamSinglesByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    @EntityGraph(attributePaths = {"pair1", "pair1.player1", "pair1.player2", "pair2", "pair2.player1", "pair2.player2",
+            "court", "tournament", "tournament.category"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select m from Match m where m.tournament.tournamentId = :tournamentId order by m.matchId")
+    Stream<Match> streamDoublesByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    @EntityGraph(attributePaths = {"player1", "player2", "court", "tournament", "tournament.category"})
+    @Query("select m from Match m where m.player1.personId = :playerId or m.player2.personId = :playerId")
+    List<Match> findSinglesByPlayerId(@Param("playerId") Long playerId);
+
+    @EntityGraph(attributePaths = {"pair1", "pair1.player1", "pair1.player2", "pair2", "pair2.player1", "pair2.player2",
+            "court", "tournament", "tournament.category"})
+    @Query("select m from Match m where m.pair1.pairId = :pairId or m.pair2.pairId = :pairId")
+    List<Match> findDoublesByPairId(@Param("pairId") Long pairId);
+
+    @Query(SELECT_OUTCOME)
+    List<MatchOutcome> findAllOutcomes();
+
+    @Query(SELECT_OUTCOME + "where m.tournament.tournamentId in (select t.tournamentId from Tournament t where t.club.clubId = :clubId) " +
+            "or m.court.courtId in (select c.courtId from Court c where c.club.clubId = :clubId)")
+    List<MatchOutcome> findOutcomesByClubId(@Param("clubId") Long clubId);
+
+    @Query(SELECT_OUTCOME + "where m.tournament.tournamentId = :tournamentId")
+    List<MatchOutcome> findOutcomesByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    @Query(SELECT_OUTCOME + "where m.pair1.pairId = :pairId or m.pair2.pairId = :pairId")
+    List<MatchOutcome> findOutcomesByPairId(@Param("pairId") Long pairId);
+
+    @Query(SELECT_OUTCOME + "where m.player1.personId = :playerId or m.player2.personId = :playerId " +
+            "or m.pair1.pairId in (select p.pairId from Pair p where p.player1.personId = :playerId or p.player2.personId = :playerId) " +
+            "or m.pair2.pairId in (select p.pairId from Pair p where p.player1.personId = :playerId or p.player2.personId = :playerId)")
+    List<MatchOutcome> findOutcomesByPlayerId(@Param("playerId") Long playerId);
+
+    @Modifying
+    @Query("delete from Match m where m.tournament.tournamentId in (select t.tournamentId from Tournament t where t.club.clubId = :clubId) " +
+            "or m.court.courtId in (select c.courtId from Court c where c.club.clubId = :clubId)")
+    int deleteAllByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("delete from Match m where m.tournament.tournamentId = :tournamentId")
+    int deleteAllByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    @Modifying
+    @Query("delete from Match m where m.pair1.pairId = :pairId or m.pair2.pairId = :pairId")
+    int deleteAllByPairId(@Param("pairId") Long pairId);
+
+    @Modifying
+    @Query("delete from Match m where m.player1.personId = :playerId or m.player2.personId = :playerId " +
+            "or m.pair1.pairId in (select p.pairId from Pair p where p.player1.personId = :playerId or p.player2.personId = :playerId) " +
+            "or m.pair2.pairId in (select p.pairId from Pair p where p.player1.personId = :playerId or p.player2.personId = :playerId)")
+    int deleteAllByPlayerId(@Param("playerId") Long playerId);
+
+    @Modifying
+    @Query("update Match m set m.hostSets = cast(trim(substring(m.matchResult, 1, locate('-', m.matchResult) - 1)) as Integer), " +
+            "m.guestSets = cast(trim(substring(m.matchResult, locate('-', m.matchResult) + 1)) as Integer) where m.hostSets is null")
+    int backfillSetScores();
+
+    @Modifying
+    @Query("update Match m set m.winnerSide = case when m.hostSets > m.guestSets then 1 when m.guestSets > m.hostSets then 2 end " +
+            "where m.winnerSide is null and m.hostSets is not null")
+    int backfillWinnerSide();
 }
@@ -0,0 +1,66 @@
+package com.tennisclubs.dao;
+
+import com.tennisclubs.entity.MatchStats;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface MatchStatsRepository extends JpaRepository<MatchStats, Long> {
+    @EntityGraph(attributePaths = {"matchesPerSurface", "matchesPerStage"})
+    Optional<MatchStats> findByPlayerId(Long playerId);
+
+    @EntityGraph(attributePaths = {"matchesPerSurface", "matchesPerStage"})
+    Optional<MatchStats> findByPairId(Long pairId);
+
+    @Query("select s.matchStatsId from MatchStats s where s.playerId = :playerId")
+    Long findIdByPlayerId(@Param("playerId") Long playerId);
+
+    @Query("select s.matchStatsId from MatchStats s where s.pairId = :pairId")
+    Long findIdByPairId(@Param("pairId") Long pairId);
+
+    @Modifying
+    @Query(value = "update match_stats set wins = wins + :wins, losses = losses + :losses where player_id = :playerId", nativeQuery = true)
+    int addToPlayer(@Param("playerId") Long playerId, @Param("wins") Integer wins, @Param("losses") Integer losses);
+
+    @Modifying
+    @Query(value = "update match_stats set wins = wins + :wins, losses = losses + :losses where pair_id = :pairId", nativeQuery = true)
+    int addToPair(@Param("pairId") Long pairId, @Param("wins") Integer wins, @Param("losses") Integer losses);
+
+    @Modifying
+    @Query(value = "update match_stats_surface set matches = matches + :matches " +
+            "where match_stats_id = :matchStatsId and surface = :surface", nativeQuery = true)
+    int addToSurface(@Param("matchStatsId") Long matchStatsId, @Param("surface") String surface, @Param("matches") Integer matches);
+
+    @Modifying
+    @Query(value = "insert into match_stats_surface (match_stats_id, surface, matches) values (:matchStatsId, :surface, :matches)",
+            nativeQuery = true)
+    int insertSurface(@Param("matchStatsId") Long matchStatsId, @Param("surface") String surface, @Param("matches") Integer matches);
+
+    @Modifying
+    @Query(value = "update match_stats_stage set matches = matches + :matches " +
+            "where match_stats_id = :matchStatsId and stage = :stage", nativeQuery = true)
+    int addToStage(@Param("matchStatsId") Long matchStatsId, @Param("stage") String stage, @Param("matches") Integer matches);
+
+    @Modifying
+    @Query(value = "insert into match_stats_stage (match_stats_id, stage, matches) values (:matchStatsId, :stage, :matches)",
+            nativeQuery = true)
+    int insertStage(@Param("matchStatsId") Long matchStatsId, @Param("stage") String stage, @Param("matches") Integer matches);
+
+    @Modifying
+    @Query(value = "delete from match_stats_surface where match_stats_id = :matchStatsId and matches = 0", nativeQuery = true)
+    int deleteEmptySurfaces(@Param("matchStatsId") Long matchStatsId);
+
+    @Modifying
+    @Query(value = "delete from match_stats_stage where match_stats_id = :matchStatsId and matches = 0", nativeQuery = true)
+    int deleteEmptyStages(@Param("matchStatsId") Long matchStatsId);
+
+    @Modifying
+    @Query(value = "delete from match_stats s where s.match_stats_id = :matchStatsId and s.wins = 0 and s.losses = 0 " +
+            "and not exists (select 1 from match_stats_surface ms where ms.match_stats_id = s.match_stats_id) " +
+            "and not exists (select 1 from match_stats_stage ms where ms.match_stats_id = s.match_stats_id)", nativeQuery = true)
+    int deleteIfEmpty(@Param("matchStatsId") Long matchStatsId);
+}
@@ -2,12 +2,36 @@ package com.tennisclubs.dao;
 
 import com.tennisclubs.entity.Club;
 import com.tennisclubs.entity.Meeting;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface MeetingRepository extends JpaRepository<Meeting, Long> {
     Optional<Meeting> findByClub(Club club);
     Optional<Meeting> findByMeetingId(Long meetingId);
     boolean existsByMeetingId(Long meetingId);
+    List<Meeting> findAllByClubClubId(Long clubId);
+
+    @EntityGraph(attributePaths = {"club", "attendees"})
+    @Query("select m from Meeting m where m.club.clubId = :clubId and m.meetingTimestamp >= :from and m.meetingTimestamp < :to " +
+            "order by m.meetingTimestamp")
+    List<Meeting> findAllByClubIdAndPeriod(@Param("clubId") Long clubId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query("delete from Meeting m where m.club.clubId = :clubId")
+    int deleteAllByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query(value = "delete from attends where meeting_id in (select meeting_id from meeting where club_id = :clubId)", nativeQuery = true)
+    int deleteAttendanceByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query(value = "delete from attends where person_id = :personId", nativeQuery = true)
+    int deleteAttendanceByPersonId(@Param("personId") Long personId);
 }
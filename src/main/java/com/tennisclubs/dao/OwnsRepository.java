@@ -5,7 +5,11 @@ import com.tennisclubs.entity.Equipment;
 import com.tennisclubs.entity.Owns;
 import com.tennisclubs.entity.pkeys.OwnsPK;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface OwnsRepository extends JpaRepository<Owns, OwnsPK> {
@@ -13,4 +17,9 @@ public interface OwnsRepository extends JpaRepository<Owns, OwnsPK> {
     boolean existsByOwnsId(OwnsPK ownsId);
     boolean existsByEquipment(Equipment equipment);
     Optional<Owns> findByClub(Club club);
+    List<Owns> findAllByClubClubId(Long clubId);
+
+    @Modifying
+    @Query("delete from Owns o where o.club.clubId = :clubId")
+    int deleteAllByClubId(@Param("clubId") Long clubId);
 }
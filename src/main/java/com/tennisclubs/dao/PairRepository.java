@@ -1,12 +1,33 @@
 package com.tennisclubs.dao;
 
 import com.tennisclubs.entity.Pair;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PairRepository extends JpaRepository<Pair, Long> {
 
     Optional<Pair> findByPairId(Long pairId);
     boolean existsByPairId(Long pairId);
+    List<Pair> findAllByPairIdIn(Collection<Long> pairIds);
+
+    @EntityGraph(attributePaths = {"player1", "player2"})
+    @Query("select p from Pair p")
+    List<Pair> findAllWithPlayers();
+
+    @EntityGraph(attributePaths = {"player1", "player2"})
+    @Query("select p from Pair p where p.pairId > :pairId order by p.pairId")
+    Slice<Pair> findPageAfter(@Param("pairId") Long pairId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Pair p where p.player1.personId = :playerId or p.player2.personId = :playerId")
+    int deleteAllByPlayerId(@Param("playerId") Long playerId);
 }
@@ -1,10 +1,21 @@
 package com.tennisclubs.dao;
 
 import com.tennisclubs.entity.Person;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PersonRepository extends JpaRepository<Person, Long> {
     Optional<Person> findByOib(String oib);
+    List<Person> findAllByOibIn(Collection<String> oibs);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Person p where p.personId in :personIds order by p.personId")
+    List<Person> lockAllByPersonIdIn(@Param("personIds") Collection<Long> personIds);
 }
@@ -1,12 +1,41 @@
 package com.tennisclubs.dao;
 
 import com.tennisclubs.entity.Player;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PlayerRepository extends JpaRepository<Player, Long> {
     Optional<Player> findByOib(String oib);
+    List<Player> findAllByOibIn(Collection<String> oibs);
     boolean existsByPersonId(Long playerId);
     Optional<Player> findByPersonId(Long playerId);
+
+    @EntityGraph(attributePaths = {"place", "clubsPlayedAt", "clubsPlayedAt.club"})
+    @Query("select p from Player p")
+    List<Player> findAllWithClubs();
+
+    @Query("select p.personId from Player p where p.surname > :surname or (p.surname = :surname and p.personId > :playerId) " +
+            "order by p.surname, p.personId")
+    Slice<Long> findIdPageAfter(@Param("surname") String surname, @Param("playerId") Long playerId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"place", "clubsPlayedAt", "clubsPlayedAt.club"})
+    @Query("select p from Player p where p.personId in :playerIds order by p.surname, p.personId")
+    List<Player> findAllWithClubsByPersonIdIn(@Param("playerIds") Collection<Long> playerIds);
+
+    @EntityGraph(attributePaths = {"place", "clubsPlayedAt", "clubsPlayedAt.club"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from Player p order by p.personId")
+    Stream<Player> streamAllWithClubs();
 }
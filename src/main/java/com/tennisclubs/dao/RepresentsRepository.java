@@ -1,14 +1,49 @@
 package com.tennisclubs.dao;
 
+import com.tennisclubs.dto.MembershipDTO;
+import com.tennisclubs.dto.PersonDTO;
 import com.tennisclubs.entity.Club;
 import com.tennisclubs.entity.Player;
 import com.tennisclubs.entity.Represents;
-import com.tennisclubs.entity.pkeys.RepresentsPK;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
-public interface RepresentsRepository extends JpaRepository<Represents, RepresentsPK> {
+public interface RepresentsRepository extends JpaRepository<Represents, Long> {
     Optional<Represents> findByPlayer(Player player);
     Optional<Represents> findByClub(Club club);
+
+    @Query("select new com.tennisclubs.dto.PersonDTO(p.personId, p.oib, p.name, p.surname) from Represents r join r.player p " +
+            "where r.club.clubId = :clubId and r.toDate is null order by p.surname, p.name, p.personId")
+    List<PersonDTO> findCurrentRoster(@Param("clubId") Long clubId);
+
+    @Query("select distinct new com.tennisclubs.dto.PersonDTO(p.personId, p.oib, p.name, p.surname) from Represents r join r.player p " +
+            "where r.club.clubId = :clubId order by p.surname, p.name, p.personId")
+    List<PersonDTO> findRoster(@Param("clubId") Long clubId);
+
+    /**
+     * Players of the club on the day. A membership ends on the day the next one starts, so
+     * {@code toDate} is exclusive.
+     */
+    @Query("select new com.tennisclubs.dto.PersonDTO(p.personId, p.oib, p.name, p.surname) from Represents r join r.player p " +
+            "where r.club.clubId = :clubId and (r.toDate is null or r.toDate > :at) and (r.fromDate is null or r.fromDate <= :at) " +
+            "order by p.surname, p.name, p.personId")
+    List<PersonDTO> findRosterAt(@Param("clubId") Long clubId, @Param("at") LocalDate at);
+
+    @Query("select new com.tennisclubs.dto.MembershipDTO(c.clubId, c.name, r.fromDate, r.toDate) from Represents r join r.club c " +
+            "where r.player.personId = :playerId order by r.fromDate, c.clubId")
+    List<MembershipDTO> findTimeline(@Param("playerId") Long playerId);
+
+    @Modifying
+    @Query("delete from Represents r where r.club.clubId = :clubId")
+    int deleteAllByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("delete from Represents r where r.player.personId = :playerId")
+    int deleteAllByPlayerId(@Param("playerId") Long playerId);
 }
@@ -1,10 +1,18 @@
 package com.tennisclubs.dao;
 
 import com.tennisclubs.entity.Category;
+import com.tennisclubs.entity.CategoryTypeEnum;
 import com.tennisclubs.entity.Club;
 import com.tennisclubs.entity.Tournament;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TournamentRepository extends JpaRepository<Tournament, Long> {
@@ -12,4 +20,23 @@ public interface TournamentRepository extends JpaRepository<Tournament, Long> {
     boolean existsByTournamentId(Long tournamentId);
     Optional<Tournament> findByName(String name);
     boolean existsByCategory(Category category);
+
+    @Query("select t.category.type from Tournament t where t.tournamentId = :tournamentId")
+    Optional<CategoryTypeEnum> findCategoryTypeByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    @EntityGraph(attributePaths = {"club", "category"})
+    @Query("select t from Tournament t")
+    List<Tournament> findAllWithClubAndCategory();
+
+    @EntityGraph(attributePaths = {"club", "category"})
+    @Query("select t from Tournament t where t.name > :name or (t.name = :name and t.tournamentId > :tournamentId) " +
+            "order by t.name, t.tournamentId")
+    Slice<Tournament> findPageAfter(@Param("name") String name, @Param("tournamentId") Long tournamentId, Pageable pageable);
+
+    @Query("select distinct t.category.categoryId from Tournament t where t.club.clubId = :clubId")
+    List<Long> findCategoryIdsByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("delete from Tournament t where t.club.clubId = :clubId")
+    int deleteAllByClubId(@Param("clubId") Long clubId);
 }
@@ -1,14 +1,63 @@
 package com.tennisclubs.dao;
 
+import com.tennisclubs.dto.ScheduledSlotDTO;
 import com.tennisclubs.entity.Coach;
 import com.tennisclubs.entity.Training;
-import org.hibernate.type.descriptor.converter.spi.JpaAttributeConverter;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TrainingRepository extends JpaRepository<Training, Long> {
+    String OVERLAPPING = "t.trainingTimestamp >= :earliestStart and t.trainingTimestamp < :to and t.trainingEnd > :from ";
+
     Optional<Training> findByTrainingId(Long trainingId);
     boolean existsByTrainingId(Long trainingId);
     Optional<Training> findByCoach(Coach coach);
+
+    @EntityGraph(attributePaths = {"coach", "players"})
+    @Query("select t from Training t where t.coach.personId = :coachId order by t.trainingId")
+    List<Training> findAllByCoachId(@Param("coachId") Long coachId);
+
+    @EntityGraph(attributePaths = {"coach", "players"})
+    @Query("select t from Training t where t.coach.personId = :coachId and t.trainingTimestamp >= :from and t.trainingTimestamp < :to " +
+            "order by t.trainingTimestamp")
+    List<Training> findAllByCoachIdAndPeriod(@Param("coachId") Long coachId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Trainings of the coaches overlapping {@code [from, to)}; none starts before {@code earliestStart}.
+     */
+    @Query("select new com.tennisclubs.dto.ScheduledSlotDTO(t.coach.personId, t.trainingTimestamp, t.trainingEnd, 'training', t.trainingId) " +
+            "from Training t where t.coach.personId in :personIds and " + OVERLAPPING + "order by t.trainingTimestamp")
+    List<ScheduledSlotDTO> findCoachedInPeriod(@Param("personIds") Collection<Long> personIds, @Param("earliestStart") LocalDateTime earliestStart,
+                                               @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Trainings attended by the players overlapping {@code [from, to)}; none starts before {@code earliestStart}.
+     */
+    @Query("select new com.tennisclubs.dto.ScheduledSlotDTO(p.personId, t.trainingTimestamp, t.trainingEnd, 'training', t.trainingId) " +
+            "from Training t join t.players p where p.personId in :personIds and " + OVERLAPPING + "order by t.trainingTimestamp")
+    List<ScheduledSlotDTO> findAttendedInPeriod(@Param("personIds") Collection<Long> personIds, @Param("earliestStart") LocalDateTime earliestStart,
+                                                @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select t from Training t where t.trainingEnd is null and t.trainingTimestamp is not null")
+    List<Training> findAllWithoutTrainingEnd();
+
+    @Modifying
+    @Query("delete from Training t where t.coach.personId = :coachId")
+    int deleteAllByCoachId(@Param("coachId") Long coachId);
+
+    @Modifying
+    @Query(value = "delete from trains where training_id in (select training_id from training where coach_id = :coachId)", nativeQuery = true)
+    int deleteAttendanceByCoachId(@Param("coachId") Long coachId);
+
+    @Modifying
+    @Query(value = "delete from trains where player_id = :playerId", nativeQuery = true)
+    int deleteAttendanceByPlayerId(@Param("playerId") Long playerId);
 }
@@ -1,13 +1,76 @@
 package com.tennisclubs.dao;
 
+import com.tennisclubs.dto.TransactionSummaryDTO;
 import com.tennisclubs.entity.Club;
+import com.tennisclubs.entity.ClubBalance;
+import com.tennisclubs.entity.ClubMonthlyBalance;
 import com.tennisclubs.entity.Transaction;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    String SELECT_TOTALS = "count(t), sum(t.price), sum(case when t.price > 0 then t.price else 0 end), " +
+            "sum(case when t.price < 0 then t.price else 0 end)) from Transaction t ";
+    String SELECT_BALANCE = "sum(case when t.price > 0 then t.price else 0 end), sum(case when t.price < 0 then t.price else 0 end), count(t)) " +
+            "from Transaction t where (:clubId is null or t.club.clubId = :clubId) ";
+    String WHERE_CLUB_AND_PERIOD = "where t.club.clubId = :clubId and t.transactionTimestamp >= :from and t.transactionTimestamp < :to ";
+
     Optional<Transaction> findByTransactionId(Long transactionId);
     boolean existsByTransactionId(Long transactionId);
     Optional<Transaction> findByClub(Club club);
+    List<Transaction> findAllByClubClubId(Long clubId);
+
+    /**
+     * The transaction, locked until commit so the amount taken back from the balances is the
+     * one stored when the change or delete is applied.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Transaction t where t.transactionId = :transactionId")
+    Optional<Transaction> lockByTransactionId(@Param("transactionId") Long transactionId);
+
+    @EntityGraph(attributePaths = {"person", "club"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select t from Transaction t where t.club.clubId = :clubId order by t.transactionId")
+    Stream<Transaction> streamAllByClubId(@Param("clubId") Long clubId);
+
+    @Query("select new com.tennisclubs.dto.TransactionSummaryDTO(year(t.transactionTimestamp), month(t.transactionTimestamp), " + SELECT_TOTALS +
+            WHERE_CLUB_AND_PERIOD + "group by year(t.transactionTimestamp), month(t.transactionTimestamp) order by 1, 2")
+    List<TransactionSummaryDTO> summarizeByMonth(@Param("clubId") Long clubId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new com.tennisclubs.dto.TransactionSummaryDTO(t.paymentMethod, " + SELECT_TOTALS +
+            WHERE_CLUB_AND_PERIOD + "group by t.paymentMethod order by t.paymentMethod")
+    List<TransactionSummaryDTO> summarizeByPaymentMethod(@Param("clubId") Long clubId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new com.tennisclubs.dto.TransactionSummaryDTO(concat(p.name, ' ', p.surname, ', ', p.oib), " + SELECT_TOTALS +
+            "left join t.person p " + WHERE_CLUB_AND_PERIOD + "group by p.personId, p.name, p.surname, p.oib order by 3 desc")
+    List<TransactionSummaryDTO> summarizeByPerson(@Param("clubId") Long clubId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select new com.tennisclubs.entity.ClubBalance(t.club.clubId, " + SELECT_BALANCE + "group by t.club.clubId")
+    List<ClubBalance> sumBalances(@Param("clubId") Long clubId);
+
+    @Query("select new com.tennisclubs.entity.ClubMonthlyBalance(t.club.clubId, year(t.transactionTimestamp), month(t.transactionTimestamp), " +
+            SELECT_BALANCE + "and t.transactionTimestamp is not null " +
+            "group by t.club.clubId, year(t.transactionTimestamp), month(t.transactionTimestamp)")
+    List<ClubMonthlyBalance> sumMonthlyBalances(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("delete from Transaction t where t.club.clubId = :clubId")
+    int deleteAllByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("update Transaction t set t.person = null where t.person.personId = :personId")
+    int detachAllFromPerson(@Param("personId") Long personId);
 }
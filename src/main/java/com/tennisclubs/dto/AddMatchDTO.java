@@ -42,11 +42,11 @@ public class AddMatchDTO {
         return stage;
     }
 
-    public String getOpponent2() {
+    public String getOpponent1() {
         return opponent1;
     }
 
-    public String getOpponent1() {
+    public String getOpponent2() {
         return opponent2;
     }
 
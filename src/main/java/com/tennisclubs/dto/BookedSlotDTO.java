@@ -0,0 +1,16 @@
+package com.tennisclubs.dto;
+
+import java.time.LocalDateTime;
+
+public class BookedSlotDTO extends TimeSlotDTO {
+    private Long matchId;
+
+    public BookedSlotDTO(Long matchId, LocalDateTime start, LocalDateTime end) {
+        super(start, end);
+        this.matchId = matchId;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.tennisclubs.dto;
+
+import java.util.List;
+
+public class BulkImportResultDTO {
+    private Integer imported;
+    private List<RowError> errors;
+
+    public BulkImportResultDTO(Integer imported, List<RowError> errors) {
+        this.imported = imported;
+        this.errors = errors;
+    }
+
+    public Integer getImported() {
+        return imported;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public static class RowError {
+        private Integer row;
+        private String message;
+
+        public RowError(Integer row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public Integer getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.tennisclubs.dto;
+
+public class GetClubBalanceDTO {
+    private Double budget;
+    private Double income;
+    private Double expenses;
+    private Long transactionCount;
+    private Double balance;
+
+    public GetClubBalanceDTO(Double budget, Double income, Double expenses, Long transactionCount, Double balance) {
+        this.budget = budget;
+        this.income = income;
+        this.expenses = expenses;
+        this.transactionCount = transactionCount;
+        this.balance = balance;
+    }
+
+    public Double getBudget() {
+        return budget;
+    }
+
+    public Double getIncome() {
+        return income;
+    }
+
+    public Double getExpenses() {
+        return expenses;
+    }
+
+    public Long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public Double getBalance() {
+        return balance;
+    }
+}
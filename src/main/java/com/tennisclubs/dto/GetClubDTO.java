@@ -11,8 +11,9 @@ public class GetClubDTO {
     private Double budget;
     private Integer zipCode;
     private String placeName;
+    private Long version;
 
-    public GetClubDTO(Long clubId, String name, Integer foundationYear, String email, String phoneNumber, String webAddress, Double budget, Integer zipCode, String placeName) {
+    public GetClubDTO(Long clubId, String name, Integer foundationYear, String email, String phoneNumber, String webAddress, Double budget, Integer zipCode, String placeName, Long version) {
         this.clubId = clubId;
         this.name = name;
         this.foundationYear = foundationYear;
@@ -22,6 +23,7 @@ public class GetClubDTO {
         this.budget = budget;
         this.zipCode = zipCode;
         this.placeName = placeName;
+        this.version = version;
     }
 
     public Long getClubId() { return clubId; }
@@ -58,4 +60,8 @@ public class GetClubDTO {
     public String getPlaceName() {
         return placeName;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
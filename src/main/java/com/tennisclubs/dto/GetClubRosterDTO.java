@@ -0,0 +1,40 @@
+package com.tennisclubs.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class GetClubRosterDTO {
+    private Long clubId;
+    private String name;
+    private LocalDate at;
+    private List<PersonDTO> players;
+    private List<PersonDTO> coaches;
+
+    public GetClubRosterDTO(Long clubId, String name, LocalDate at, List<PersonDTO> players, List<PersonDTO> coaches) {
+        this.clubId = clubId;
+        this.name = name;
+        this.at = at;
+        this.players = players;
+        this.coaches = coaches;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getAt() {
+        return at;
+    }
+
+    public List<PersonDTO> getPlayers() {
+        return players;
+    }
+
+    public List<PersonDTO> getCoaches() {
+        return coaches;
+    }
+}
@@ -19,8 +19,9 @@ public class GetCoachDTO {
     private String specialization;
     private String clubName;
     private Set<String> previousClubs;
+    private Long version;
 
-    public GetCoachDTO(Long coachId, String oib, String name, String surname, LocalDate dateOfBirth, SexEnum sex, Integer zipCode, String placeName, Integer yearsOfExperience, String specialization, String clubName, Set<String> previousClubs) {
+    public GetCoachDTO(Long coachId, String oib, String name, String surname, LocalDate dateOfBirth, SexEnum sex, Integer zipCode, String placeName, Integer yearsOfExperience, String specialization, String clubName, Set<String> previousClubs, Long version) {
         this.coachId = coachId;
         this.oib = oib;
         this.name = name;
@@ -33,6 +34,7 @@ public class GetCoachDTO {
         this.specialization = specialization;
         this.clubName = clubName;
         this.previousClubs = previousClubs;
+        this.version = version;
     }
 
     public Long getCoachId() { return coachId; }
@@ -76,4 +78,8 @@ public class GetCoachDTO {
     public String getClubName() { return clubName; }
 
     public Set<String> getPreviousClubs() { return previousClubs; }
+
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,46 @@
+package com.tennisclubs.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class GetCourtAvailabilityDTO {
+    private Long courtId;
+    private String name;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<BookedSlotDTO> booked;
+    private List<TimeSlotDTO> free;
+
+    public GetCourtAvailabilityDTO(Long courtId, String name, LocalDateTime from, LocalDateTime to, List<BookedSlotDTO> booked, List<TimeSlotDTO> free) {
+        this.courtId = courtId;
+        this.name = name;
+        this.from = from;
+        this.to = to;
+        this.booked = booked;
+        this.free = free;
+    }
+
+    public Long getCourtId() {
+        return courtId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public List<BookedSlotDTO> getBooked() {
+        return booked;
+    }
+
+    public List<TimeSlotDTO> getFree() {
+        return free;
+    }
+}
@@ -22,8 +22,9 @@ public class GetMatchDTO {
     private String ageLimit;
     private SexEnum sexLimit;
     private Integer winner;
+    private Long version;
 
-    public GetMatchDTO(Long matchId, LocalDateTime matchTimestamp, String matchResult, String duration, StageEnum stage, String opponent1, String opponent2, String courtName, String tournamentName, CategoryTypeEnum categoryType, String ageLimit, SexEnum sexLimit, Integer winner) {
+    public GetMatchDTO(Long matchId, LocalDateTime matchTimestamp, String matchResult, String duration, StageEnum stage, String opponent1, String opponent2, String courtName, String tournamentName, CategoryTypeEnum categoryType, String ageLimit, SexEnum sexLimit, Integer winner, Long version) {
         this.matchId = matchId;
         this.matchTimestamp = matchTimestamp;
         this.matchResult = matchResult;
@@ -37,6 +38,7 @@ public class GetMatchDTO {
         this.ageLimit = ageLimit;
         this.sexLimit = sexLimit;
         this.winner = winner;
+        this.version = version;
     }
 
     public Long getMatchId() { return matchId; }
@@ -57,11 +59,11 @@ public class GetMatchDTO {
         return stage;
     }
 
-    public String getOpponent2() {
+    public String getOpponent1() {
         return opponent1;
     }
 
-    public String getOpponent1() {
+    public String getOpponent2() {
         return opponent2;
     }
 
@@ -80,4 +82,8 @@ public class GetMatchDTO {
     public SexEnum getSexLimit() { return sexLimit; }
 
     public Integer getWinner() { return winner; }
+
+    public Long getVersion() {
+        return version;
+    }
 }
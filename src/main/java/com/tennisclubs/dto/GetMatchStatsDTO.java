@@ -0,0 +1,36 @@
+package com.tennisclubs.dto;
+
+import com.tennisclubs.entity.StageEnum;
+import com.tennisclubs.entity.SurfaceEnum;
+
+import java.util.Map;
+
+public class GetMatchStatsDTO {
+    private Integer wins;
+    private Integer losses;
+    private Map<SurfaceEnum, Integer> matchesPerSurface;
+    private Map<StageEnum, Integer> matchesPerStage;
+
+    public GetMatchStatsDTO(Integer wins, Integer losses, Map<SurfaceEnum, Integer> matchesPerSurface, Map<StageEnum, Integer> matchesPerStage) {
+        this.wins = wins;
+        this.losses = losses;
+        this.matchesPerSurface = matchesPerSurface;
+        this.matchesPerStage = matchesPerStage;
+    }
+
+    public Integer getWins() {
+        return wins;
+    }
+
+    public Integer getLosses() {
+        return losses;
+    }
+
+    public Map<SurfaceEnum, Integer> getMatchesPerSurface() {
+        return matchesPerSurface;
+    }
+
+    public Map<StageEnum, Integer> getMatchesPerStage() {
+        return matchesPerStage;
+    }
+}
@@ -0,0 +1,39 @@
+package com.tennisclubs.dto;
+
+import java.time.YearMonth;
+
+public class GetMonthlyBalanceDTO {
+    private YearMonth month;
+    private Double income;
+    private Double expenses;
+    private Long transactionCount;
+    private Double closingBalance;
+
+    public GetMonthlyBalanceDTO(YearMonth month, Double income, Double expenses, Long transactionCount, Double closingBalance) {
+        this.month = month;
+        this.income = income;
+        this.expenses = expenses;
+        this.transactionCount = transactionCount;
+        this.closingBalance = closingBalance;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public Double getIncome() {
+        return income;
+    }
+
+    public Double getExpenses() {
+        return expenses;
+    }
+
+    public Long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public Double getClosingBalance() {
+        return closingBalance;
+    }
+}
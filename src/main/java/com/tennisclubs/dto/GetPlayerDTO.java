@@ -22,8 +22,9 @@ public class GetPlayerDTO {
     private String injury;
     private String clubName;
     private Set<String> previousClubs;
+    private Long version;
 
-    public GetPlayerDTO(Long playerId, String oib, String name, String surname, LocalDate dateOfBirth, SexEnum sex, Integer zipCode, String placeName, Double height, Double weight, HandEnum preferredHand, Integer rank, String injury, String clubName, Set<String> previousClubs) {
+    public GetPlayerDTO(Long playerId, String oib, String name, String surname, LocalDate dateOfBirth, SexEnum sex, Integer zipCode, String placeName, Double height, Double weight, HandEnum preferredHand, Integer rank, String injury, String clubName, Set<String> previousClubs, Long version) {
         this.playerId = playerId;
         this.oib = oib;
         this.name = name;
@@ -39,6 +40,7 @@ public class GetPlayerDTO {
         this.injury = injury;
         this.clubName = clubName;
         this.previousClubs = previousClubs;
+        this.version = version;
     }
 
     public Long getPlayerId() { return playerId; }
@@ -94,4 +96,8 @@ public class GetPlayerDTO {
     public String getClubName() { return clubName; }
 
     public Set<String> getPreviousClubs() { return previousClubs; }
+
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -10,14 +10,16 @@ public class GetTournamentDTO {
     private CategoryTypeEnum type;
     private String ageLimit;
     private SexEnum sexLimit;
+    private Long version;
 
-    public GetTournamentDTO(Long tournamentId, String name, String clubName, CategoryTypeEnum type, String ageLimit, SexEnum sexLimit) {
+    public GetTournamentDTO(Long tournamentId, String name, String clubName, CategoryTypeEnum type, String ageLimit, SexEnum sexLimit, Long version) {
         this.tournamentId = tournamentId;
         this.name = name;
         this.clubName = clubName;
         this.type = type;
         this.ageLimit = ageLimit;
         this.sexLimit = sexLimit;
+        this.version = version;
     }
 
     public Long getTournamentId() {
@@ -43,4 +45,8 @@ public class GetTournamentDTO {
     public SexEnum getSexLimit() {
         return sexLimit;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,33 @@
+package com.tennisclubs.dto;
+
+import java.util.List;
+
+public class ImportProgressDTO {
+    private Long processed;
+    private Long imported;
+    private List<BulkImportResultDTO.RowError> errors;
+    private Boolean finished;
+
+    public ImportProgressDTO(Long processed, Long imported, List<BulkImportResultDTO.RowError> errors, Boolean finished) {
+        this.processed = processed;
+        this.imported = imported;
+        this.errors = errors;
+        this.finished = finished;
+    }
+
+    public Long getProcessed() {
+        return processed;
+    }
+
+    public Long getImported() {
+        return imported;
+    }
+
+    public List<BulkImportResultDTO.RowError> getErrors() {
+        return errors;
+    }
+
+    public Boolean getFinished() {
+        return finished;
+    }
+}
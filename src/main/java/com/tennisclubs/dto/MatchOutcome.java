@@ -0,0 +1,21 @@
+package com.tennisclubs.dto;
+
+import com.tennisclubs.entity.Match;
+import com.tennisclubs.entity.StageEnum;
+import com.tennisclubs.entity.SurfaceEnum;
+
+/**
+ * The parts of a match that feed player and pair statistics: who played on each side,
+ * which side won, the court surface and the stage.
+ */
+public record MatchOutcome(Long player1Id, Long player2Id, Long pair1Id, Long pair2Id, Integer winnerSide,
+                           SurfaceEnum surface, StageEnum stage) {
+
+    public static MatchOutcome of(Match m) {
+        return new MatchOutcome(m.getPlayer1() != null ? m.getPlayer1().getPersonId() : null,
+                m.getPlayer2() != null ? m.getPlayer2().getPersonId() : null,
+                m.getPair1() != null ? m.getPair1().getPairId() : null,
+                m.getPair2() != null ? m.getPair2().getPairId() : null,
+                m.getWinnerSide(), m.getCourt().getSurface(), m.getStage());
+    }
+}
@@ -0,0 +1,33 @@
+package com.tennisclubs.dto;
+
+import java.time.LocalDate;
+
+public class MembershipDTO {
+    private Long clubId;
+    private String clubName;
+    private LocalDate from;
+    private LocalDate to;
+
+    public MembershipDTO(Long clubId, String clubName, LocalDate from, LocalDate to) {
+        this.clubId = clubId;
+        this.clubName = clubName;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public String getClubName() {
+        return clubName;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+}
@@ -0,0 +1,73 @@
+package com.tennisclubs.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset position for paged listings: the sort key and the id of the last row
+ * returned, so the next page starts with {@code (key, id) > (lastKey, lastId)}.
+ */
+public class PageCursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_LIMIT = 500;
+
+    private final String key;
+    private final Long id;
+
+    public PageCursor(String key, Long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static PageCursor first() {
+        return new PageCursor("", 0L);
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return first();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('\n');
+            return new PageCursor(decoded.substring(0, separator), Long.valueOf(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    public static Pageable limit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return PageRequest.ofSize(limit);
+    }
+
+    public static <T> ResponseEntity<List<T>> toResponse(List<T> items, PageCursor next) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (next != null) {
+            response.header(NEXT_CURSOR_HEADER, next.encode());
+        }
+        return response.body(items);
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "\n" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
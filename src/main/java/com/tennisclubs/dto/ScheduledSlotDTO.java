@@ -0,0 +1,28 @@
+package com.tennisclubs.dto;
+
+import java.time.LocalDateTime;
+
+public class ScheduledSlotDTO extends TimeSlotDTO {
+    private Long personId;
+    private String activity;
+    private Long activityId;
+
+    public ScheduledSlotDTO(Long personId, LocalDateTime start, LocalDateTime end, String activity, Long activityId) {
+        super(start, end);
+        this.personId = personId;
+        this.activity = activity;
+        this.activityId = activityId;
+    }
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    public String getActivity() {
+        return activity;
+    }
+
+    public Long getActivityId() {
+        return activityId;
+    }
+}
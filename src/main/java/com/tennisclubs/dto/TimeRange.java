@@ -0,0 +1,90 @@
+package com.tennisclubs.dto;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Half-open period {@code [from, to)} given as dates, either bound optional, for listing rows
+ * by their timestamp with a range scan. A missing bound is replaced by a date no stored row
+ * reaches; rows without a timestamp are never in a range.
+ */
+public class TimeRange {
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final boolean bounded;
+
+    private TimeRange(LocalDateTime start, LocalDateTime end, boolean bounded) {
+        this.start = start;
+        this.end = end;
+        this.bounded = bounded;
+    }
+
+    public static TimeRange of(LocalDate from, LocalDate to) {
+        LocalDateTime start = from == null ? EARLIEST : from.atStartOfDay();
+        LocalDateTime end = to == null ? LATEST : to.atStartOfDay();
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        return new TimeRange(start, end, from != null || to != null);
+    }
+
+    /**
+     * Whole days for a timetable: {@code from} defaults to today and {@code to} to the day after
+     * {@code from}; longer periods than {@code maxDays} are rejected.
+     */
+    public static TimeRange ofDays(LocalDate from, LocalDate to, int maxDays) {
+        LocalDate firstDay = from != null ? from : LocalDate.now();
+        LocalDate lastDay = to != null ? to : firstDay.plusDays(1);
+        TimeRange range = of(firstDay, lastDay);
+        if (ChronoUnit.DAYS.between(firstDay, lastDay) > maxDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxDays + " days at once");
+        }
+        return range;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * Whether a bound was given at all, so callers can keep listing rows without a timestamp
+     * when it was not.
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * The gaps of the range left by the busy slots, which must be ordered by start and may
+     * overlap each other.
+     */
+    public List<TimeSlotDTO> freeSlots(List<? extends TimeSlotDTO> busy) {
+        List<TimeSlotDTO> free = new ArrayList<>();
+        LocalDateTime freeFrom = start;
+        for (TimeSlotDTO slot : busy) {
+            if (slot.getStart().isAfter(freeFrom)) {
+                free.add(new TimeSlotDTO(freeFrom, slot.getStart()));
+            }
+            if (slot.getEnd().isAfter(freeFrom)) {
+                freeFrom = slot.getEnd();
+            }
+        }
+        if (freeFrom.isBefore(end)) {
+            free.add(new TimeSlotDTO(freeFrom, end));
+        }
+        return free;
+    }
+}
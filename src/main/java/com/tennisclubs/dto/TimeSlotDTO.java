@@ -0,0 +1,21 @@
+package com.tennisclubs.dto;
+
+import java.time.LocalDateTime;
+
+public class TimeSlotDTO {
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    public TimeSlotDTO(LocalDateTime start, LocalDateTime end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tennisclubs.dto;
+
+import java.time.YearMonth;
+
+public class TransactionSummaryDTO {
+    private String key;
+    private Long count;
+    private Double total;
+    private Double income;
+    private Double expenses;
+
+    public TransactionSummaryDTO(Object key, Long count, Double total, Double income, Double expenses) {
+        this.key = key == null ? null : key.toString();
+        this.count = count;
+        this.total = total;
+        this.income = income;
+        this.expenses = expenses;
+    }
+
+    /**
+     * A summary keyed by its month, written as {@code 2024-05}.
+     */
+    public TransactionSummaryDTO(Integer year, Integer month, Long count, Double total, Double income, Double expenses) {
+        this(year == null ? null : YearMonth.of(year, month), count, total, income, expenses);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public Double getIncome() {
+        return income;
+    }
+
+    public Double getExpenses() {
+        return expenses;
+    }
+}
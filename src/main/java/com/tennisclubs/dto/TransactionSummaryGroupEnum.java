@@ -0,0 +1,7 @@
+package com.tennisclubs.dto;
+
+public enum TransactionSummaryGroupEnum {
+    MONTH,
+    PAYMENT_METHOD,
+    PERSON
+}
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "category")
+@Table(name = "category", indexes = @Index(name = "uk_category_type_age_sex",
+        columnList = "type, age_limit, sex_limit", unique = true))
 public class Category {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -2,15 +2,23 @@ package com.tennisclubs.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import java.util.Set;
 
 @Entity
+@DynamicUpdate
 @Table(name = "club")
 public class Club {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long clubId;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, unique = true)
     @Size(max = 100)
     private String name;
@@ -65,6 +73,10 @@ public class Club {
         this.clubId = clubId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,52 @@
+package com.tennisclubs.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Running totals of a club's transactions, kept up to date in the transaction that writes
+ * them so the balance is read from one row. Expenses are stored as a negative sum.
+ */
+@Entity
+@Table(name = "club_balance")
+public class ClubBalance {
+    @Id
+    private Long clubId;
+
+    @Column(nullable = false)
+    private Double income = 0.0;
+
+    @Column(nullable = false)
+    private Double expenses = 0.0;
+
+    @Column(nullable = false)
+    private Long transactionCount = 0L;
+
+    public ClubBalance() {}
+
+    public ClubBalance(Long clubId) {
+        this.clubId = clubId;
+    }
+
+    public ClubBalance(Long clubId, Double income, Double expenses, Long transactionCount) {
+        this.clubId = clubId;
+        this.income = income;
+        this.expenses = expenses;
+        this.transactionCount = transactionCount;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public Double getIncome() {
+        return income;
+    }
+
+    public Double getExpenses() {
+        return expenses;
+    }
+
+    public Long getTransactionCount() {
+        return transactionCount;
+    }
+}
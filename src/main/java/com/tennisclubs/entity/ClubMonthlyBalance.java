@@ -0,0 +1,71 @@
+package com.tennisclubs.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Totals of a club's transactions within one calendar month, identified by its first day.
+ * Transactions without a timestamp only count towards {@link ClubBalance}.
+ */
+@Entity
+@Table(name = "club_monthly_balance", uniqueConstraints = @UniqueConstraint(name = "uk_club_monthly_balance_club_month", columnNames = {"club_id", "balance_month"}))
+public class ClubMonthlyBalance {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long clubMonthlyBalanceId;
+
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+
+    @Column(name = "balance_month", nullable = false)
+    private LocalDate month;
+
+    @Column(nullable = false)
+    private Double income = 0.0;
+
+    @Column(nullable = false)
+    private Double expenses = 0.0;
+
+    @Column(nullable = false)
+    private Long transactionCount = 0L;
+
+    public ClubMonthlyBalance() {}
+
+    public ClubMonthlyBalance(Long clubId, LocalDate month) {
+        this.clubId = clubId;
+        this.month = month;
+    }
+
+    public ClubMonthlyBalance(Long clubId, Integer year, Integer month, Double income, Double expenses, Long transactionCount) {
+        this.clubId = clubId;
+        this.month = LocalDate.of(year, month, 1);
+        this.income = income;
+        this.expenses = expenses;
+        this.transactionCount = transactionCount;
+    }
+
+    public Long getClubMonthlyBalanceId() {
+        return clubMonthlyBalanceId;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public Double getIncome() {
+        return income;
+    }
+
+    public Double getExpenses() {
+        return expenses;
+    }
+
+    public Long getTransactionCount() {
+        return transactionCount;
+    }
+}
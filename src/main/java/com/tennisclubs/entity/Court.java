@@ -2,14 +2,24 @@ package com.tennisclubs.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "court")
+@Table(name = "court", indexes = @Index(name = "uk_court_club_name", columnList = "club_id, name", unique = true))
 public class Court {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long courtId;
 
+    /**
+     * Raised by every match write that checks the court's bookings, so two writers booking the
+     * same court at once cannot both commit.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Size(max = 30)
     @Column(nullable = false)
     private String name;
@@ -37,6 +47,10 @@ public class Court {
         this.courtId = courtId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getName() {
         return name;
     }
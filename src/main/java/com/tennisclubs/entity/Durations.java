@@ -0,0 +1,37 @@
+package com.tennisclubs.entity;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the free-text durations stored on matches and trainings, such as {@code 1h},
+ * {@code 1h 30min}, {@code 1h, 30min} or {@code 90min}.
+ */
+public final class Durations {
+    private static final Pattern DURATION_PATTERN =
+            Pattern.compile("\\s*(?:(\\d{1,3})\\s*h)?[\\s,]*(?:(\\d{1,4})\\s*min)?\\s*", Pattern.CASE_INSENSITIVE);
+
+    private Durations() {}
+
+    /**
+     * The parsed duration, or {@code null} when the text is empty or not in a known format.
+     */
+    public static Duration parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = DURATION_PATTERN.matcher(text);
+        if (!matcher.matches() || (matcher.group(1) == null && matcher.group(2) == null)) {
+            return null;
+        }
+        Duration duration = Duration.ZERO;
+        if (matcher.group(1) != null) {
+            duration = duration.plusHours(Long.parseLong(matcher.group(1)));
+        }
+        if (matcher.group(2) != null) {
+            duration = duration.plusMinutes(Long.parseLong(matcher.group(2)));
+        }
+        return duration;
+    }
+}
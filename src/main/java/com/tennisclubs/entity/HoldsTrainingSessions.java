@@ -1,27 +1,26 @@
 package com.tennisclubs.entity;
 
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
-import com.tennisclubs.entity.pkeys.HoldsTrainingSessionsPK;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.Date;
 
 @Entity
-@Table(name = "holds_training_sessions")
+@DynamicUpdate
+@Table(name = "holds_training_sessions", indexes = @Index(name = "idx_holds_training_sessions_club_to_date", columnList = "club_id, to_date"))
 public class HoldsTrainingSessions {
-    @EmbeddedId
-    @Column(nullable = false, unique = true)
-    private HoldsTrainingSessionsPK altId;
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long holdsTrainingSessionsId;
 
     @ManyToOne
-    @MapsId("coachId")
-    @JoinColumn(name = "coach_id")
+    @JoinColumn(name = "coach_id", nullable = false)
     private Coach coach;
 
     @ManyToOne
-    @MapsId("clubId")
-    @JoinColumn(name = "club_id")
+    @JoinColumn(name = "club_id", nullable = false)
     private Club club;
 
     @Column(nullable = false)
@@ -31,19 +30,18 @@ public class HoldsTrainingSessions {
     public HoldsTrainingSessions() {}
 
     public HoldsTrainingSessions(Coach coach, Club club, LocalDate fromDate, LocalDate toDate) {
-        this.altId = new HoldsTrainingSessionsPK(coach.getPersonId(), club.getClubId());
         this.coach = coach;
         this.club = club;
         this.fromDate = fromDate;
         this.toDate = toDate;
     }
 
-    public HoldsTrainingSessionsPK getAltId() {
-        return altId;
+    public Long getHoldsTrainingSessionsId() {
+        return holdsTrainingSessionsId;
     }
 
-    public void setAltId(HoldsTrainingSessionsPK altId) {
-        this.altId = altId;
+    public void setHoldsTrainingSessionsId(Long holdsTrainingSessionsId) {
+        this.holdsTrainingSessionsId = holdsTrainingSessionsId;
     }
 
     public Coach getCoach() {
@@ -2,23 +2,54 @@ package com.tennisclubs.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Entity
-@Table(name = "tennis_match")
+@Table(name = "tennis_match", indexes = {
+        @Index(name = "idx_match_tournament_id", columnList = "tournament_id, match_id"),
+        @Index(name = "idx_match_tournament_timestamp", columnList = "tournament_id, match_timestamp"),
+        @Index(name = "idx_match_court_timestamp", columnList = "court_id, match_timestamp"),
+        @Index(name = "idx_match_timestamp", columnList = "match_timestamp")})
 public class Match {
+    /**
+     * Host and guest sets; at most two digits each, so both always parse as an int.
+     */
+    public static final Pattern RESULT_PATTERN = Pattern.compile("\\s*(\\d{1,2})\\s*-\\s*(\\d{1,2})\\s*");
+    public static final int HOST = 1;
+    public static final int GUEST = 2;
+    public static final Duration DEFAULT_DURATION = Duration.ofHours(2);
+    public static final Duration MAX_DURATION = Duration.ofHours(12);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_seq")
+    @SequenceGenerator(name = "match_seq", sequenceName = "match_seq", allocationSize = 50)
     private Long matchId;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     private LocalDateTime matchTimestamp;
 
+    private LocalDateTime matchEnd;
+
     @Size(max = 30)
     @Column(nullable = false)
     private String matchResult;
 
+    private Integer hostSets;
+
+    private Integer guestSets;
+
+    private Integer winnerSide;
+
     @Size(max = 30)
     private String duration;
 
@@ -53,8 +84,9 @@ public class Match {
 
     public Match(LocalDateTime matchTimestamp, String matchResult, String duration, StageEnum stage, Player player1, Player player2, Pair pair1, Pair pair2, Court court, Tournament tournament) {
         this.matchTimestamp = matchTimestamp;
-        this.matchResult = matchResult;
+        storeMatchResult(matchResult);
         this.duration = duration;
+        this.matchEnd = endOf(matchTimestamp, duration);
         this.stage = stage;
         this.player1 = player1;
         this.player2 = player2;
@@ -72,20 +104,82 @@ public class Match {
         this.matchId = matchId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public LocalDateTime getMatchTimestamp() {
         return matchTimestamp;
     }
 
     public void setMatchTimestamp(LocalDateTime matchTimestamp) {
         this.matchTimestamp = matchTimestamp;
+        updateMatchEnd();
+    }
+
+    public LocalDateTime getMatchEnd() {
+        return matchEnd;
+    }
+
+    /**
+     * Stores when the match frees its court: the timestamp plus the parsed duration, or plus
+     * {@link #DEFAULT_DURATION} when the duration is missing or unreadable, capped at
+     * {@link #MAX_DURATION} so overlap queries can bound their index scan.
+     */
+    public void updateMatchEnd() {
+        this.matchEnd = endOf(matchTimestamp, duration);
+    }
+
+    private static LocalDateTime endOf(LocalDateTime matchTimestamp, String duration) {
+        if (matchTimestamp == null) {
+            return null;
+        }
+        Duration playingTime = Durations.parse(duration);
+        if (playingTime == null || playingTime.isZero()) {
+            playingTime = DEFAULT_DURATION;
+        }
+        return matchTimestamp.plus(playingTime.compareTo(MAX_DURATION) > 0 ? MAX_DURATION : playingTime);
     }
 
     public String getMatchResult() {
         return matchResult;
     }
 
+    /**
+     * Sets the result string and stores its parsed set scores and winning side, so reads
+     * and queries never have to split the string again.
+     */
     public void setMatchResult(String matchResult) {
+        storeMatchResult(matchResult);
+    }
+
+    private void storeMatchResult(String matchResult) {
+        Matcher matcher = RESULT_PATTERN.matcher(matchResult);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid match result: " + matchResult);
+        }
         this.matchResult = matchResult;
+        this.hostSets = Integer.valueOf(matcher.group(1));
+        this.guestSets = Integer.valueOf(matcher.group(2));
+        if (hostSets > guestSets) {
+            this.winnerSide = HOST;
+        } else if (guestSets > hostSets) {
+            this.winnerSide = GUEST;
+        } else {
+            this.winnerSide = null;
+        }
+    }
+
+    public Integer getHostSets() {
+        return hostSets;
+    }
+
+    public Integer getGuestSets() {
+        return guestSets;
+    }
+
+    public Integer getWinnerSide() {
+        return winnerSide;
     }
 
     public String getDuration() {
@@ -94,6 +188,7 @@ public class Match {
 
     public void setDuration(String duration) {
         this.duration = duration;
+        updateMatchEnd();
     }
 
     public StageEnum getStage() {
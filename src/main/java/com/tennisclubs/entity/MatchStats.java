@@ -0,0 +1,120 @@
+package com.tennisclubs.entity;
+
+import jakarta.persistence.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Career record of a single player or of a pair, kept up to date whenever one of their
+ * matches is written so it can be read without scanning the matches.
+ */
+@Entity
+@Table(name = "match_stats")
+public class MatchStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long matchStatsId;
+
+    @Column(unique = true)
+    private Long playerId;
+
+    @Column(unique = true)
+    private Long pairId;
+
+    @Column(nullable = false)
+    private Integer wins = 0;
+
+    @Column(nullable = false)
+    private Integer losses = 0;
+
+    @ElementCollection
+    @CollectionTable(name = "match_stats_surface", joinColumns = @JoinColumn(name = "match_stats_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "surface")
+    @Column(name = "matches", nullable = false)
+    private Map<SurfaceEnum, Integer> matchesPerSurface = new EnumMap<>(SurfaceEnum.class);
+
+    @ElementCollection
+    @CollectionTable(name = "match_stats_stage", joinColumns = @JoinColumn(name = "match_stats_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "stage")
+    @Column(name = "matches", nullable = false)
+    private Map<StageEnum, Integer> matchesPerStage = new EnumMap<>(StageEnum.class);
+
+    public MatchStats() {}
+
+    public static MatchStats forPlayer(Long playerId) {
+        MatchStats stats = new MatchStats();
+        stats.playerId = playerId;
+        return stats;
+    }
+
+    public static MatchStats forPair(Long pairId) {
+        MatchStats stats = new MatchStats();
+        stats.pairId = pairId;
+        return stats;
+    }
+
+    /**
+     * Adds ({@code delta = 1}) or removes ({@code delta = -1}) one match played on the given side.
+     */
+    public void record(int side, Integer winnerSide, SurfaceEnum surface, StageEnum stage, int delta) {
+        if (winnerSide != null) {
+            if (winnerSide == side) {
+                wins += delta;
+            } else {
+                losses += delta;
+            }
+        }
+        if (surface != null) {
+            matchesPerSurface.merge(surface, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+        if (stage != null) {
+            matchesPerStage.merge(stage, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    /**
+     * Whether a sum of {@link #record} calls left every count as it was.
+     */
+    public boolean isUnchanged() {
+        return wins == 0 && losses == 0 && matchesPerSurface.isEmpty() && matchesPerStage.isEmpty();
+    }
+
+    /**
+     * Whether a sum of {@link #record} calls lowers any count, which may leave it at zero.
+     */
+    public boolean hasRemovals() {
+        return wins < 0 || losses < 0 || matchesPerSurface.values().stream().anyMatch(n -> n < 0)
+                || matchesPerStage.values().stream().anyMatch(n -> n < 0);
+    }
+
+    public Long getMatchStatsId() {
+        return matchStatsId;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public Long getPairId() {
+        return pairId;
+    }
+
+    public Integer getWins() {
+        return wins;
+    }
+
+    public Integer getLosses() {
+        return losses;
+    }
+
+    public Map<SurfaceEnum, Integer> getMatchesPerSurface() {
+        return matchesPerSurface;
+    }
+
+    public Map<StageEnum, Integer> getMatchesPerStage() {
+        return matchesPerStage;
+    }
+}
@@ -8,10 +8,11 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
-@Table(name = "meeting")
+@Table(name = "meeting", indexes = @Index(name = "idx_meeting_club_timestamp", columnList = "club_id, meeting_timestamp"))
 public class Meeting {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meeting_seq")
+    @SequenceGenerator(name = "meeting_seq", sequenceName = "meeting_seq", allocationSize = 50)
     private Long meetingId;
 
     private LocalDateTime meetingTimestamp;
@@ -4,7 +4,7 @@ import com.tennisclubs.entity.pkeys.OwnsPK;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "owns")
+@Table(name = "owns", indexes = @Index(name = "idx_owns_club_id", columnList = "club_id"))
 public class Owns {
     @EmbeddedId
     @Column(nullable = false, unique = true)
@@ -2,19 +2,27 @@ package com.tennisclubs.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.Set;
 
 @Entity
-@Table(name = "person")
+@DynamicUpdate
+@Table(name = "person", indexes = @Index(name = "idx_person_surname", columnList = "surname, person_id"))
 @Inheritance(strategy = InheritanceType.JOINED)
 public class Person {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long personId;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, unique = true)
     @Size(min = 11, max = 11)
     private String oib;
@@ -61,6 +69,10 @@ public class Person {
         this.personId = personId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getOib() {
         return oib;
     }
@@ -2,12 +2,14 @@ package com.tennisclubs.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.Set;
 
 @Entity
+@DynamicUpdate
 @Table(name = "player")
 @PrimaryKeyJoinColumn(name = "playerId")
 public class Player extends Person {
@@ -1,27 +1,25 @@
 package com.tennisclubs.entity;
 
-import com.tennisclubs.entity.pkeys.HoldsTrainingSessionsPK;
-import com.tennisclubs.entity.pkeys.RepresentsPK;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.Date;
 
 @Entity
-@Table(name = "represents")
+@DynamicUpdate
+@Table(name = "represents", indexes = @Index(name = "idx_represents_club_to_date", columnList = "club_id, to_date"))
 public class Represents {
-    @EmbeddedId
-    @Column(nullable = false, unique = true)
-    private RepresentsPK altId;
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long representsId;
 
     @ManyToOne
-    @MapsId("playerId")
-    @JoinColumn(name = "player_id")
+    @JoinColumn(name = "player_id", nullable = false)
     private Player player;
 
     @ManyToOne
-    @MapsId("clubId")
-    @JoinColumn(name = "club_id")
+    @JoinColumn(name = "club_id", nullable = false)
     private Club club;
 
     private LocalDate fromDate;
@@ -30,19 +28,18 @@ public class Represents {
     public Represents() {}
 
     public Represents(Player player, Club club, LocalDate fromDate, LocalDate toDate) {
-        this.altId = new RepresentsPK(player.getPersonId(), club.getClubId());
         this.player = player;
         this.club = club;
         this.fromDate = fromDate;
         this.toDate = toDate;
     }
 
-    public RepresentsPK getAltId() {
-        return altId;
+    public Long getRepresentsId() {
+        return representsId;
     }
 
-    public void setAltId(RepresentsPK altId) {
-        this.altId = altId;
+    public void setRepresentsId(Long representsId) {
+        this.representsId = representsId;
     }
 
     public Player getPlayer() {
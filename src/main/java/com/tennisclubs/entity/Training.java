@@ -4,17 +4,25 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
-@Table(name = "training")
+@Table(name = "training", indexes = {
+        @Index(name = "idx_training_coach_timestamp", columnList = "coach_id, training_timestamp"),
+        @Index(name = "idx_training_timestamp", columnList = "training_timestamp")})
 public class Training {
+    public static final Duration DEFAULT_DURATION = Duration.ofHours(1);
+    public static final Duration MAX_DURATION = Duration.ofHours(8);
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_seq")
+    @SequenceGenerator(name = "training_seq", sequenceName = "training_seq", allocationSize = 50)
     private Long trainingId;
 
     private LocalDateTime trainingTimestamp;
+    private LocalDateTime trainingEnd;
     private String duration;
 
     @Size(max = 200)
@@ -39,6 +47,7 @@ public class Training {
     public Training(LocalDateTime trainingTimestamp, String duration, String description, String notes, Set<Player> players, Coach coach) {
         this.trainingTimestamp = trainingTimestamp;
         this.duration = duration;
+        this.trainingEnd = endOf(trainingTimestamp, duration);
         this.description = description;
         this.notes = notes;
         this.players = players;
@@ -59,6 +68,31 @@ public class Training {
 
     public void setTrainingTimestamp(LocalDateTime trainingTimestamp) {
         this.trainingTimestamp = trainingTimestamp;
+        updateTrainingEnd();
+    }
+
+    public LocalDateTime getTrainingEnd() {
+        return trainingEnd;
+    }
+
+    /**
+     * Stores when the training is over: the timestamp plus the parsed duration, or plus
+     * {@link #DEFAULT_DURATION} when the duration is missing or unreadable, capped at
+     * {@link #MAX_DURATION} so schedule queries can bound their index scan.
+     */
+    public void updateTrainingEnd() {
+        this.trainingEnd = endOf(trainingTimestamp, duration);
+    }
+
+    private static LocalDateTime endOf(LocalDateTime trainingTimestamp, String duration) {
+        if (trainingTimestamp == null) {
+            return null;
+        }
+        Duration length = Durations.parse(duration);
+        if (length == null || length.isZero()) {
+            length = DEFAULT_DURATION;
+        }
+        return trainingTimestamp.plus(length.compareTo(MAX_DURATION) > 0 ? MAX_DURATION : length);
     }
 
     public String getDuration() {
@@ -67,6 +101,7 @@ public class Training {
 
     public void setDuration(String duration) {
         this.duration = duration;
+        updateTrainingEnd();
     }
 
     public String getDescription() {
@@ -0,0 +1,150 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.*;
+import com.tennisclubs.entity.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Removes an aggregate together with every row that references it using bulk
+ * {@code DELETE ... WHERE owner_id = ?} statements, issued child tables first.
+ * Each method returns the number of affected rows per table, in execution order.
+ */
+@Service
+public class CascadeDeleteService {
+    private static final Logger log = LoggerFactory.getLogger(CascadeDeleteService.class);
+
+    private final ClubRepository clubRepository;
+    private final PlayerRepository playerRepository;
+    private final CoachRepository coachRepository;
+    private final PairRepository pairRepository;
+    private final TournamentRepository tournamentRepository;
+    private final CategoryRepository categoryRepository;
+    private final MatchRepository matchRepository;
+    private final HoldsTrainingSessionsRepository holdsTrainingSessionsRepository;
+    private final RepresentsRepository representsRepository;
+    private final TransactionRepository transactionRepository;
+    private final ClubBalanceRepository clubBalanceRepository;
+    private final ClubMonthlyBalanceRepository clubMonthlyBalanceRepository;
+    private final OwnsRepository ownsRepository;
+    private final MeetingRepository meetingRepository;
+    private final CourtRepository courtRepository;
+    private final TrainingRepository trainingRepository;
+    private final MatchStatsService matchStatsService;
+    private final ReferenceDataCache referenceDataCache;
+
+    public CascadeDeleteService(ClubRepository clubRepository, PlayerRepository playerRepository, CoachRepository coachRepository, PairRepository pairRepository, TournamentRepository tournamentRepository, CategoryRepository categoryRepository, MatchRepository matchRepository, HoldsTrainingSessionsRepository holdsTrainingSessionsRepository, RepresentsRepository representsRepository, TransactionRepository transactionRepository, ClubBalanceRepository clubBalanceRepository, ClubMonthlyBalanceRepository clubMonthlyBalanceRepository, OwnsRepository ownsRepository, MeetingRepository meetingRepository, CourtRepository courtRepository, TrainingRepository trainingRepository, MatchStatsService matchStatsService, ReferenceDataCache referenceDataCache) {
+        this.clubRepository = clubRepository;
+        this.playerRepository = playerRepository;
+        this.coachRepository = coachRepository;
+        this.pairRepository = pairRepository;
+        this.tournamentRepository = tournamentRepository;
+        this.categoryRepository = categoryRepository;
+        this.matchRepository = matchRepository;
+        this.holdsTrainingSessionsRepository = holdsTrainingSessionsRepository;
+        this.representsRepository = representsRepository;
+        this.transactionRepository = transactionRepository;
+        this.clubBalanceRepository = clubBalanceRepository;
+        this.clubMonthlyBalanceRepository = clubMonthlyBalanceRepository;
+        this.ownsRepository = ownsRepository;
+        this.meetingRepository = meetingRepository;
+        this.courtRepository = courtRepository;
+        this.trainingRepository = trainingRepository;
+        this.matchStatsService = matchStatsService;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    @Transactional
+    public Map<String, Integer> deleteClub(Club club) {
+        Long clubId = club.getClubId();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("attends", meetingRepository.deleteAttendanceByClubId(clubId));
+        counts.put("meeting", meetingRepository.deleteAllByClubId(clubId));
+        matchStatsService.matchesRemoved(matchRepository.findOutcomesByClubId(clubId));
+        counts.put("tennis_match", matchRepository.deleteAllByClubId(clubId));
+        List<Long> categoryIds = tournamentRepository.findCategoryIdsByClubId(clubId);
+        counts.put("tournament", tournamentRepository.deleteAllByClubId(clubId));
+        if (!categoryIds.isEmpty()) {
+            counts.put("category", categoryRepository.deleteUnusedByCategoryIdIn(categoryIds));
+            referenceDataCache.evictCategories();
+        }
+        counts.put("court", courtRepository.deleteAllByClubId(clubId));
+        counts.put("owns", ownsRepository.deleteAllByClubId(clubId));
+        counts.put("transaction", transactionRepository.deleteAllByClubId(clubId));
+        counts.put("club_monthly_balance", clubMonthlyBalanceRepository.deleteAllByClubId(clubId));
+        counts.put("club_balance", clubBalanceRepository.deleteAllByClubId(clubId));
+        counts.put("represents", representsRepository.deleteAllByClubId(clubId));
+        counts.put("holds_training_sessions", holdsTrainingSessionsRepository.deleteAllByClubId(clubId));
+        clubRepository.delete(club);
+        counts.put("club", 1);
+        return report("club", clubId, counts);
+    }
+
+    @Transactional
+    public Map<String, Integer> deletePlayer(Player player) {
+        Long playerId = player.getPersonId();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        matchStatsService.matchesRemoved(matchRepository.findOutcomesByPlayerId(playerId));
+        counts.put("tennis_match", matchRepository.deleteAllByPlayerId(playerId));
+        counts.put("pair", pairRepository.deleteAllByPlayerId(playerId));
+        counts.put("trains", trainingRepository.deleteAttendanceByPlayerId(playerId));
+        counts.put("attends", meetingRepository.deleteAttendanceByPersonId(playerId));
+        counts.put("transaction", transactionRepository.detachAllFromPerson(playerId));
+        counts.put("represents", representsRepository.deleteAllByPlayerId(playerId));
+        playerRepository.delete(player);
+        counts.put("player", 1);
+        return report("player", playerId, counts);
+    }
+
+    @Transactional
+    public Map<String, Integer> deleteCoach(Coach coach) {
+        Long coachId = coach.getPersonId();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        counts.put("trains", trainingRepository.deleteAttendanceByCoachId(coachId));
+        counts.put("training", trainingRepository.deleteAllByCoachId(coachId));
+        counts.put("attends", meetingRepository.deleteAttendanceByPersonId(coachId));
+        counts.put("transaction", transactionRepository.detachAllFromPerson(coachId));
+        counts.put("holds_training_sessions", holdsTrainingSessionsRepository.deleteAllByCoachId(coachId));
+        coachRepository.delete(coach);
+        counts.put("coach", 1);
+        return report("coach", coachId, counts);
+    }
+
+    @Transactional
+    public Map<String, Integer> deletePair(Pair pair) {
+        Long pairId = pair.getPairId();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        matchStatsService.matchesRemoved(matchRepository.findOutcomesByPairId(pairId));
+        counts.put("tennis_match", matchRepository.deleteAllByPairId(pairId));
+        pairRepository.delete(pair);
+        counts.put("pair", 1);
+        return report("pair", pairId, counts);
+    }
+
+    @Transactional
+    public Map<String, Integer> deleteTournament(Tournament tournament) {
+        Long tournamentId = tournament.getTournamentId();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        matchStatsService.matchesRemoved(matchRepository.findOutcomesByTournamentId(tournamentId));
+        counts.put("tennis_match", matchRepository.deleteAllByTournamentId(tournamentId));
+        tournamentRepository.delete(tournament);
+        counts.put("tournament", 1);
+        if (!tournamentRepository.existsByCategory(tournament.getCategory())) {
+            categoryRepository.delete(tournament.getCategory());
+            referenceDataCache.evictCategories();
+            counts.put("category", 1);
+        }
+        return report("tournament", tournamentId, counts);
+    }
+
+    private Map<String, Integer> report(String entity, Long id, Map<String, Integer> counts) {
+        log.info("Deleted {} {}: {}", entity, id, counts);
+        return counts;
+    }
+}
@@ -0,0 +1,49 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.ClubBalanceRepository;
+import com.tennisclubs.dao.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.SortedSet;
+
+/**
+ * Builds the club balances on startup when there are transactions but no balances yet, and
+ * compares them with the transactions table every night, rebuilding the clubs that drifted.
+ * The schedule is set with {@code club-balance.verify-cron}.
+ */
+@Component
+public class ClubBalanceJob implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(ClubBalanceJob.class);
+
+    private final ClubBalanceService clubBalanceService;
+    private final ClubBalanceRepository clubBalanceRepository;
+    private final TransactionRepository transactionRepository;
+
+    public ClubBalanceJob(ClubBalanceService clubBalanceService, ClubBalanceRepository clubBalanceRepository, TransactionRepository transactionRepository) {
+        this.clubBalanceService = clubBalanceService;
+        this.clubBalanceRepository = clubBalanceRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (clubBalanceRepository.count() == 0 && transactionRepository.count() > 0) {
+            log.info("Built balances of {} clubs", clubBalanceService.rebuildAll());
+        }
+    }
+
+    @Scheduled(cron = "${club-balance.verify-cron:0 30 3 * * *}")
+    public SortedSet<Long> verify() {
+        SortedSet<Long> outOfSync = clubBalanceService.findOutOfSync();
+        for (Long clubId : outOfSync) {
+            log.warn("Balance of club {} did not match its transactions, rebuilding it", clubId);
+            clubBalanceService.rebuild(clubId);
+        }
+        return outOfSync;
+    }
+}
@@ -0,0 +1,212 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.ClubBalanceRepository;
+import com.tennisclubs.dao.ClubMonthlyBalanceRepository;
+import com.tennisclubs.dao.ClubRepository;
+import com.tennisclubs.dao.TransactionRepository;
+import com.tennisclubs.dto.GetClubBalanceDTO;
+import com.tennisclubs.dto.GetMonthlyBalanceDTO;
+import com.tennisclubs.entity.Club;
+import com.tennisclubs.entity.ClubBalance;
+import com.tennisclubs.entity.ClubMonthlyBalance;
+import com.tennisclubs.entity.Transaction;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@link ClubBalance} and {@link ClubMonthlyBalance} rows. Callers pass every
+ * transaction they add or remove, inside the transaction that writes it; the rows are changed
+ * with relative updates so concurrent writers for the same club do not lose each other's amounts.
+ */
+@Service
+public class ClubBalanceService {
+    private static final double TOLERANCE = 0.005;
+
+    private final ClubBalanceRepository clubBalanceRepository;
+    private final ClubMonthlyBalanceRepository clubMonthlyBalanceRepository;
+    private final TransactionRepository transactionRepository;
+    private final ClubRepository clubRepository;
+    private final TransactionTemplate requiresNew;
+
+    public ClubBalanceService(ClubBalanceRepository clubBalanceRepository, ClubMonthlyBalanceRepository clubMonthlyBalanceRepository, TransactionRepository transactionRepository, ClubRepository clubRepository, PlatformTransactionManager transactionManager) {
+        this.clubBalanceRepository = clubBalanceRepository;
+        this.clubMonthlyBalanceRepository = clubMonthlyBalanceRepository;
+        this.transactionRepository = transactionRepository;
+        this.clubRepository = clubRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public GetClubBalanceDTO getClubBalance(Long clubId) {
+        Club club = clubRepository.findByClubId(clubId).orElseThrow();
+        ClubBalance balance = clubBalanceRepository.findById(clubId).orElseGet(() -> new ClubBalance(clubId));
+        double budget = club.getBudget() != null ? club.getBudget() : 0;
+        return new GetClubBalanceDTO(club.getBudget(), balance.getIncome(), balance.getExpenses(), balance.getTransactionCount(),
+                budget + balance.getIncome() + balance.getExpenses());
+    }
+
+    /**
+     * Monthly totals in {@code [from, to]}, either bound optional, with the balance at the end
+     * of each month: the budget plus every dated transaction up to then.
+     */
+    @Transactional(readOnly = true)
+    public List<GetMonthlyBalanceDTO> getMonthlyBalances(Long clubId, YearMonth from, YearMonth to) {
+        Club club = clubRepository.findByClubId(clubId).orElseThrow();
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        List<ClubMonthlyBalance> stored = to != null
+                ? clubMonthlyBalanceRepository.findAllByClubIdAndMonthBeforeOrderByMonth(clubId, to.plusMonths(1).atDay(1))
+                : clubMonthlyBalanceRepository.findAllByClubIdOrderByMonth(clubId);
+        double closing = club.getBudget() != null ? club.getBudget() : 0;
+        List<GetMonthlyBalanceDTO> months = new ArrayList<>();
+        for (ClubMonthlyBalance month : stored) {
+            closing += month.getIncome() + month.getExpenses();
+            YearMonth yearMonth = YearMonth.from(month.getMonth());
+            if (from == null || !yearMonth.isBefore(from)) {
+                months.add(new GetMonthlyBalanceDTO(yearMonth, month.getIncome(), month.getExpenses(), month.getTransactionCount(), closing));
+            }
+        }
+        return months;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transactionAdded(Transaction transaction) {
+        apply(List.of(transaction), 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transactionRemoved(Transaction transaction) {
+        apply(List.of(transaction), -1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transactionsAdded(List<Transaction> transactions) {
+        apply(transactions, 1);
+    }
+
+    /**
+     * Recomputes every balance row from the transactions table.
+     */
+    @Transactional
+    public int rebuildAll() {
+        clubMonthlyBalanceRepository.deleteAllInBatch();
+        clubBalanceRepository.deleteAllInBatch();
+        clubMonthlyBalanceRepository.saveAll(transactionRepository.sumMonthlyBalances(null));
+        return clubBalanceRepository.saveAll(transactionRepository.sumBalances(null)).size();
+    }
+
+    @Transactional
+    public void rebuild(Long clubId) {
+        clubMonthlyBalanceRepository.deleteAllByClubId(clubId);
+        clubBalanceRepository.deleteAllByClubId(clubId);
+        clubMonthlyBalanceRepository.saveAll(transactionRepository.sumMonthlyBalances(clubId));
+        clubBalanceRepository.saveAll(transactionRepository.sumBalances(clubId));
+    }
+
+    /**
+     * Ids of the clubs whose stored balance or monthly rows differ from the totals computed
+     * from their transactions.
+     */
+    @Transactional(readOnly = true)
+    public SortedSet<Long> findOutOfSync() {
+        SortedSet<Long> clubIds = new TreeSet<>();
+        compare(clubBalanceRepository.findAll(), transactionRepository.sumBalances(null),
+                ClubBalance::getClubId, ClubBalance::getClubId, b -> new Totals(b.getIncome(), b.getExpenses(), b.getTransactionCount()), clubIds);
+        compare(clubMonthlyBalanceRepository.findAll(), transactionRepository.sumMonthlyBalances(null),
+                ClubMonth::of, ClubMonthlyBalance::getClubId, b -> new Totals(b.getIncome(), b.getExpenses(), b.getTransactionCount()), clubIds);
+        return clubIds;
+    }
+
+    private static <T> void compare(List<T> stored, List<T> actual, Function<T, Object> key, Function<T, Long> clubId,
+                                    Function<T, Totals> totals, Set<Long> outOfSync) {
+        Map<Object, Totals> found = stored.stream().collect(Collectors.toMap(key, totals));
+        for (T row : actual) {
+            Totals storedTotals = found.remove(key.apply(row));
+            if (!totals.apply(row).matches(storedTotals != null ? storedTotals : Totals.ZERO)) {
+                outOfSync.add(clubId.apply(row));
+            }
+        }
+        // rows left over have no transactions behind them any more, so they must have gone back to zero
+        for (T row : stored) {
+            if (found.containsKey(key.apply(row)) && !totals.apply(row).matches(Totals.ZERO)) {
+                outOfSync.add(clubId.apply(row));
+            }
+        }
+    }
+
+    private void apply(List<Transaction> transactions, int sign) {
+        Map<Long, Totals> perClub = new HashMap<>();
+        Map<ClubMonth, Totals> perMonth = new HashMap<>();
+        for (Transaction t : transactions) {
+            double price = t.getPrice() != null ? t.getPrice() : 0;
+            Totals delta = new Totals(sign * Math.max(price, 0), sign * Math.min(price, 0), sign);
+            Long clubId = t.getClub().getClubId();
+            perClub.merge(clubId, delta, Totals::plus);
+            if (t.getTransactionTimestamp() != null) {
+                perMonth.merge(new ClubMonth(clubId, t.getTransactionTimestamp().toLocalDate().withDayOfMonth(1)), delta, Totals::plus);
+            }
+        }
+        perClub.forEach((clubId, d) -> {
+            if (clubBalanceRepository.addToBalance(clubId, d.income(), d.expenses(), d.count()) == 0) {
+                insertEmpty(() -> clubBalanceRepository.saveAndFlush(new ClubBalance(clubId)));
+                clubBalanceRepository.addToBalance(clubId, d.income(), d.expenses(), d.count());
+            }
+        });
+        perMonth.forEach((m, d) -> {
+            if (clubMonthlyBalanceRepository.addToMonth(m.clubId(), m.month(), d.income(), d.expenses(), d.count()) == 0) {
+                insertEmpty(() -> clubMonthlyBalanceRepository.saveAndFlush(new ClubMonthlyBalance(m.clubId(), m.month())));
+                clubMonthlyBalanceRepository.addToMonth(m.clubId(), m.month(), d.income(), d.expenses(), d.count());
+            }
+            // a month left without transactions is dropped, as a rebuild would not create it
+            if (d.count() < 0) {
+                clubMonthlyBalanceRepository.deleteIfEmpty(m.clubId(), m.month());
+            }
+        });
+    }
+
+    /**
+     * Inserts a zero row in its own transaction so that losing a race with another writer
+     * does not roll back the caller; the caller then updates the winner's row.
+     */
+    private void insertEmpty(Runnable insert) {
+        try {
+            requiresNew.executeWithoutResult(status -> insert.run());
+        } catch (DataIntegrityViolationException e) {
+            // another transaction created the row first
+        }
+    }
+
+    private record ClubMonth(Long clubId, LocalDate month) {
+        static ClubMonth of(ClubMonthlyBalance balance) {
+            return new ClubMonth(balance.getClubId(), balance.getMonth());
+        }
+    }
+
+    private record Totals(double income, double expenses, long count) {
+        static final Totals ZERO = new Totals(0, 0, 0);
+
+        Totals plus(Totals other) {
+            return new Totals(income + other.income, expenses + other.expenses, count + other.count);
+        }
+
+        boolean matches(Totals other) {
+            return count == other.count && Math.abs(income - other.income) < TOLERANCE
+                    && Math.abs(expenses - other.expenses) < TOLERANCE;
+        }
+    }
+}
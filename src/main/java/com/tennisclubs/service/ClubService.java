@@ -1,60 +1,95 @@
 package com.tennisclubs.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.tennisclubs.dao.*;
 import com.tennisclubs.dto.*;
 import com.tennisclubs.entity.*;
 import com.tennisclubs.entity.pkeys.OwnsPK;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PathVariable;
-
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Service
 public class ClubService {
+
     private final ClubRepository clubRepository;
     private final PlaceRepository placeRepository;
-    private final HoldsTrainingSessionsRepository holdsTrainingSessionsRepository;
-    private final RepresentsRepository representsRepository;
     private final TransactionRepository transactionRepository;
     private final OwnsRepository ownsRepository;
     private final EquipmentRepository equipmentRepository;
     private final MeetingRepository meetingRepository;
     private final CourtRepository courtRepository;
-    private final TournamentRepository tournamentRepository;
     private final PersonRepository personRepository;
-
-    public ClubService(ClubRepository clubRepository, PlaceRepository placeRepository, HoldsTrainingSessionsRepository holdsTrainingSessionsRepository, RepresentsRepository representsRepository, TransactionRepository transactionRepository, OwnsRepository ownsRepository, EquipmentRepository equipmentRepository, MeetingRepository meetingRepository, CourtRepository courtRepository, TournamentRepository tournamentRepository, PersonRepository personRepository) {
+    private final RepresentsRepository representsRepository;
+    private final HoldsTrainingSessionsRepository holdsTrainingSessionsRepository;
+    private final CascadeDeleteService cascadeDeleteService;
+    private final NdjsonExporter ndjsonExporter;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionImporter transactionImporter;
+    private final ClubBalanceService clubBalanceService;
+    private final CourtBookingService courtBookingService;
+    private final OptimisticRetry optimisticRetry;
+    private final MergePatch mergePatch;
+
+    public ClubService(ClubRepository clubRepository, PlaceRepository placeRepository, TransactionRepository transactionRepository, OwnsRepository ownsRepository, EquipmentRepository equipmentRepository, MeetingRepository meetingRepository, CourtRepository courtRepository, PersonRepository personRepository, RepresentsRepository representsRepository, HoldsTrainingSessionsRepository holdsTrainingSessionsRepository, CascadeDeleteService cascadeDeleteService, NdjsonExporter ndjsonExporter, ReferenceDataCache referenceDataCache, TransactionImporter transactionImporter, ClubBalanceService clubBalanceService, CourtBookingService courtBookingService, OptimisticRetry optimisticRetry, MergePatch mergePatch) {
         this.clubRepository = clubRepository;
         this.placeRepository = placeRepository;
-        this.holdsTrainingSessionsRepository = holdsTrainingSessionsRepository;
-        this.representsRepository = representsRepository;
         this.transactionRepository = transactionRepository;
         this.ownsRepository = ownsRepository;
         this.equipmentRepository = equipmentRepository;
         this.meetingRepository = meetingRepository;
         this.courtRepository = courtRepository;
-        this.tournamentRepository = tournamentRepository;
         this.personRepository = personRepository;
+        this.representsRepository = representsRepository;
+        this.holdsTrainingSessionsRepository = holdsTrainingSessionsRepository;
+        this.cascadeDeleteService = cascadeDeleteService;
+        this.ndjsonExporter = ndjsonExporter;
+        this.referenceDataCache = referenceDataCache;
+        this.transactionImporter = transactionImporter;
+        this.clubBalanceService = clubBalanceService;
+        this.courtBookingService = courtBookingService;
+        this.optimisticRetry = optimisticRetry;
+        this.mergePatch = mergePatch;
     }
 
+    @Transactional(readOnly = true)
     public List<GetClubDTO> getAllClubs() {
-        return clubRepository.findAll().stream().
-                map(club -> new GetClubDTO(club.getClubId(), club.getName(), club.getFoundationYear(),
-                        club.getEmail(), club.getPhoneNumber(), club.getWebAddress(), club.getBudget(),
-                        club.getPlace().getZipCode(), club.getPlace().getName())).toList();
+        return clubRepository.findAll().stream().map(this::toGetClubDTO).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<GetClubDTO>> getClubsPage(int limit, String after) {
+        PageCursor cursor = PageCursor.decode(after);
+        Slice<Club> clubs = clubRepository.findPageAfter(cursor.getKey(), cursor.getId(), PageCursor.limit(limit));
+        PageCursor next = clubs.hasNext() ? new PageCursor(clubs.getContent().getLast().getName(),
+                clubs.getContent().getLast().getClubId()) : null;
+        return PageCursor.toResponse(clubs.map(this::toGetClubDTO).getContent(), next);
+    }
+
+    private GetClubDTO toGetClubDTO(Club club) {
+        return new GetClubDTO(club.getClubId(), club.getName(), club.getFoundationYear(),
+                club.getEmail(), club.getPhoneNumber(), club.getWebAddress(), club.getBudget(),
+                club.getPlace().getZipCode(), club.getPlace().getName(), club.getVersion());
     }
 
+    @Transactional
     public ResponseEntity<Object> addNewClub(AddClubDTO dto) {
-        Place place;
-        if (placeRepository.findByZipCode(dto.getZipCode()).isEmpty()) {
-            place = placeRepository.save(new Place(dto.getZipCode(), dto.getPlaceName()));
-        } else {
-            place = placeRepository.findByZipCode(dto.getZipCode()).orElseThrow();
-        }
+        Place place = placeRepository.getReferenceById(referenceDataCache.placeId(dto.getZipCode(), dto.getPlaceName()));
         Club newClub = new Club(dto.getName(), dto.getFoundationYear(),
                 dto.getEmail(), dto.getPhoneNumber(), dto.getWebAddress(), dto.getBudget(),
                 place);
@@ -63,95 +98,149 @@ public class ClubService {
         return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/clubs/" + newClub.getClubId()).body("Club added successfully!");
     }
 
+    @Transactional(readOnly = true)
     public GetClubDTO seeClubInfo(Long clubId) {
-        Club club = clubRepository.findByClubId(clubId).orElseThrow();
-        return new GetClubDTO(club.getClubId(), club.getName(), club.getFoundationYear(),
-                club.getEmail(), club.getPhoneNumber(), club.getWebAddress(), club.getBudget(),
-                club.getPlace().getZipCode(), club.getPlace().getName());
+        return toGetClubDTO(clubRepository.findByClubId(clubId).orElseThrow());
     }
 
-    public ResponseEntity<Object> changeClubInfo(Long clubId, AddClubDTO dto) {
-        if (!clubRepository.existsByClubId(clubId)) {
-            throw new NoSuchElementException();
-        }
+    public ResponseEntity<Object> changeClubInfo(Long clubId, AddClubDTO dto, Long expectedVersion) {
+        Club changedClub = optimisticRetry.execute(expectedVersion, () -> {
+            Club club = clubRepository.findByClubId(clubId).orElseThrow();
+            OptimisticRetry.checkVersion(expectedVersion, club.getVersion());
+            applyClubInfo(club, dto);
+            return clubRepository.saveAndFlush(club);
+        });
 
-        Place place;
-        if (placeRepository.findByZipCode(dto.getZipCode()).isEmpty()) {
-            place = placeRepository.save(new Place(dto.getZipCode(), dto.getPlaceName()));
-        } else {
-            place = placeRepository.findByZipCode(dto.getZipCode()).orElseThrow();
-        }
+        return ResponseEntity.ok().eTag(String.valueOf(changedClub.getVersion())).body("Club info changed successfully!");
+    }
 
-        Club changedClub = clubRepository.findByClubId(clubId).orElseThrow();
-        changedClub.setName(dto.getName());
-        changedClub.setFoundationYear(dto.getFoundationYear());
-        changedClub.setEmail(dto.getEmail());
-        changedClub.setPhoneNumber(dto.getPhoneNumber());
-        changedClub.setWebAddress(dto.getWebAddress());
-        changedClub.setBudget(dto.getBudget());
-        changedClub.setPlace(place);
-        clubRepository.save(changedClub);
+    /**
+     * Changes only the fields present in the merge patch of the club's {@link AddClubDTO} form.
+     */
+    public ResponseEntity<Object> patchClubInfo(Long clubId, JsonNode patch, Long expectedVersion) {
+        Club changedClub = optimisticRetry.execute(expectedVersion, () -> {
+            Club club = clubRepository.findByClubId(clubId).orElseThrow();
+            OptimisticRetry.checkVersion(expectedVersion, club.getVersion());
+            applyClubInfo(club, mergePatch.apply(toAddClubDTO(club), patch, AddClubDTO.class));
+            return clubRepository.saveAndFlush(club);
+        });
+
+        return ResponseEntity.ok().eTag(String.valueOf(changedClub.getVersion())).body("Club info changed successfully!");
+    }
 
-        return ResponseEntity.ok().body("Club info changed successfully!");
+    private AddClubDTO toAddClubDTO(Club club) {
+        return new AddClubDTO(club.getName(), club.getFoundationYear(), club.getEmail(), club.getPhoneNumber(),
+                club.getWebAddress(), club.getBudget(), club.getPlace().getZipCode(), club.getPlace().getName());
+    }
+
+    private void applyClubInfo(Club club, AddClubDTO dto) {
+        club.setName(dto.getName());
+        club.setFoundationYear(dto.getFoundationYear());
+        club.setEmail(dto.getEmail());
+        club.setPhoneNumber(dto.getPhoneNumber());
+        club.setWebAddress(dto.getWebAddress());
+        club.setBudget(dto.getBudget());
+        if (!Objects.equals(club.getPlace().getZipCode(), dto.getZipCode())) {
+            club.setPlace(placeRepository.getReferenceById(referenceDataCache.placeId(dto.getZipCode(), dto.getPlaceName())));
+        }
     }
 
+    @Transactional
     public void deleteClub(Long clubId) {
         Club club = clubRepository.findByClubId(clubId).orElseThrow();
-        List<HoldsTrainingSessions> hts = holdsTrainingSessionsRepository.findAll().stream().
-                filter(h -> h.getClub().equals(club)).toList();
-        holdsTrainingSessionsRepository.deleteAll(hts);
-        List<Represents> r = representsRepository.findAll().stream().filter(re -> re.getClub().equals(club)).toList();
-        representsRepository.deleteAll(r);
-        List<Transaction> transactions = transactionRepository.findAll().stream().filter(t -> t.getClub().equals(club)).toList();
-        transactionRepository.deleteAll(transactions);
-        List<Owns> owns = ownsRepository.findAll().stream().filter(o -> o.getClub().equals(club)).toList();
-        ownsRepository.deleteAll(owns);
-        List<Court> courts = courtRepository.findAll().stream().filter(c -> c.getClub().equals(club)).toList();
-        courtRepository.deleteAll(courts);
-        List<Meeting> meetings = meetingRepository.findAll().stream().filter(m -> m.getClub().equals(club)).toList();
-        meetingRepository.deleteAll(meetings);
-        List<Tournament> tournaments = tournamentRepository.findAll().stream().filter(t -> t.getClub().equals(club)).toList();
-        tournamentRepository.deleteAll(tournaments);
-        clubRepository.delete(club);
+        cascadeDeleteService.deleteClub(club);
     }
 
     // transactions
+    @Transactional(readOnly = true)
     public List<GetTransactionDTO> getClubTransactions(Long clubId) {
-        return transactionRepository.findAll().stream().filter(t -> t.getClub().getClubId().equals(clubId)).
-                map(transaction -> new GetTransactionDTO(transaction.getTransactionId(),
-                        transaction.getPerson().getName(), transaction.getPerson().getSurname(),
-                        transaction.getPerson().getOib(), transaction.getClub().getName(),
-                        transaction.getTransactionTimestamp(), transaction.getPrice(), transaction.getPaymentMethod(),
-                        transaction.getDescription())).toList();
+        return transactionRepository.findAllByClubClubId(clubId).stream().map(this::toGetTransactionDTO).toList();
     }
 
+    /**
+     * Rejects an unknown club with 404. Streamed responses call this first, since once their
+     * body runs the response is already committed to 200.
+     */
+    @Transactional(readOnly = true)
+    public void checkClubExists(Long clubId) {
+        if (!clubRepository.existsByClubId(clubId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Club " + clubId + " not found");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportClubTransactions(Long clubId, OutputStream out) throws IOException {
+        ndjsonExporter.write(transactionRepository.streamAllByClubId(clubId), this::toGetTransactionDTO, out);
+    }
+
+    /**
+     * Totals of the club's transactions in {@code [from, to)}, either bound optional, grouped
+     * in SQL so only one row per group leaves the database.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionSummaryDTO> getClubTransactionSummary(Long clubId, LocalDate from, LocalDate to, TransactionSummaryGroupEnum groupBy) {
+        clubRepository.findByClubId(clubId).orElseThrow();
+        TimeRange range = TimeRange.of(from, to);
+        return switch (groupBy) {
+            case MONTH -> transactionRepository.summarizeByMonth(clubId, range.getStart(), range.getEnd());
+            case PAYMENT_METHOD -> transactionRepository.summarizeByPaymentMethod(clubId, range.getStart(), range.getEnd());
+            case PERSON -> transactionRepository.summarizeByPerson(clubId, range.getStart(), range.getEnd());
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public GetClubBalanceDTO getClubBalance(Long clubId) {
+        return clubBalanceService.getClubBalance(clubId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GetMonthlyBalanceDTO> getClubMonthlyBalances(Long clubId, YearMonth from, YearMonth to) {
+        return clubBalanceService.getMonthlyBalances(clubId, from, to);
+    }
+
+    private GetTransactionDTO toGetTransactionDTO(Transaction transaction) {
+        Person person = transaction.getPerson();
+        return new GetTransactionDTO(transaction.getTransactionId(),
+                person != null ? person.getName() : null, person != null ? person.getSurname() : null,
+                person != null ? person.getOib() : null, transaction.getClub().getName(),
+                transaction.getTransactionTimestamp(), transaction.getPrice(), transaction.getPaymentMethod(),
+                transaction.getDescription());
+    }
+
+    @Transactional(readOnly = true)
     public List<PersonDTO> getPerson() {
         return personRepository.findAll().stream().map(p -> new PersonDTO(p.getPersonId(), p.getOib(),
                 p.getName(), p.getSurname())).toList();
     }
 
+    @Transactional
     public ResponseEntity<Object> addNewTransaction(AddTransactionDTO dto, Long clubId) {
         Transaction newTransaction = new Transaction(personRepository.findByOib(dto.getOib()).orElseThrow(),
                 clubRepository.findByClubId(dto.getClubId()).orElseThrow(), dto.getTransactionTimestamp(), dto.getPrice(),
                 dto.getPaymentMethod(), dto.getDescription());
         newTransaction = transactionRepository.save(newTransaction);
+        clubBalanceService.transactionAdded(newTransaction);
         return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/clubs/" + clubId + "/transactions/" + newTransaction.getTransactionId()).body("Transaction added successfully!");
     }
 
+    public StreamingResponseBody importClubTransactions(Long clubId, Reader csv) {
+        checkClubExists(clubId);
+        return out -> transactionImporter.importTransactions(clubId, csv, out);
+    }
+
+    @Transactional(readOnly = true)
     public GetTransactionDTO seeTransactionInfo(Long transactionId, Long clubId) {
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId).orElseThrow();
-        return new GetTransactionDTO(transaction.getTransactionId(), transaction.getPerson().getName(),
-                transaction.getPerson().getSurname(), transaction.getPerson().getOib(), transaction.getClub().getName(),
-                transaction.getTransactionTimestamp(), transaction.getPrice(),
-                transaction.getPaymentMethod(), transaction.getDescription());
+        return toGetTransactionDTO(transactionRepository.findByTransactionId(transactionId).orElseThrow());
     }
 
+    @Transactional
     public ResponseEntity<Object> changeTransactionInfo(Long transactionId, AddTransactionDTO dto, Long clubId) {
         if (!transactionRepository.existsByTransactionId(transactionId)) {
             throw new NoSuchElementException();
         }
 
-        Transaction changedTransaction = transactionRepository.findByTransactionId(transactionId).orElseThrow();
+        Transaction changedTransaction = transactionRepository.lockByTransactionId(transactionId).orElseThrow();
+        clubBalanceService.transactionRemoved(changedTransaction);
         changedTransaction.setPerson(personRepository.findByOib(dto.getOib()).orElseThrow());
         changedTransaction.setClub(clubRepository.findByClubId(dto.getClubId()).orElseThrow());
         changedTransaction.setTransactionTimestamp(dto.getTransactionTimestamp());
@@ -159,41 +248,43 @@ public class ClubService {
         changedTransaction.setPaymentMethod(dto.getPaymentMethod());
         changedTransaction.setDescription(dto.getDescription());
         transactionRepository.save(changedTransaction);
+        clubBalanceService.transactionAdded(changedTransaction);
 
         return ResponseEntity.ok().body("Transaction info changed successfully!");
     }
 
+    @Transactional
     public void deleteTransaction(Long transactionId, Long clubId) {
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId).orElseThrow();
+        Transaction transaction = transactionRepository.lockByTransactionId(transactionId).orElseThrow();
         transactionRepository.delete(transaction);
+        clubBalanceService.transactionRemoved(transaction);
     }
 
     // equipment
+    @Transactional(readOnly = true)
     public List<GetEquipmentDTO> getClubEquipment(Long clubId) {
-        return ownsRepository.findAll().stream().filter(o -> o.getClub().getClubId().equals(clubId))
+        return ownsRepository.findAllByClubClubId(clubId).stream()
                 .map(equipment -> new GetEquipmentDTO(equipment.getOwnsId().getEquipmentId(), equipment.getClub().getName(),
                         equipment.getQuantity(), equipment.getEquipment().getName(), equipment.getEquipment().getPrice())).toList();
     }
 
 
+    @Transactional
     public ResponseEntity<Object> addNewEquipment(AddEquipmentDTO dto, Long clubId) {
-        Equipment equipment;
-        if (equipmentRepository.findByName(dto.getName()).isEmpty()) {
-            equipment = equipmentRepository.save(new Equipment(dto.getName(), dto.getPrice()));
-        } else {
-            equipment = equipmentRepository.findByName(dto.getName()).orElseThrow();
-        }
+        Equipment equipment = equipmentRepository.getReferenceById(referenceDataCache.equipmentId(dto.getName(), dto.getPrice()));
         Owns newOwns = new Owns(equipment, clubRepository.findByClubId(clubId).orElseThrow(), dto.getQuantity());
         newOwns = ownsRepository.save(newOwns);
         return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/clubs/" + clubId + "/equipment/" + newOwns.getOwnsId().getEquipmentId()).body("Equipment added successfully!");
     }
 
+    @Transactional(readOnly = true)
     public GetEquipmentDTO seeEquipmentInfo(Long equipmentId, Long clubId) {
         Owns owns = ownsRepository.findByOwnsId(new OwnsPK(equipmentId, clubId)).orElseThrow();
         return new GetEquipmentDTO(owns.getEquipment().getEquipmentId(), owns.getClub().getName(),
                 owns.getQuantity(), owns.getEquipment().getName(), owns.getEquipment().getPrice());
     }
 
+    @Transactional
     public ResponseEntity<Object> changeEquipmentInfo(Long equipmentId, AddEquipmentDTO dto, Long clubId) {
         if (!ownsRepository.existsByOwnsId(new OwnsPK(equipmentId, clubId))) {
             throw new NoSuchElementException();
@@ -206,6 +297,7 @@ public class ClubService {
             equipment.setPrice(dto.getPrice());
         }
         equipmentRepository.save(equipment);
+        referenceDataCache.evictEquipment(dto.getName());
 
         Owns changedEquipment = ownsRepository.findByOwnsId(new OwnsPK(equipmentId, clubId)).orElseThrow();
         ownsRepository.delete(ownsRepository.findByOwnsId(new OwnsPK(equipmentId, clubId)).orElseThrow());
@@ -218,24 +310,55 @@ public class ClubService {
         return ResponseEntity.ok().body("Equipment info changed successfully!");
     }
 
+    @Transactional
     public void deleteEquipment(Long equipmentId, Long clubId) {
         Owns owns = ownsRepository.findByOwnsId(new OwnsPK(equipmentId, clubId)).orElseThrow();
         ownsRepository.delete(owns);
         if (!ownsRepository.existsByEquipment(owns.getEquipment())) {
             equipmentRepository.delete(owns.getEquipment());
+            referenceDataCache.evictEquipment(owns.getEquipment().getName());
+        }
+    }
+
+    // players
+    /**
+     * Players who have represented the club, or with {@code current} only those who still do.
+     */
+    @Transactional(readOnly = true)
+    public List<PersonDTO> getClubPlayers(Long clubId, boolean current) {
+        if (!clubRepository.existsByClubId(clubId)) {
+            throw new NoSuchElementException();
         }
+        return current ? representsRepository.findCurrentRoster(clubId) : representsRepository.findRoster(clubId);
+    }
+
+    /**
+     * Players and coaches of the club on the day, by default today.
+     */
+    @Transactional(readOnly = true)
+    public GetClubRosterDTO getClubRoster(Long clubId, LocalDate at) {
+        Club club = clubRepository.findByClubId(clubId).orElseThrow();
+        LocalDate day = at != null ? at : LocalDate.now();
+        return new GetClubRosterDTO(club.getClubId(), club.getName(), day, representsRepository.findRosterAt(clubId, day),
+                holdsTrainingSessionsRepository.findCoachesAt(clubId, day));
     }
 
     // meetings
-    public List<GetMeetingDTO> getClubMeetings(Long clubId) {
+    @Transactional(readOnly = true)
+    public List<GetMeetingDTO> getClubMeetings(Long clubId, LocalDate from, LocalDate to) {
         Club club = clubRepository.findByClubId(clubId).orElseThrow();
-        return meetingRepository.findAll().stream().filter(m -> m.getClub().getClubId().equals(clubId)).
+        TimeRange range = TimeRange.of(from, to);
+        List<Meeting> meetings = range.isBounded()
+                ? meetingRepository.findAllByClubIdAndPeriod(clubId, range.getStart(), range.getEnd())
+                : meetingRepository.findAllByClubClubId(clubId);
+        return meetings.stream().
                 map(meeting -> new GetMeetingDTO(
                 meeting.getMeetingId(), meeting.getMeetingTimestamp(), meeting.getAgenda(), meeting.getNotes(),
                 meeting.getClub().getName(), meeting.getAttendees().stream().map(person -> person.getName() + " "
                         + person.getSurname() + ", " + person.getOib()).collect(Collectors.toSet()))).toList();
     }
 
+    @Transactional
     public ResponseEntity<Object> addNewMeeting(AddMeetingDTO dto, Long clubId) {
         Meeting newMeeting = new Meeting(dto.getMeetingTimestamp(), dto.getAgenda(), dto.getNotes(),
                 clubRepository.findByClubId(dto.getClubId()).orElseThrow());
@@ -245,6 +368,7 @@ public class ClubService {
         return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/clubs/" + clubId + "/meetings/" + newMeeting.getMeetingId()).body("Meeting added successfully!");
     }
 
+    @Transactional(readOnly = true)
     public GetMeetingDTO seeMeetingInfo(Long meetingId, Long clubId) {
         Meeting meeting = meetingRepository.findByMeetingId(meetingId).orElseThrow();
         return new GetMeetingDTO(meeting.getMeetingId(), meeting.getMeetingTimestamp(), meeting.getAgenda(), meeting.getNotes(),
@@ -252,6 +376,7 @@ public class ClubService {
                 + person.getSurname() + ", " + person.getOib()).collect(Collectors.toSet()));
     }
 
+    @Transactional
     public ResponseEntity<Object> changeMeetingInfo(Long meetingId, AddMeetingDTO dto, Long clubId) {
         if (!meetingRepository.existsByMeetingId(meetingId)) {
             throw new NoSuchElementException();
@@ -269,39 +394,47 @@ public class ClubService {
         return ResponseEntity.ok().body("Meeting info changed successfully!");
     }
 
+    @Transactional
     public void deleteMeeting(Long meetingId, Long clubId) {
         Meeting meeting = meetingRepository.findByMeetingId(meetingId).orElseThrow();
         meetingRepository.delete(meeting);
     }
 
     // courts
+    @Transactional(readOnly = true)
     public List<GetCourtDTO> getClubCourts(Long clubId) {
         Club club = clubRepository.findByClubId(clubId).orElseThrow();
-        return courtRepository.findAll().stream().filter(c -> c.getClub().getClubId().equals(clubId)).
+        return courtRepository.findAllByClubClubId(clubId).stream().
                 map(court -> new GetCourtDTO(court.getCourtId(),
                 court.getName(), court.getClub().getName(), court.getSurface()
         )).toList();
     }
 
+    @Transactional
     public ResponseEntity<Object> addNewCourt(AddCourtDTO dto, Long clubId) {
-        Court newCourt = new Court(dto.getName(), clubRepository.findByClubId(dto.getClubId()).orElseThrow(),
-                dto.getSurface());
+        Club club = clubRepository.findByClubId(dto.getClubId()).orElseThrow();
+        checkCourtNameFree(club, dto.getName(), null);
+        Court newCourt = new Court(dto.getName(), club, dto.getSurface());
         courtRepository.save(newCourt);
         return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/clubs/" + clubId + "/courts/" + newCourt.getCourtId()).body("Court added successfully!");
     }
 
+    @Transactional(readOnly = true)
     public GetCourtDTO seeCourtInfo(Long courtId, Long clubId) {
         Court court = courtRepository.findByCourtId(courtId).orElseThrow();
         return new GetCourtDTO(court.getCourtId(), court.getName(), court.getClub().getName(), court.getSurface());
     }
 
+    @Transactional
     public ResponseEntity<Object> changeCourtInfo(Long courtId, AddCourtDTO dto, Long clubId) {
         if (!courtRepository.existsByCourtId(courtId)) {
             throw new NoSuchElementException();
         }
 
         Court changedCourt = courtRepository.findByCourtId(courtId).orElseThrow();
-        changedCourt.setClub(clubRepository.findByClubId(dto.getClubId()).orElseThrow());
+        Club club = clubRepository.findByClubId(dto.getClubId()).orElseThrow();
+        checkCourtNameFree(club, dto.getName(), courtId);
+        changedCourt.setClub(club);
         changedCourt.setName(dto.getName());
         changedCourt.setSurface(dto.getSurface());
         courtRepository.save(changedCourt);
@@ -309,6 +442,18 @@ public class ClubService {
         return ResponseEntity.ok().body("Court info changed successfully!");
     }
 
+    private void checkCourtNameFree(Club club, String name, Long courtId) {
+        courtRepository.findByClubAndName(club, name).filter(court -> !court.getCourtId().equals(courtId)).ifPresent(court -> {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Club " + club.getName() + " already has a court named " + name);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public GetCourtAvailabilityDTO getCourtAvailability(Long clubId, Long courtId, LocalDate from, LocalDate to) {
+        return courtBookingService.getCourtAvailability(clubId, courtId, from, to);
+    }
+
+    @Transactional
     public void deleteCourt(Long courtId, Long clubId) {
         Court court = courtRepository.findByCourtId(courtId).orElseThrow();
         courtRepository.delete(court);
@@ -1,18 +1,25 @@
 package com.tennisclubs.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.tennisclubs.dao.*;
 import com.tennisclubs.dto.*;
 import com.tennisclubs.entity.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,35 +30,58 @@ public class CoachService {
     private final TrainingRepository trainingRepository;
     private final ClubRepository clubRepository;
     private final PlayerRepository playerRepository;
+    private final RepresentsRepository representsRepository;
+    private final CascadeDeleteService cascadeDeleteService;
+    private final ReferenceDataCache referenceDataCache;
+    private final PersonScheduleService personScheduleService;
+    private final OptimisticRetry optimisticRetry;
+    private final MergePatch mergePatch;
+    private final EntityManager entityManager;
 
-    public CoachService(CoachRepository coachRepository, PlaceRepository placeRepository, HoldsTrainingSessionsRepository holdsTrainingSessionsRepository, TrainingRepository trainingRepository, ClubRepository clubRepository, PlayerRepository playerRepository) {
+    public CoachService(CoachRepository coachRepository, PlaceRepository placeRepository, HoldsTrainingSessionsRepository holdsTrainingSessionsRepository, TrainingRepository trainingRepository, ClubRepository clubRepository, PlayerRepository playerRepository, RepresentsRepository representsRepository, CascadeDeleteService cascadeDeleteService, ReferenceDataCache referenceDataCache, PersonScheduleService personScheduleService, OptimisticRetry optimisticRetry, MergePatch mergePatch, EntityManager entityManager) {
         this.coachRepository = coachRepository;
         this.placeRepository = placeRepository;
         this.holdsTrainingSessionsRepository = holdsTrainingSessionsRepository;
         this.trainingRepository = trainingRepository;
         this.clubRepository = clubRepository;
         this.playerRepository = playerRepository;
+        this.representsRepository = representsRepository;
+        this.cascadeDeleteService = cascadeDeleteService;
+        this.referenceDataCache = referenceDataCache;
+        this.personScheduleService = personScheduleService;
+        this.optimisticRetry = optimisticRetry;
+        this.mergePatch = mergePatch;
+        this.entityManager = entityManager;
     }
 
+    @Transactional(readOnly = true)
     public List<GetCoachDTO> getAllCoaches() {
-        return coachRepository.findAll().stream().
-                map(coach -> new GetCoachDTO(coach.getPersonId(), coach.getOib(), coach.getName(), coach.getSurname(), coach.getDateOfBirth(),
-                        coach.getSex(), coach.getPlace().getZipCode(), coach.getPlace().getName(),
-                        coach.getYearsOfExperience(), coach.getSpecialization(),
-                        coach.getClubsCoachedAt().stream().filter(h -> h.getToDate() == null).map(HoldsTrainingSessions::getClub).
-                                toList().getLast().getName(), coach.getClubsCoachedAt()
-                        .stream().filter(h -> h.getToDate() != null).map(h -> h.getClub().getName() + ": " + h.getFromDate().getDayOfMonth() + "." + h.getFromDate().getMonthValue() +
-                                "." + h.getFromDate().getYear() + ". - " + h.getToDate().getDayOfMonth() + "." + h.getToDate().getMonthValue()
-                                + "." + h.getToDate().getYear() + ".").collect(Collectors.toSet()))).toList();
+        return coachRepository.findAllWithClubs().stream().map(this::toGetCoachDTO).toList();
     }
 
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<GetCoachDTO>> getCoachesPage(int limit, String after) {
+        PageCursor cursor = PageCursor.decode(after);
+        Slice<Long> ids = coachRepository.findIdPageAfter(cursor.getKey(), cursor.getId(), PageCursor.limit(limit));
+        List<Coach> coaches = ids.isEmpty() ? List.of() : coachRepository.findAllWithClubsByPersonIdIn(ids.getContent());
+        PageCursor next = ids.hasNext() ? new PageCursor(coaches.getLast().getSurname(), coaches.getLast().getPersonId()) : null;
+        return PageCursor.toResponse(coaches.stream().map(this::toGetCoachDTO).toList(), next);
+    }
+
+    private GetCoachDTO toGetCoachDTO(Coach coach) {
+        return new GetCoachDTO(coach.getPersonId(), coach.getOib(), coach.getName(), coach.getSurname(), coach.getDateOfBirth(),
+                coach.getSex(), coach.getPlace().getZipCode(), coach.getPlace().getName(),
+                coach.getYearsOfExperience(), coach.getSpecialization(),
+                coach.getClubsCoachedAt().stream().filter(h -> h.getToDate() == null).map(HoldsTrainingSessions::getClub).
+                        toList().getLast().getName(), coach.getClubsCoachedAt()
+                .stream().filter(h -> h.getToDate() != null).map(h -> h.getClub().getName() + ": " + h.getFromDate().getDayOfMonth() + "." + h.getFromDate().getMonthValue() +
+                        "." + h.getFromDate().getYear() + ". - " + h.getToDate().getDayOfMonth() + "." + h.getToDate().getMonthValue()
+                        + "." + h.getToDate().getYear() + ".").collect(Collectors.toSet()), coach.getVersion());
+    }
+
+    @Transactional
     public ResponseEntity<Object> addNewCoach(AddCoachDTO dto) {
-        Place place;
-        if (placeRepository.findByZipCode(dto.getZipCode()).isEmpty()) {
-            place = placeRepository.save(new Place(dto.getZipCode(), dto.getPlaceName()));
-        } else {
-            place = placeRepository.findByZipCode(dto.getZipCode()).orElseThrow();
-        }
+        Place place = placeRepository.getReferenceById(referenceDataCache.placeId(dto.getZipCode(), dto.getPlaceName()));
         Coach newCoach = new Coach(dto.getOib(), dto.getName(), dto.getSurname(), dto.getDateOfBirth(),
                 dto.getSex(), place, dto.getYearsOfExperience(),
                 dto.getSpecialization());
@@ -62,74 +92,101 @@ public class CoachService {
         return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/coaches/" + newCoach.getPersonId()).body("Coach added successfully!");
     }
 
+    @Transactional(readOnly = true)
     public GetCoachDTO seeCoachInfo(Long coachId) {
-        Coach coach = coachRepository.findByPersonId(coachId).orElseThrow();
-        Club club = coach.getClubsCoachedAt().stream().filter(h -> h.getToDate() == null).
-                map(HoldsTrainingSessions::getClub).toList().getLast();
-        Set<String> previousClubs = coach.getClubsCoachedAt().stream().filter(h -> h.getToDate() != null)
-                .map(h -> h.getClub().getName() + ": " + h.getFromDate().getDayOfMonth() + "." + h.getFromDate().getMonthValue() +
-                        "." + h.getFromDate().getYear() + ". - " + h.getToDate().getDayOfMonth() + "." + h.getToDate().getMonthValue()
-                + "." + h.getToDate().getYear() + ".").collect(Collectors.toSet());
-        return new GetCoachDTO(coach.getPersonId(), coach.getOib(), coach.getName(), coach.getSurname(), coach.getDateOfBirth(),
-                coach.getSex(), coach.getPlace().getZipCode(), coach.getPlace().getName(), coach.getYearsOfExperience(),
-                coach.getSpecialization(), club.getName(), previousClubs);
+        return toGetCoachDTO(coachRepository.findByPersonId(coachId).orElseThrow());
     }
 
-    public ResponseEntity<Object> changeCoachInfo(Long coachId, AddCoachDTO dto) {
-        if (!coachRepository.existsByPersonId(coachId)) {
-            throw new NoSuchElementException();
-        }
-        Place place;
-        if (placeRepository.findByZipCode(dto.getZipCode()).isEmpty()) {
-            place = placeRepository.save(new Place(dto.getZipCode(), dto.getPlaceName()));
-        } else {
-            place = placeRepository.findByZipCode(dto.getZipCode()).orElseThrow();
-        }
+    /**
+     * Replaces the coach's details and, when the club differs, moves them to it from
+     * {@code dto.getFrom()}, by default today. Retried on a concurrent change unless
+     * {@code expectedVersion} pins one.
+     */
+    public ResponseEntity<Object> changeCoachInfo(Long coachId, AddCoachDTO dto, Long expectedVersion) {
+        Coach changedCoach = optimisticRetry.execute(expectedVersion, () -> {
+            Coach coach = coachRepository.findByPersonId(coachId).orElseThrow();
+            OptimisticRetry.checkVersion(expectedVersion, coach.getVersion());
+            applyCoachInfo(coach, dto);
+            return coach;
+        });
 
-        Coach coach = coachRepository.findByPersonId(coachId).orElseThrow();
+        return ResponseEntity.ok().eTag(String.valueOf(changedCoach.getVersion())).body("Coach info changed successfully!");
+    }
 
-        Coach changedCoach = coachRepository.findByPersonId(coachId).orElseThrow();
-        changedCoach.setSpecialization(dto.getSpecialization());
-        changedCoach.setYearsOfExperience(dto.getYearsOfExperience());
-        changedCoach.setName(dto.getName());
-        changedCoach.setSurname(dto.getSurname());
-        changedCoach.setSex(dto.getSex());
-        changedCoach.setDateOfBirth(dto.getDateOfBirth());
-        changedCoach.setOib(dto.getOib());
-        changedCoach.setPlace(place);
-        coachRepository.save(changedCoach);
-
-        if (coach.getClubsCoachedAt().stream().map(h -> h.getClub().getName()).collect(Collectors.toSet()).contains(dto.getClubName())) {
-            HoldsTrainingSessions h1 = coach.getClubsCoachedAt().stream().filter(h -> h.getClub().getName().equals(dto.getClubName())).
-                    findFirst().orElseThrow();
-            holdsTrainingSessionsRepository.delete(h1);
-            h1.setFromDate(dto.getFrom());
-            holdsTrainingSessionsRepository.save(h1);
+    /**
+     * Changes only the fields present in the merge patch of the coach's {@link AddCoachDTO} form.
+     */
+    public ResponseEntity<Object> patchCoachInfo(Long coachId, JsonNode patch, Long expectedVersion) {
+        Coach changedCoach = optimisticRetry.execute(expectedVersion, () -> {
+            Coach coach = coachRepository.findByPersonId(coachId).orElseThrow();
+            OptimisticRetry.checkVersion(expectedVersion, coach.getVersion());
+            applyCoachInfo(coach, mergePatch.apply(toAddCoachDTO(coach), patch, AddCoachDTO.class));
+            return coach;
+        });
+
+        return ResponseEntity.ok().eTag(String.valueOf(changedCoach.getVersion())).body("Coach info changed successfully!");
+    }
+
+    private AddCoachDTO toAddCoachDTO(Coach coach) {
+        HoldsTrainingSessions current = currentMembership(coach);
+        return new AddCoachDTO(coach.getOib(), coach.getName(), coach.getSurname(), coach.getDateOfBirth(), coach.getSex(),
+                coach.getPlace().getZipCode(), coach.getPlace().getName(), coach.getYearsOfExperience(),
+                coach.getSpecialization(), current.getClub().getName(), null);
+    }
+
+    /**
+     * Sets the coach's fields from the form, touching the memberships only when the club or its
+     * start date changes; see {@code PlayerService.applyPlayerInfo}.
+     */
+    private void applyCoachInfo(Coach coach, AddCoachDTO dto) {
+        coach.setSpecialization(dto.getSpecialization());
+        coach.setYearsOfExperience(dto.getYearsOfExperience());
+        coach.setName(dto.getName());
+        coach.setSurname(dto.getSurname());
+        coach.setSex(dto.getSex());
+        coach.setDateOfBirth(dto.getDateOfBirth());
+        coach.setOib(dto.getOib());
+        if (!Objects.equals(coach.getPlace().getZipCode(), dto.getZipCode())) {
+            coach.setPlace(placeRepository.getReferenceById(referenceDataCache.placeId(dto.getZipCode(), dto.getPlaceName())));
+        }
+
+        HoldsTrainingSessions current = currentMembership(coach);
+        if (current.getClub().getName().equals(dto.getClubName())) {
+            if (dto.getFrom() == null || dto.getFrom().equals(current.getFromDate())) {
+                return;
+            }
+            current.setFromDate(dto.getFrom());
         } else {
-            HoldsTrainingSessions h1 = coach.getClubsCoachedAt().stream().filter(h -> h.getToDate() == null).findFirst().orElseThrow();
-            holdsTrainingSessionsRepository.delete(h1);
-            h1.setToDate(dto.getFrom());
-            HoldsTrainingSessions h2 = new HoldsTrainingSessions(changedCoach, clubRepository.findByName(dto.getClubName())
-                    .orElseThrow(), dto.getFrom(), null);
-            holdsTrainingSessionsRepository.saveAll(Set.of(h1, h2));
+            LocalDate from = dto.getFrom() != null ? dto.getFrom() : LocalDate.now();
+            if (current.getFromDate() != null && !from.isAfter(current.getFromDate())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be after " + current.getFromDate()
+                        + ", when the membership at " + current.getClub().getName() + " started");
+            }
+            current.setToDate(from);
+            holdsTrainingSessionsRepository.save(new HoldsTrainingSessions(coach, clubRepository.findByName(dto.getClubName())
+                    .orElseThrow(), from, null));
         }
+        entityManager.lock(coach, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
 
-        return ResponseEntity.ok().body("Coach info changed successfully!");
+    private static HoldsTrainingSessions currentMembership(Coach coach) {
+        return coach.getClubsCoachedAt().stream().filter(h -> h.getToDate() == null).findFirst().orElseThrow();
     }
 
+    @Transactional
     public void deleteCoach(Long coachId) {
         Coach coach = coachRepository.findByPersonId(coachId).orElseThrow();
-        List<HoldsTrainingSessions> hts = holdsTrainingSessionsRepository.findAll().stream().
-                filter(h -> h.getCoach().equals(coach)).toList();
-        holdsTrainingSessionsRepository.deleteAll(hts);
-        List<Training> trainings = trainingRepository.findAll().stream().filter(t -> t.getCoach().equals(coach)).toList();
-        trainingRepository.deleteAll(trainings);
-        coachRepository.delete(coach);
+        cascadeDeleteService.deleteCoach(coach);
     }
 
     // coach training sessions
-    public List<GetTrainingDTO> getCoachTrainingSessions(Long coachId) {
-        return trainingRepository.findAll().stream().filter(ts -> ts.getCoach().getPersonId().equals(coachId))
+    @Transactional(readOnly = true)
+    public List<GetTrainingDTO> getCoachTrainingSessions(Long coachId, LocalDate from, LocalDate to) {
+        TimeRange range = TimeRange.of(from, to);
+        List<Training> trainings = range.isBounded()
+                ? trainingRepository.findAllByCoachIdAndPeriod(coachId, range.getStart(), range.getEnd())
+                : trainingRepository.findAllByCoachId(coachId);
+        return trainings.stream()
                 .map(ts -> new GetTrainingDTO(ts.getTrainingId(), ts.getTrainingTimestamp(), ts.getDuration(),
                         ts.getDescription(), ts.getNotes(), ts.getCoach().getName() + " " +
                         ts.getCoach().getSurname() + ", " + ts.getCoach().getOib(), ts.getPlayers().stream()
@@ -137,23 +194,30 @@ public class CoachService {
                         collect(Collectors.toSet()))).toList();
     }
 
+    /**
+     * The current roster of the club the coach currently trains at, the most recently joined
+     * one when there are several.
+     */
+    @Transactional(readOnly = true)
     public List<PersonDTO> getPlayersAvailableToTheCoach(Long coachId) {
-        return playerRepository.findAll().stream().filter(p -> p.getClubsPlayedAt().stream().
-                filter(r -> r.getToDate() == null).map(Represents::getClub).
-                toList().getLast().getName().equals(coachRepository.findByPersonId(coachId).orElseThrow().
-                        getClubsCoachedAt().stream().filter(h -> h.getToDate() == null).map(HoldsTrainingSessions::getClub).
-                        toList().getLast().getName())).map(p -> new PersonDTO(p.getPersonId(), p.getOib(), p.getName(),
-                p.getSurname())).toList();
+        if (!coachRepository.existsByPersonId(coachId)) {
+            throw new NoSuchElementException();
+        }
+        List<Long> clubIds = holdsTrainingSessionsRepository.findCurrentClubIds(coachId);
+        return clubIds.isEmpty() ? List.of() : representsRepository.findCurrentRoster(clubIds.getFirst());
     }
 
+    @Transactional
     public ResponseEntity<Object> addNewTrainingSession(AddTrainingDTO dto, Long coachId) {
         Training newTraining = new Training(dto.getTrainingTimestamp(), dto.getDuration(), dto.getDescription(),
                 dto.getNotes(), dto.getPlayers().stream().map(oib -> playerRepository.findByOib(oib).orElseThrow())
                 .collect(Collectors.toSet()), coachRepository.findByPersonId(dto.getCoachId()).orElseThrow());
+        personScheduleService.checkTrainingFits(newTraining);
         trainingRepository.save(newTraining);
         return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/coaches/" + coachId + "/training_sessions/" + newTraining.getTrainingId()).body("Training added successfully!");
     }
 
+    @Transactional(readOnly = true)
     public GetTrainingDTO seeTrainingSessionInfo(Long trainingId, Long coachId) {
         Training training = trainingRepository.findByTrainingId(trainingId).orElseThrow();
         return new GetTrainingDTO(training.getTrainingId(), training.getTrainingTimestamp(), training.getDuration(),
@@ -162,6 +226,7 @@ public class CoachService {
                 .map(p -> p.getName() + " " + p.getSurname() + ", " + p.getOib()).collect(Collectors.toSet()));
     }
 
+    @Transactional
     public ResponseEntity<Object> changeTrainingSessionInfo(Long trainingId, AddTrainingDTO dto, Long coachId) {
         if (!trainingRepository.existsByTrainingId(trainingId)) {
             throw new NoSuchElementException();
@@ -175,11 +240,26 @@ public class CoachService {
         changedTraining.setNotes(dto.getNotes());
         changedTraining.setDescription(dto.getDescription());
         changedTraining.setDuration(dto.getDuration());
+        personScheduleService.checkTrainingFits(changedTraining);
         trainingRepository.save(changedTraining);
 
         return ResponseEntity.ok().body("Training info changed successfully!");
     }
 
+    @Transactional(readOnly = true)
+    public List<MembershipDTO> getCoachClubs(Long coachId) {
+        if (!coachRepository.existsByPersonId(coachId)) {
+            throw new NoSuchElementException();
+        }
+        return holdsTrainingSessionsRepository.findTimeline(coachId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TimeSlotDTO> getCoachFreeSlots(Long coachId, LocalDate from, LocalDate to) {
+        return personScheduleService.getCoachFreeSlots(coachId, from, to);
+    }
+
+    @Transactional
     public void deleteTrainingSession(Long trainingId, Long coachId) {
         Training training = trainingRepository.findByTrainingId(trainingId).orElseThrow();
         trainingRepository.delete(training);
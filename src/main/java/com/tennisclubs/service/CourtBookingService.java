@@ -0,0 +1,123 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.CourtRepository;
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.dto.BookedSlotDTO;
+import com.tennisclubs.dto.GetCourtAvailabilityDTO;
+import com.tennisclubs.dto.TimeRange;
+import com.tennisclubs.entity.Court;
+import com.tennisclubs.entity.Match;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Court occupancy, derived from the matches booked on each court. A match with a timestamp
+ * holds its court until {@link Match#getMatchEnd()}; overlaps are found with a range scan of
+ * the (court, timestamp) index. Writers raise the version of the courts they check, so of two
+ * writers booking the same court at once the later to commit fails with an optimistic locking
+ * failure and has to check again.
+ */
+@Service
+public class CourtBookingService {
+    private static final int MAX_AVAILABILITY_DAYS = 31;
+
+    private final MatchRepository matchRepository;
+    private final CourtRepository courtRepository;
+
+    public CourtBookingService(MatchRepository matchRepository, CourtRepository courtRepository) {
+        this.matchRepository = matchRepository;
+        this.courtRepository = courtRepository;
+    }
+
+    /**
+     * Booked and free slots of the court in {@code [from, to)}, by default the current day.
+     */
+    @Transactional(readOnly = true)
+    public GetCourtAvailabilityDTO getCourtAvailability(Long clubId, Long courtId, LocalDate from, LocalDate to) {
+        Court court = courtRepository.findByCourtId(courtId).filter(c -> c.getClub().getClubId().equals(clubId)).orElseThrow();
+        TimeRange range = TimeRange.ofDays(from, to, MAX_AVAILABILITY_DAYS);
+        List<BookedSlotDTO> booked = findBookings(courtId, range.getStart(), range.getEnd());
+        return new GetCourtAvailabilityDTO(court.getCourtId(), court.getName(), range.getStart(), range.getEnd(), booked,
+                range.freeSlots(booked));
+    }
+
+    /**
+     * Rejects the match with 409 when it overlaps another booking of its court. Call before
+     * saving it, in a transaction that {@link OptimisticRetry} runs again when the court was
+     * booked concurrently.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void checkCourtIsFree(Match match) {
+        Map<Integer, String> conflicts = findConflicts(List.of(match));
+        if (!conflicts.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, conflicts.get(0));
+        }
+    }
+
+    /**
+     * Messages, by position in the list, for the matches that overlap another booking of their
+     * court or an earlier match of the list. Reads each court's bookings over the span of the
+     * list once. Call before saving the matches.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Integer, String> findConflicts(List<Match> matches) {
+        Map<Long, List<Integer>> byCourt = new TreeMap<>();
+        for (int i = 0; i < matches.size(); i++) {
+            if (matches.get(i).getMatchTimestamp() != null) {
+                byCourt.computeIfAbsent(matches.get(i).getCourt().getCourtId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+        if (byCourt.isEmpty()) {
+            return Map.of();
+        }
+        courtRepository.lockAllByCourtIdIn(byCourt.keySet());
+
+        Map<Integer, String> conflicts = new TreeMap<>();
+        byCourt.forEach((courtId, indexes) -> {
+            List<Match> courtMatches = indexes.stream().map(matches::get).toList();
+            Set<Long> matchIds = courtMatches.stream().map(Match::getMatchId).filter(Objects::nonNull).collect(Collectors.toSet());
+            LocalDateTime from = courtMatches.stream().map(Match::getMatchTimestamp).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDateTime to = courtMatches.stream().map(Match::getMatchEnd).max(Comparator.naturalOrder()).orElseThrow();
+            // start of each booking -> the latest end among bookings starting then
+            NavigableMap<LocalDateTime, LocalDateTime> busy = new TreeMap<>();
+            for (BookedSlotDTO booking : findBookings(courtId, from, to)) {
+                if (!matchIds.contains(booking.getMatchId())) {
+                    busy.merge(booking.getStart(), booking.getEnd(), CourtBookingService::later);
+                }
+            }
+            for (int i = 0; i < courtMatches.size(); i++) {
+                Match match = courtMatches.get(i);
+                LocalDateTime start = match.getMatchTimestamp();
+                Optional<Map.Entry<LocalDateTime, LocalDateTime>> clash = busy.subMap(start.minus(Match.MAX_DURATION), true, match.getMatchEnd(), false)
+                        .entrySet().stream().filter(booking -> booking.getValue().isAfter(start)).findFirst();
+                if (clash.isPresent()) {
+                    conflicts.put(indexes.get(i), "Court " + match.getCourt().getName() + " is already booked from "
+                            + clash.get().getKey() + " to " + clash.get().getValue());
+                } else {
+                    busy.merge(start, match.getMatchEnd(), CourtBookingService::later);
+                }
+            }
+        });
+        return conflicts;
+    }
+
+    /**
+     * Bookings overlapping {@code [from, to)}. No match lasts longer than {@link Match#MAX_DURATION},
+     * so only matches starting that much before {@code from} are scanned.
+     */
+    private List<BookedSlotDTO> findBookings(Long courtId, LocalDateTime from, LocalDateTime to) {
+        return matchRepository.findCourtBookings(courtId, from.minus(Match.MAX_DURATION), from, to);
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
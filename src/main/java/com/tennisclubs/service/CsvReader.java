@@ -0,0 +1,94 @@
+package com.tennisclubs.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads comma separated records one at a time. The first record names the columns; fields
+ * may be quoted, with doubled quotes inside and line breaks allowed, and empty fields are
+ * returned as {@code null}.
+ */
+public class CsvReader implements Closeable {
+    public static final String MEDIA_TYPE = "text/csv";
+
+    private final BufferedReader reader;
+    private final List<String> columns;
+
+    public CsvReader(Reader reader) throws IOException {
+        this.reader = new BufferedReader(reader);
+        List<String> header = readRecord();
+        this.columns = header == null ? List.of() : header.stream().map(String::trim).toList();
+    }
+
+    /** The next record keyed by column name, or {@code null} at the end of the input. */
+    public Map<String, String> next() throws IOException {
+        List<String> fields = readRecord();
+        if (fields == null) {
+            return null;
+        }
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < columns.size() && i < fields.size(); i++) {
+            String value = fields.get(i).trim();
+            record.put(columns.get(i), value.isEmpty() ? null : value);
+        }
+        return record;
+    }
+
+    private List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isBlank()) {
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; ; i++) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                field.append('\n');
+                i = -1;
+                continue;
+            }
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -6,35 +6,54 @@ import com.tennisclubs.dao.PlayerRepository;
 import com.tennisclubs.dto.AddDoubleDTO;
 import com.tennisclubs.dto.GetDoubleDTO;
 import com.tennisclubs.dto.GetMatchDTO;
+import com.tennisclubs.dto.GetMatchStatsDTO;
+import com.tennisclubs.dto.PageCursor;
 import com.tennisclubs.entity.Match;
 import com.tennisclubs.entity.Pair;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.stream.Stream;
 
 @Service
 public class DoubleService {
     private final PairRepository pairRepository;
     private final MatchRepository matchRepository;
     private final PlayerRepository playerRepository;
+    private final CascadeDeleteService cascadeDeleteService;
+    private final MatchStatsService matchStatsService;
 
-    public DoubleService(PairRepository pairRepository, MatchRepository matchRepository, PlayerRepository playerRepository) {
+    public DoubleService(PairRepository pairRepository, MatchRepository matchRepository, PlayerRepository playerRepository, CascadeDeleteService cascadeDeleteService, MatchStatsService matchStatsService) {
         this.pairRepository = pairRepository;
         this.matchRepository = matchRepository;
         this.playerRepository = playerRepository;
+        this.cascadeDeleteService = cascadeDeleteService;
+        this.matchStatsService = matchStatsService;
     }
 
+    @Transactional(readOnly = true)
     public List<GetDoubleDTO> getAllDoubles() {
-        return pairRepository.findAll().stream().
-                map(pair -> new GetDoubleDTO(pair.getPairId(), pair.getPlayer1().getOib(), pair.getPlayer1().getName(),
-                        pair.getPlayer1().getSurname(), pair.getPlayer2().getOib(), pair.getPlayer2().getName(),
-                        pair.getPlayer2().getSurname(), pair.getRank(), pair.getDateOfTermination())).toList();
+        return pairRepository.findAllWithPlayers().stream().map(this::toGetDoubleDTO).toList();
     }
 
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<GetDoubleDTO>> getDoublesPage(int limit, String after) {
+        Slice<Pair> pairs = pairRepository.findPageAfter(PageCursor.decode(after).getId(), PageCursor.limit(limit));
+        PageCursor next = pairs.hasNext() ? new PageCursor("", pairs.getContent().getLast().getPairId()) : null;
+        return PageCursor.toResponse(pairs.map(this::toGetDoubleDTO).getContent(), next);
+    }
+
+    private GetDoubleDTO toGetDoubleDTO(Pair pair) {
+        return new GetDoubleDTO(pair.getPairId(), pair.getPlayer1().getOib(), pair.getPlayer1().getName(),
+                pair.getPlayer1().getSurname(), pair.getPlayer2().getOib(), pair.getPlayer2().getName(),
+                pair.getPlayer2().getSurname(), pair.getRank(), pair.getDateOfTermination());
+    }
+
+    @Transactional
     public ResponseEntity<Object> addNewDouble(AddDoubleDTO dto) {
         Pair newDouble = new Pair(playerRepository.findByOib(dto.getPlayer1oib()).orElseThrow(),
                 playerRepository.findByOib(dto.getPlayer2oib()).orElseThrow(), dto.getRank(), dto.getDateOfTermination());
@@ -42,6 +61,7 @@ public class DoubleService {
         return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/doubles/" + newDouble.getPairId()).body("Double added successfully!");
     }
 
+    @Transactional(readOnly = true)
     public GetDoubleDTO seeDoubleInfo(Long pairId) {
         Pair pair = pairRepository.findByPairId(pairId).orElseThrow();
         return new GetDoubleDTO(pair.getPairId(), pair.getPlayer1().getOib(), pair.getPlayer1().getName(),
@@ -49,6 +69,7 @@ public class DoubleService {
                 pair.getPlayer2().getSurname(), pair.getRank(), pair.getDateOfTermination());
     }
 
+    @Transactional
     public ResponseEntity<Object> changeDoubleInfo(Long pairId, AddDoubleDTO dto) {
         if (!pairRepository.existsByPairId(pairId)) {
             throw new NoSuchElementException();
@@ -63,25 +84,21 @@ public class DoubleService {
         return ResponseEntity.ok().body("Double info changed successfully!");
     }
 
+    @Transactional
     public void deleteDouble(Long pairId) {
         Pair pair = pairRepository.findByPairId(pairId).orElseThrow();
-        List<Match> matches = Stream.concat(matchRepository.findByPair1(pair).stream(),
-                matchRepository.findByPair2(pair).stream()).toList();
-        matchRepository.deleteAll(matches);
-        pairRepository.delete(pair);
+        cascadeDeleteService.deletePair(pair);
     }
 
+    @Transactional(readOnly = true)
     public List<GetMatchDTO> getAllDoubleMatches(Long pairId) {
-        return Stream.concat(
-                pairRepository.findByPairId(pairId).orElseThrow().getDoublesMatchesPlayedAsHosts().stream(),
-                pairRepository.findByPairId(pairId).orElseThrow().getDoublesMatchesPlayedAsGuests().stream()
-        ).map(m -> {
-            String[] scores = m.getMatchResult().split("-");
-            int hostScore = Integer.parseInt(scores[0]);
-            int guestScore = Integer.parseInt(scores[1]);
+        if (!pairRepository.existsByPairId(pairId)) {
+            throw new NoSuchElementException();
+        }
 
-            boolean isHost = m.getPair1().getPairId().equals(pairId);
-            boolean pairWon = (isHost && hostScore > guestScore) || (!isHost && guestScore > hostScore);
+        return matchRepository.findDoublesByPairId(pairId).stream().map(m -> {
+            int side = m.getPair1().getPairId().equals(pairId) ? Match.HOST : Match.GUEST;
+            boolean pairWon = Integer.valueOf(side).equals(m.getWinnerSide());
 
             return new GetMatchDTO(
                     m.getMatchId(),
@@ -96,9 +113,17 @@ public class DoubleService {
                     m.getTournament().getCategory().getType(),
                     m.getTournament().getCategory().getAgeLimit(),
                     m.getTournament().getCategory().getSexLimit(),
-                    pairWon ? 1 : 0
+                    pairWon ? 1 : 0,
+                    m.getVersion()
             );
         }).toList();
     }
 
+    @Transactional(readOnly = true)
+    public GetMatchStatsDTO getPairStats(Long pairId) {
+        if (!pairRepository.existsByPairId(pairId)) {
+            throw new NoSuchElementException();
+        }
+        return matchStatsService.getPairStats(pairId);
+    }
 }
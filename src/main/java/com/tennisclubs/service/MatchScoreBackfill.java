@@ -0,0 +1,52 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.dao.MatchStatsRepository;
+import com.tennisclubs.entity.Match;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Fills the parsed set scores, winning side and end time of matches stored before those
+ * columns existed, then builds the player and pair statistics from scratch when there are none
+ * yet or when legacy results were just parsed. Runs on every startup and only touches
+ * rows that are still unset.
+ */
+@Component
+public class MatchScoreBackfill implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(MatchScoreBackfill.class);
+
+    private final MatchRepository matchRepository;
+    private final MatchStatsRepository matchStatsRepository;
+    private final MatchStatsService matchStatsService;
+
+    public MatchScoreBackfill(MatchRepository matchRepository, MatchStatsRepository matchStatsRepository, MatchStatsService matchStatsService) {
+        this.matchRepository = matchRepository;
+        this.matchStatsRepository = matchStatsRepository;
+        this.matchStatsService = matchStatsService;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        int scored = matchRepository.backfillSetScores();
+        int decided = matchRepository.backfillWinnerSide();
+        if (scored > 0 || decided > 0) {
+            log.info("Backfilled set scores of {} matches and winners of {} matches", scored, decided);
+        }
+        List<Match> unscheduled = matchRepository.findAllWithoutMatchEnd();
+        unscheduled.forEach(Match::updateMatchEnd);
+        if (!unscheduled.isEmpty()) {
+            log.info("Backfilled end times of {} matches", unscheduled.size());
+        }
+        if (decided > 0 || (matchStatsRepository.count() == 0 && matchRepository.count() > 0)) {
+            log.info("Rebuilt match statistics from {} matches", matchStatsService.rebuildAll());
+        }
+    }
+}
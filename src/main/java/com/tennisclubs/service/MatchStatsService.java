@@ -0,0 +1,175 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.dao.MatchStatsRepository;
+import com.tennisclubs.dto.GetMatchStatsDTO;
+import com.tennisclubs.dto.MatchOutcome;
+import com.tennisclubs.entity.Match;
+import com.tennisclubs.entity.MatchStats;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the per-player and per-pair {@link MatchStats} rows. Callers pass the outcome
+ * of every match they add or remove, inside the transaction that writes the match; the rows
+ * are changed with relative updates so concurrent writers do not lose each other's matches.
+ */
+@Service
+public class MatchStatsService {
+    private final MatchStatsRepository matchStatsRepository;
+    private final MatchRepository matchRepository;
+    private final TransactionTemplate requiresNew;
+
+    public MatchStatsService(MatchStatsRepository matchStatsRepository, MatchRepository matchRepository, PlatformTransactionManager transactionManager) {
+        this.matchStatsRepository = matchStatsRepository;
+        this.matchRepository = matchRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(readOnly = true)
+    public GetMatchStatsDTO getPlayerStats(Long playerId) {
+        return toDTO(matchStatsRepository.findByPlayerId(playerId).orElseGet(() -> MatchStats.forPlayer(playerId)));
+    }
+
+    @Transactional(readOnly = true)
+    public GetMatchStatsDTO getPairStats(Long pairId) {
+        return toDTO(matchStatsRepository.findByPairId(pairId).orElseGet(() -> MatchStats.forPair(pairId)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void matchAdded(Match match) {
+        apply(List.of(), List.of(MatchOutcome.of(match)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void matchRemoved(Match match) {
+        apply(List.of(MatchOutcome.of(match)), List.of());
+    }
+
+    /**
+     * Replaces the outcome {@code before} of a changed match with its current one; rows are only
+     * written for what differs between the two.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void matchChanged(MatchOutcome before, Match match) {
+        apply(List.of(before), List.of(MatchOutcome.of(match)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void matchesAdded(List<MatchOutcome> outcomes) {
+        apply(List.of(), outcomes);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void matchesRemoved(List<MatchOutcome> outcomes) {
+        apply(outcomes, List.of());
+    }
+
+    /**
+     * Recomputes every statistics row from the matches table.
+     */
+    @Transactional
+    public int rebuildAll() {
+        matchStatsRepository.deleteAll();
+        matchStatsRepository.flush();
+        List<MatchOutcome> outcomes = matchRepository.findAllOutcomes();
+        // summed from zero, the rows are the totals and are inserted as they are
+        Map<Long, MatchStats> playerStats = new TreeMap<>();
+        Map<Long, MatchStats> pairStats = new TreeMap<>();
+        record(outcomes, 1, playerStats, pairStats);
+        matchStatsRepository.saveAll(playerStats.values());
+        matchStatsRepository.saveAll(pairStats.values());
+        return outcomes.size();
+    }
+
+    private void apply(List<MatchOutcome> removed, List<MatchOutcome> added) {
+        // the change of each player and pair is summed first; sorted ids lock their rows in one order
+        Map<Long, MatchStats> playerDeltas = new TreeMap<>();
+        Map<Long, MatchStats> pairDeltas = new TreeMap<>();
+        record(removed, -1, playerDeltas, pairDeltas);
+        record(added, 1, playerDeltas, pairDeltas);
+        playerDeltas.forEach((playerId, d) -> {
+            if (d.isUnchanged()) {
+                return;
+            }
+            if (matchStatsRepository.addToPlayer(playerId, d.getWins(), d.getLosses()) == 0) {
+                insertEmpty(() -> matchStatsRepository.saveAndFlush(MatchStats.forPlayer(playerId)));
+                matchStatsRepository.addToPlayer(playerId, d.getWins(), d.getLosses());
+            }
+            applyBreakdown(matchStatsRepository.findIdByPlayerId(playerId), d);
+        });
+        pairDeltas.forEach((pairId, d) -> {
+            if (d.isUnchanged()) {
+                return;
+            }
+            if (matchStatsRepository.addToPair(pairId, d.getWins(), d.getLosses()) == 0) {
+                insertEmpty(() -> matchStatsRepository.saveAndFlush(MatchStats.forPair(pairId)));
+                matchStatsRepository.addToPair(pairId, d.getWins(), d.getLosses());
+            }
+            applyBreakdown(matchStatsRepository.findIdByPairId(pairId), d);
+        });
+    }
+
+    private static void record(List<MatchOutcome> outcomes, int delta, Map<Long, MatchStats> playerDeltas, Map<Long, MatchStats> pairDeltas) {
+        for (MatchOutcome o : outcomes) {
+            if (o.player1Id() != null) {
+                playerDeltas.computeIfAbsent(o.player1Id(), MatchStats::forPlayer).record(Match.HOST, o.winnerSide(), o.surface(), o.stage(), delta);
+                playerDeltas.computeIfAbsent(o.player2Id(), MatchStats::forPlayer).record(Match.GUEST, o.winnerSide(), o.surface(), o.stage(), delta);
+            } else {
+                pairDeltas.computeIfAbsent(o.pair1Id(), MatchStats::forPair).record(Match.HOST, o.winnerSide(), o.surface(), o.stage(), delta);
+                pairDeltas.computeIfAbsent(o.pair2Id(), MatchStats::forPair).record(Match.GUEST, o.winnerSide(), o.surface(), o.stage(), delta);
+            }
+        }
+    }
+
+    /**
+     * Adds the per surface and per stage counts of a row whose wins and losses were just updated.
+     * That update locks the row until commit, so no other writer can insert or delete these
+     * counts meanwhile and a missing count can be inserted directly.
+     */
+    private void applyBreakdown(Long matchStatsId, MatchStats d) {
+        d.getMatchesPerSurface().forEach((surface, matches) -> {
+            if (matchStatsRepository.addToSurface(matchStatsId, surface.name(), matches) == 0) {
+                matchStatsRepository.insertSurface(matchStatsId, surface.name(), matches);
+            }
+        });
+        d.getMatchesPerStage().forEach((stage, matches) -> {
+            if (matchStatsRepository.addToStage(matchStatsId, stage.name(), matches) == 0) {
+                matchStatsRepository.insertStage(matchStatsId, stage.name(), matches);
+            }
+        });
+        // a player or pair left without matches loses the row, as a rebuild would not create it
+        if (d.hasRemovals()) {
+            matchStatsRepository.deleteEmptySurfaces(matchStatsId);
+            matchStatsRepository.deleteEmptyStages(matchStatsId);
+            matchStatsRepository.deleteIfEmpty(matchStatsId);
+        }
+    }
+
+    /**
+     * Inserts a zero row in its own transaction so that losing a race with another writer
+     * does not roll back the caller; the caller then updates the winner's row.
+     */
+    private void insertEmpty(Runnable insert) {
+        try {
+            requiresNew.executeWithoutResult(status -> insert.run());
+        } catch (DataIntegrityViolationException e) {
+            // another transaction created the row first
+        }
+    }
+
+    private static GetMatchStatsDTO toDTO(MatchStats stats) {
+        return new GetMatchStatsDTO(stats.getWins(), stats.getLosses(),
+                new TreeMap<>(stats.getMatchesPerSurface()), new TreeMap<>(stats.getMatchesPerStage()));
+    }
+}
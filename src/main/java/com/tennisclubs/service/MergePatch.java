@@ -0,0 +1,42 @@
+package com.tennisclubs.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Applies a JSON Merge Patch (RFC 7396) to one of the flat {@code Add*DTO} forms: each field of
+ * the patch replaces that field of the form, {@code null} clears it and absent fields are kept.
+ */
+@Component
+public class MergePatch {
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final ObjectMapper objectMapper;
+
+    public MergePatch(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> T apply(T form, JsonNode patch, Class<T> type) {
+        if (patch == null || !patch.isObject()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A merge patch must be a JSON object");
+        }
+        ObjectNode patched = objectMapper.valueToTree(form);
+        patch.fields().forEachRemaining(field -> {
+            if (!patched.has(field.getKey())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field " + field.getKey());
+            }
+            patched.set(field.getKey(), field.getValue());
+        });
+        try {
+            return objectMapper.treeToValue(patched, type);
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tennisclubs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of entities as newline-delimited JSON, one DTO per line. Every row is
+ * detached once written so the persistence context does not grow with the export.
+ */
+@Component
+public class NdjsonExporter {
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public NdjsonExporter(ObjectMapper objectMapper, EntityManager entityManager) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    public <E> void write(Stream<E> rows, Function<E, ?> toDTO, OutputStream out) throws IOException {
+        try (rows) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                E row = iterator.next();
+                out.write(objectMapper.writeValueAsBytes(toDTO.apply(row)));
+                out.write('\n');
+                entityManager.detach(row);
+            }
+        }
+        out.flush();
+    }
+
+    public void writeLine(Object dto, OutputStream out) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(dto));
+        out.write('\n');
+        out.flush();
+    }
+
+    public void detach(Collection<?> entities) {
+        entities.forEach(entityManager::detach);
+    }
+}
@@ -0,0 +1,57 @@
+package com.tennisclubs.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a change to a versioned entity in its own transaction. When another writer commits the
+ * same entity first, the change is run again from a fresh read, at most {@value #MAX_ATTEMPTS}
+ * times, so only changes that set the same values on every attempt, like a PUT, belong here;
+ * inserts qualify too, since a failed attempt is rolled back with everything it wrote.
+ * A caller that pinned the version it read gets 412 instead of a retry; the REST handlers
+ * require clients to pin one, so only {@code If-Match: *} and internal writes are retried.
+ */
+@Component
+public class OptimisticRetry {
+    private static final Logger log = LoggerFactory.getLogger(OptimisticRetry.class);
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T execute(Long expectedVersion, Supplier<T> change) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> change.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Changed by someone else after version " + expectedVersion);
+                }
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Changed by someone else on each of " + MAX_ATTEMPTS + " attempts");
+                }
+                log.debug("Retrying after concurrent change, attempt {}: {}", attempt, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rejects the change with 412 when the caller pinned a version other than the stored one.
+     */
+    public static void checkVersion(Long expectedVersion, Long version) {
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Current version is " + version);
+        }
+    }
+}
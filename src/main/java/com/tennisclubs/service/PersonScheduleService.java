@@ -0,0 +1,129 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.CoachRepository;
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.dao.PersonRepository;
+import com.tennisclubs.dao.TrainingRepository;
+import com.tennisclubs.dto.ScheduledSlotDTO;
+import com.tennisclubs.dto.TimeRange;
+import com.tennisclubs.dto.TimeSlotDTO;
+import com.tennisclubs.entity.Match;
+import com.tennisclubs.entity.Pair;
+import com.tennisclubs.entity.Person;
+import com.tennisclubs.entity.Player;
+import com.tennisclubs.entity.Training;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * When coaches and players are busy: the trainings they hold or attend and the matches they
+ * play, alone or in a pair. Each kind is read for all the persons at once with a range scan
+ * of a timestamp index, bounded by the longest a training or match may last. Writers lock the
+ * person rows before checking, so two trainings cannot claim the same person at once. Match
+ * writers lock their players too, so a training checked meanwhile waits for the match.
+ */
+@Service
+public class PersonScheduleService {
+    private static final int MAX_FREE_SLOT_DAYS = 31;
+
+    private final TrainingRepository trainingRepository;
+    private final MatchRepository matchRepository;
+    private final PersonRepository personRepository;
+    private final CoachRepository coachRepository;
+
+    public PersonScheduleService(TrainingRepository trainingRepository, MatchRepository matchRepository, PersonRepository personRepository, CoachRepository coachRepository) {
+        this.trainingRepository = trainingRepository;
+        this.matchRepository = matchRepository;
+        this.personRepository = personRepository;
+        this.coachRepository = coachRepository;
+    }
+
+    /**
+     * Free slots of the coach in {@code [from, to)}, by default the current day.
+     */
+    @Transactional(readOnly = true)
+    public List<TimeSlotDTO> getCoachFreeSlots(Long coachId, LocalDate from, LocalDate to) {
+        if (!coachRepository.existsByPersonId(coachId)) {
+            throw new NoSuchElementException();
+        }
+        TimeRange range = TimeRange.ofDays(from, to, MAX_FREE_SLOT_DAYS);
+        return range.freeSlots(findBusy(Set.of(coachId), range.getStart(), range.getEnd()));
+    }
+
+    /**
+     * Rejects the training with 409 when its coach or one of its players has another training
+     * or a match at the same time. Call before saving it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void checkTrainingFits(Training training) {
+        if (training.getTrainingTimestamp() == null) {
+            return;
+        }
+        Map<Long, Person> persons = new HashMap<>();
+        persons.put(training.getCoach().getPersonId(), training.getCoach());
+        training.getPlayers().forEach(player -> persons.put(player.getPersonId(), player));
+        personRepository.lockAllByPersonIdIn(persons.keySet());
+
+        String clashes = findBusy(persons.keySet(), training.getTrainingTimestamp(), training.getTrainingEnd()).stream()
+                .filter(slot -> !("training".equals(slot.getActivity()) && slot.getActivityId().equals(training.getTrainingId())))
+                .map(slot -> {
+                    Person person = persons.get(slot.getPersonId());
+                    return person.getName() + " " + person.getSurname() + " has a " + slot.getActivity() + " from "
+                            + slot.getStart() + " to " + slot.getEnd();
+                })
+                .distinct()
+                .collect(Collectors.joining("; "));
+        if (!clashes.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, clashes);
+        }
+    }
+
+    /**
+     * Locks the players of the scheduled matches, pair members included, until commit. Matches
+     * are not checked against trainings, since a tournament keeps its schedule; the lock makes
+     * {@link #checkTrainingFits} of a concurrent training wait for the match and then see it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockPlayers(List<Match> matches) {
+        Set<Long> personIds = new HashSet<>();
+        for (Match match : matches) {
+            if (match.getMatchTimestamp() == null) {
+                continue;
+            }
+            for (Player player : new Player[]{match.getPlayer1(), match.getPlayer2()}) {
+                if (player != null) {
+                    personIds.add(player.getPersonId());
+                }
+            }
+            for (Pair pair : new Pair[]{match.getPair1(), match.getPair2()}) {
+                if (pair != null) {
+                    personIds.add(pair.getPlayer1().getPersonId());
+                    personIds.add(pair.getPlayer2().getPersonId());
+                }
+            }
+        }
+        if (!personIds.isEmpty()) {
+            personRepository.lockAllByPersonIdIn(personIds);
+        }
+    }
+
+    /**
+     * Trainings and matches of the persons overlapping {@code [from, to)}, ordered by start.
+     */
+    private List<ScheduledSlotDTO> findBusy(Collection<Long> personIds, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime earliestTraining = from.minus(Training.MAX_DURATION);
+        List<ScheduledSlotDTO> busy = new ArrayList<>(trainingRepository.findCoachedInPeriod(personIds, earliestTraining, from, to));
+        busy.addAll(trainingRepository.findAttendedInPeriod(personIds, earliestTraining, from, to));
+        busy.addAll(matchRepository.findPlayedInPeriod(personIds, from.minus(Match.MAX_DURATION), from, to));
+        busy.sort(Comparator.comparing(ScheduledSlotDTO::getStart).thenComparing(ScheduledSlotDTO::getPersonId));
+        return busy;
+    }
+}
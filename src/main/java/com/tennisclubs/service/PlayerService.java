@@ -1,21 +1,32 @@
 package com.tennisclubs.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.tennisclubs.dao.*;
 import com.tennisclubs.dto.AddPlayerDTO;
 import com.tennisclubs.dto.GetMatchDTO;
+import com.tennisclubs.dto.GetMatchStatsDTO;
 import com.tennisclubs.dto.GetPlayerDTO;
+import com.tennisclubs.dto.MembershipDTO;
+import com.tennisclubs.dto.PageCursor;
 import com.tennisclubs.entity.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Set;
+import java.util.Objects;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class PlayerService {
@@ -24,36 +35,68 @@ public class PlayerService {
     private final RepresentsRepository representsRepository;
     private final MatchRepository matchRepository;
     private final ClubRepository clubRepository;
-
-    public PlayerService(PlayerRepository playerRepository, PlaceRepository placeRepository, RepresentsRepository representsRepository, MatchRepository matchRepository, ClubRepository clubRepository) {
+    private final CascadeDeleteService cascadeDeleteService;
+    private final NdjsonExporter ndjsonExporter;
+    private final MatchStatsService matchStatsService;
+    private final ReferenceDataCache referenceDataCache;
+    private final OptimisticRetry optimisticRetry;
+    private final MergePatch mergePatch;
+    private final EntityManager entityManager;
+
+    public PlayerService(PlayerRepository playerRepository, PlaceRepository placeRepository, RepresentsRepository representsRepository, MatchRepository matchRepository, ClubRepository clubRepository, CascadeDeleteService cascadeDeleteService, NdjsonExporter ndjsonExporter, MatchStatsService matchStatsService, ReferenceDataCache referenceDataCache, OptimisticRetry optimisticRetry, MergePatch mergePatch, EntityManager entityManager) {
         this.playerRepository = playerRepository;
         this.placeRepository = placeRepository;
         this.representsRepository = representsRepository;
         this.matchRepository = matchRepository;
         this.clubRepository = clubRepository;
+        this.cascadeDeleteService = cascadeDeleteService;
+        this.ndjsonExporter = ndjsonExporter;
+        this.matchStatsService = matchStatsService;
+        this.referenceDataCache = referenceDataCache;
+        this.optimisticRetry = optimisticRetry;
+        this.mergePatch = mergePatch;
+        this.entityManager = entityManager;
     }
 
+    @Transactional(readOnly = true)
     public List<GetPlayerDTO> getAllPlayers() {
-        return playerRepository.findAll().stream().
-                map(player -> new GetPlayerDTO(player.getPersonId(), player.getOib(), player.getName(), player.getSurname(),
-                        player.getDateOfBirth(), player.getSex(), player.getPlace().getZipCode(),
-                        player.getPlace().getName(), player.getHeight(), player.getWeight(),
-                        player.getPreferredHand(), player.getRank(), player.getInjury(),
-                        player.getClubsPlayedAt().stream().
-                                filter(r -> r.getToDate() == null).map(Represents::getClub).
-                                toList().getLast().getName(), player.getClubsPlayedAt().stream()
-                        .filter(r -> r.getToDate() != null).map(r -> r.getClub().getName() + ": " + r.getFromDate().getDayOfMonth() + "." + r.getFromDate().getMonthValue() +
-                        "." + r.getFromDate().getYear() + ". - " + r.getToDate().getDayOfMonth() + "." + r.getToDate().getMonthValue()
-                        + "." + r.getToDate().getYear() + ".").collect(Collectors.toSet()))).toList();
+        return playerRepository.findAllWithClubs().stream().map(this::toGetPlayerDTO).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<GetPlayerDTO>> getPlayersPage(int limit, String after) {
+        PageCursor cursor = PageCursor.decode(after);
+        Slice<Long> ids = playerRepository.findIdPageAfter(cursor.getKey(), cursor.getId(), PageCursor.limit(limit));
+        List<Player> players = ids.isEmpty() ? List.of() : playerRepository.findAllWithClubsByPersonIdIn(ids.getContent());
+        PageCursor next = ids.hasNext() ? new PageCursor(players.getLast().getSurname(), players.getLast().getPersonId()) : null;
+        return PageCursor.toResponse(players.stream().map(this::toGetPlayerDTO).toList(), next);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPlayers(OutputStream out) throws IOException {
+        ndjsonExporter.write(playerRepository.streamAllWithClubs(), player -> {
+            GetPlayerDTO dto = toGetPlayerDTO(player);
+            ndjsonExporter.detach(player.getClubsPlayedAt());
+            return dto;
+        }, out);
     }
 
+    private GetPlayerDTO toGetPlayerDTO(Player player) {
+        return new GetPlayerDTO(player.getPersonId(), player.getOib(), player.getName(), player.getSurname(),
+                player.getDateOfBirth(), player.getSex(), player.getPlace().getZipCode(),
+                player.getPlace().getName(), player.getHeight(), player.getWeight(),
+                player.getPreferredHand(), player.getRank(), player.getInjury(),
+                player.getClubsPlayedAt().stream().
+                        filter(r -> r.getToDate() == null).map(Represents::getClub).
+                        toList().getLast().getName(), player.getClubsPlayedAt().stream()
+                .filter(r -> r.getToDate() != null).map(r -> r.getClub().getName() + ": " + r.getFromDate().getDayOfMonth() + "." + r.getFromDate().getMonthValue() +
+                "." + r.getFromDate().getYear() + ". - " + r.getToDate().getDayOfMonth() + "." + r.getToDate().getMonthValue()
+                + "." + r.getToDate().getYear() + ".").collect(Collectors.toSet()), player.getVersion());
+    }
+
+    @Transactional
     public ResponseEntity<Object> addNewPlayer(AddPlayerDTO dto) {
-        Place place;
-        if (placeRepository.findByZipCode(dto.getZipCode()).isEmpty()) {
-            place = placeRepository.save(new Place(dto.getZipCode(), dto.getPlaceName()));
-        } else {
-            place = placeRepository.findByZipCode(dto.getZipCode()).orElseThrow();
-        }
+        Place place = placeRepository.getReferenceById(referenceDataCache.placeId(dto.getZipCode(), dto.getPlaceName()));
         Player newPlayer = new Player(dto.getOib(), dto.getName(), dto.getSurname(), dto.getDateOfBirth(),
                 dto.getSex(), place, dto.getHeight(), dto.getWeight(), dto.getPreferredHand(),
                 dto.getRank(), dto.getInjury());
@@ -64,86 +107,108 @@ public class PlayerService {
         return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/players/" + newPlayer.getPersonId()).body("Player added successfully!");
     }
 
+    @Transactional(readOnly = true)
     public GetPlayerDTO seePlayerInfo(Long playerId) {
-        Player player = playerRepository.findByPersonId(playerId).orElseThrow();
-        Club club = player.getClubsPlayedAt().stream().filter(r -> r.getToDate() == null).
-                map(Represents::getClub).toList().getLast();
-        Set<String> previousClubs = player.getClubsPlayedAt().stream().filter(r -> r.getToDate() != null)
-                .map(r -> r.getClub().getName() + ": " + r.getFromDate().getDayOfMonth() + "." + r.getFromDate().getMonthValue() +
-                        "." + r.getFromDate().getYear() + ". - " + r.getToDate().getDayOfMonth() + "." + r.getToDate().getMonthValue()
-                        + "." + r.getToDate().getYear() + ".").collect(Collectors.toSet());
-        return new GetPlayerDTO(player.getPersonId(), player.getOib(), player.getName(), player.getSurname(), player.getDateOfBirth(),
-                player.getSex(), player.getPlace().getZipCode(), player.getPlace().getName(), player.getHeight(),
-                player.getWeight(), player.getPreferredHand(), player.getRank(), player.getInjury(), club.getName(), previousClubs);
+        return toGetPlayerDTO(playerRepository.findByPersonId(playerId).orElseThrow());
     }
 
-    public ResponseEntity<Object> changePlayerInfo(Long playerId, AddPlayerDTO dto) {
-        if (!playerRepository.existsByPersonId(playerId)) {
-            throw new NoSuchElementException();
-        }
+    /**
+     * Replaces the player's details and, when the club differs, moves them to it from
+     * {@code dto.getFrom()}, by default today. Retried on a concurrent change unless
+     * {@code expectedVersion} pins one.
+     */
+    public ResponseEntity<Object> changePlayerInfo(Long playerId, AddPlayerDTO dto, Long expectedVersion) {
+        Player changedPlayer = optimisticRetry.execute(expectedVersion, () -> {
+            Player player = playerRepository.findByPersonId(playerId).orElseThrow();
+            OptimisticRetry.checkVersion(expectedVersion, player.getVersion());
+            applyPlayerInfo(player, dto);
+            return player;
+        });
+
+        return ResponseEntity.ok().eTag(String.valueOf(changedPlayer.getVersion())).body("Player info changed successfully!");
+    }
 
-        Place place;
-        if (placeRepository.findByZipCode(dto.getZipCode()).isEmpty()) {
-            place = placeRepository.save(new Place(dto.getZipCode(), dto.getPlaceName()));
-        } else {
-            place = placeRepository.findByZipCode(dto.getZipCode()).orElseThrow();
-        }
+    /**
+     * Changes only the fields present in the merge patch of the player's {@link AddPlayerDTO} form.
+     */
+    public ResponseEntity<Object> patchPlayerInfo(Long playerId, JsonNode patch, Long expectedVersion) {
+        Player changedPlayer = optimisticRetry.execute(expectedVersion, () -> {
+            Player player = playerRepository.findByPersonId(playerId).orElseThrow();
+            OptimisticRetry.checkVersion(expectedVersion, player.getVersion());
+            applyPlayerInfo(player, mergePatch.apply(toAddPlayerDTO(player), patch, AddPlayerDTO.class));
+            return player;
+        });
+
+        return ResponseEntity.ok().eTag(String.valueOf(changedPlayer.getVersion())).body("Player info changed successfully!");
+    }
 
-        Player player = playerRepository.findByPersonId(playerId).orElseThrow();
+    private AddPlayerDTO toAddPlayerDTO(Player player) {
+        Represents current = currentMembership(player);
+        return new AddPlayerDTO(player.getOib(), player.getName(), player.getSurname(), player.getDateOfBirth(),
+                player.getSex(), player.getPlace().getZipCode(), player.getPlace().getName(), player.getHeight(),
+                player.getWeight(), player.getPreferredHand(), player.getRank(), player.getInjury(),
+                current.getClub().getName(), null);
+    }
+
+    /**
+     * Sets the player's fields from the form; with dynamic updates only the changed columns are
+     * written. The memberships change only when the club or its start date does, and then the
+     * player's version is bumped too, once more if its own fields changed as well. Without a
+     * {@code from} the current membership keeps its start, and a move to another club starts today.
+     */
+    private void applyPlayerInfo(Player player, AddPlayerDTO dto) {
+        player.setHeight(dto.getHeight());
+        player.setInjury(dto.getInjury());
+        player.setRank(dto.getRank());
+        player.setWeight(dto.getWeight());
+        player.setName(dto.getName());
+        player.setSurname(dto.getSurname());
+        player.setPreferredHand(dto.getPreferredHand());
+        player.setDateOfBirth(dto.getDateOfBirth());
+        player.setSex(dto.getSex());
+        player.setOib(dto.getOib());
+        if (!Objects.equals(player.getPlace().getZipCode(), dto.getZipCode())) {
+            player.setPlace(placeRepository.getReferenceById(referenceDataCache.placeId(dto.getZipCode(), dto.getPlaceName())));
+        }
 
-        Player changedPlayer = playerRepository.findByPersonId(playerId).orElseThrow();
-        changedPlayer.setHeight(dto.getHeight());
-        changedPlayer.setInjury(dto.getInjury());
-        changedPlayer.setRank(dto.getRank());
-        changedPlayer.setWeight(dto.getWeight());
-        changedPlayer.setName(dto.getName());
-        changedPlayer.setPreferredHand(dto.getPreferredHand());
-        changedPlayer.setDateOfBirth(dto.getDateOfBirth());
-        changedPlayer.setSex(dto.getSex());
-        changedPlayer.setOib(dto.getOib());
-        changedPlayer.setPlace(place);
-        playerRepository.save(changedPlayer);
-
-        if (player.getClubsPlayedAt().stream().map(r -> r.getClub().getName()).collect(Collectors.toSet()).contains(dto.getClubName())) {
-            Represents r1 = player.getClubsPlayedAt().stream().filter(r -> r.getClub().getName().equals(dto.getClubName())).
-                    findFirst().orElseThrow();
-            representsRepository.delete(r1);
-            r1.setFromDate(dto.getFrom());
-            representsRepository.save(r1);
+        Represents current = currentMembership(player);
+        if (current.getClub().getName().equals(dto.getClubName())) {
+            if (dto.getFrom() == null || dto.getFrom().equals(current.getFromDate())) {
+                return;
+            }
+            current.setFromDate(dto.getFrom());
         } else {
-            Represents r1 = player.getClubsPlayedAt().stream().filter(r -> r.getToDate() == null).findFirst().orElseThrow();
-            representsRepository.delete(r1);
-            r1.setToDate(dto.getFrom());
-            Represents r2 = new Represents(changedPlayer, clubRepository.findByName(dto.getClubName())
-                    .orElseThrow(), dto.getFrom(), null);
-            representsRepository.saveAll(Set.of(r1, r2));
+            LocalDate from = dto.getFrom() != null ? dto.getFrom() : LocalDate.now();
+            if (current.getFromDate() != null && !from.isAfter(current.getFromDate())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be after " + current.getFromDate()
+                        + ", when the membership at " + current.getClub().getName() + " started");
+            }
+            current.setToDate(from);
+            representsRepository.save(new Represents(player, clubRepository.findByName(dto.getClubName())
+                    .orElseThrow(), from, null));
         }
+        entityManager.lock(player, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
 
-        return ResponseEntity.ok().body("Player info changed successfully!");
+    private static Represents currentMembership(Player player) {
+        return player.getClubsPlayedAt().stream().filter(r -> r.getToDate() == null).findFirst().orElseThrow();
     }
 
+    @Transactional
     public void deletePlayer(Long playerId) {
         Player player = playerRepository.findByPersonId(playerId).orElseThrow();
-        List<Represents> represents = representsRepository.findAll().stream()
-                .filter(r -> r.getPlayer().equals(player)).toList();
-        representsRepository.deleteAll(represents);
-        List<Match> matches = Stream.concat(matchRepository.findAll().stream().filter(p -> p.getPlayer1().equals(player)),
-                matchRepository.findAll().stream().filter(p -> p.getPlayer2().equals(player))).toList();
-        matchRepository.deleteAll(matches);
-        playerRepository.delete(player);
+        cascadeDeleteService.deletePlayer(player);
     }
 
+    @Transactional(readOnly = true)
     public List<GetMatchDTO> getPlayerMatches(Long playerId) {
-        return Stream.concat(
-                playerRepository.findByPersonId(playerId).orElseThrow().getSinglesMatchesPlayedAsHost().stream(),
-                playerRepository.findByPersonId(playerId).orElseThrow().getSinglesMatchesPlayedAsGuest().stream()
-        ).map(m -> {
-            String[] scores = m.getMatchResult().split("-");
-            int hostScore = Integer.parseInt(scores[0]);
-            int guestScore = Integer.parseInt(scores[1]);
+        if (!playerRepository.existsByPersonId(playerId)) {
+            throw new NoSuchElementException();
+        }
 
-            boolean isHost = m.getPlayer1().getPersonId().equals(playerId);
-            boolean playerWon = (isHost && hostScore > guestScore) || (!isHost && guestScore > hostScore);
+        return matchRepository.findSinglesByPlayerId(playerId).stream().map(m -> {
+            int side = m.getPlayer1().getPersonId().equals(playerId) ? Match.HOST : Match.GUEST;
+            boolean playerWon = Integer.valueOf(side).equals(m.getWinnerSide());
 
             return new GetMatchDTO(
                     m.getMatchId(),
@@ -158,9 +223,25 @@ public class PlayerService {
                     m.getTournament().getCategory().getType(),
                     m.getTournament().getCategory().getAgeLimit(),
                     m.getTournament().getCategory().getSexLimit(),
-                    playerWon ? 1 : 0
+                    playerWon ? 1 : 0,
+                    m.getVersion()
             );
         }).toList();
     }
 
+    @Transactional(readOnly = true)
+    public GetMatchStatsDTO getPlayerStats(Long playerId) {
+        if (!playerRepository.existsByPersonId(playerId)) {
+            throw new NoSuchElementException();
+        }
+        return matchStatsService.getPlayerStats(playerId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MembershipDTO> getPlayerClubs(Long playerId) {
+        if (!playerRepository.existsByPersonId(playerId)) {
+            throw new NoSuchElementException();
+        }
+        return representsRepository.findTimeline(playerId);
+    }
 }
@@ -0,0 +1,83 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.CategoryRepository;
+import com.tennisclubs.dao.EquipmentRepository;
+import com.tennisclubs.dao.PlaceRepository;
+import com.tennisclubs.entity.*;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Get-or-create lookups for the small reference tables (places, categories, equipment).
+ * Only ids are cached; callers turn them into references with {@code getReferenceById},
+ * which does not hit the database.
+ */
+@Component
+public class ReferenceDataCache {
+    public static final String PLACES = "places";
+    public static final String CATEGORIES = "categories";
+    public static final String EQUIPMENT = "equipment";
+
+    private final PlaceRepository placeRepository;
+    private final CategoryRepository categoryRepository;
+    private final EquipmentRepository equipmentRepository;
+    private final TransactionTemplate requiresNew;
+
+    public ReferenceDataCache(PlaceRepository placeRepository, CategoryRepository categoryRepository, EquipmentRepository equipmentRepository, PlatformTransactionManager transactionManager) {
+        this.placeRepository = placeRepository;
+        this.categoryRepository = categoryRepository;
+        this.equipmentRepository = equipmentRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Cacheable(cacheNames = PLACES, key = "#zipCode")
+    public Long placeId(Integer zipCode, String placeName) {
+        return placeRepository.findByZipCode(zipCode).map(Place::getId)
+                .orElseGet(() -> insert(() -> placeRepository.saveAndFlush(new Place(zipCode, placeName)).getId(),
+                        () -> placeRepository.findByZipCode(zipCode).orElseThrow().getId()));
+    }
+
+    @Cacheable(cacheNames = CATEGORIES, key = "{#type, #ageLimit, #sexLimit}")
+    public Long categoryId(CategoryTypeEnum type, String ageLimit, SexEnum sexLimit) {
+        return categoryRepository.findByTypeAndAgeLimitAndSexLimit(type, ageLimit, sexLimit)
+                .map(Category::getCategoryId)
+                .orElseGet(() -> insert(() -> categoryRepository.saveAndFlush(new Category(type, ageLimit, sexLimit)).getCategoryId(),
+                        () -> categoryRepository.findByTypeAndAgeLimitAndSexLimit(type, ageLimit, sexLimit).orElseThrow().getCategoryId()));
+    }
+
+    @Cacheable(cacheNames = EQUIPMENT, key = "#name")
+    public Long equipmentId(String name, Double price) {
+        return equipmentRepository.findByName(name).map(Equipment::getEquipmentId)
+                .orElseGet(() -> insert(() -> equipmentRepository.saveAndFlush(new Equipment(name, price)).getEquipmentId(),
+                        () -> equipmentRepository.findByName(name).orElseThrow().getEquipmentId()));
+    }
+
+    /**
+     * Inserts in its own transaction, so the cached id stays valid even when the caller's
+     * transaction rolls back, and losing a race on the unique column does not roll back the
+     * caller either; the winner's row is read back instead.
+     */
+    private Long insert(Supplier<Long> insert, Supplier<Long> readWinner) {
+        try {
+            return requiresNew.execute(status -> insert.get());
+        } catch (DataIntegrityViolationException e) {
+            return readWinner.get();
+        }
+    }
+
+    @CacheEvict(cacheNames = CATEGORIES, allEntries = true)
+    public void evictCategories() {
+    }
+
+    @CacheEvict(cacheNames = EQUIPMENT, key = "#name")
+    public void evictEquipment(String name) {
+    }
+}
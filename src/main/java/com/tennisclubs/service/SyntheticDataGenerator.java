@@ -0,0 +1,605 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.entity.CategoryTypeEnum;
+import com.tennisclubs.entity.HandEnum;
+import com.tennisclubs.entity.PaymentMethodEnum;
+import com.tennisclubs.entity.SexEnum;
+import com.tennisclubs.entity.StageEnum;
+import com.tennisclubs.entity.SurfaceEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Fills an empty schema with a seeded, repeatable data set for load and benchmark runs:
+ * clubs with courts, players and coaches with a history of club moves, pairs, tournaments
+ * played as full brackets, transactions, meetings and training sessions. Rows are written
+ * with batched JDBC inserts and explicit ids, so millions of rows take minutes rather than
+ * hours. Runs on startup with the {@code generate} profile; the scale comes from the
+ * {@code generator.*} properties.
+ */
+@Component
+@Profile("generate")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SyntheticDataGenerator implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+    private static final int MATCHES_PER_COURT_AND_DAY = 6;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2015, 1, 1);
+    private static final int DAYS = 10 * 365;
+    private static final Object[][] PLACES = {{10000, "Zagreb"}, {21000, "Split"}, {51000, "Rijeka"},
+            {31000, "Osijek"}, {23000, "Zadar"}, {52100, "Pula"}, {42000, "Varaždin"}, {20000, "Dubrovnik"},
+            {22000, "Šibenik"}, {47000, "Karlovac"}, {35000, "Slavonski Brod"}, {44000, "Sisak"}};
+    private static final String[] MALE_NAMES = {"Ivan", "Luka", "Marko", "Petar", "Josip", "Filip", "Karlo",
+            "Matej", "Ante", "Tomislav", "Nikola", "David", "Borna", "Marin", "Dino"};
+    private static final String[] FEMALE_NAMES = {"Ana", "Petra", "Iva", "Lucija", "Marija", "Ema", "Sara",
+            "Mia", "Lana", "Donna", "Tena", "Nika", "Lea", "Karla", "Mirjana"};
+    private static final String[] SURNAMES = {"Horvat", "Kovačević", "Babić", "Marić", "Jurić", "Novak",
+            "Knežević", "Vuković", "Pavlović", "Perić", "Božić", "Blažević", "Grgić", "Kovačić", "Ćorić",
+            "Čilić", "Šarić", "Radić", "Lučić", "Tomić"};
+    private static final String[] AGE_LIMITS = {"U12", "U14", "U16", "U18", "open"};
+    private static final String[] SPECIALIZATIONS = {"juniors", "fitness", "doubles", "serve and volley", "clay court"};
+    private static final String[] AGENDAS = {"Annual assembly", "Budget planning", "Tournament organisation",
+            "Court maintenance", "Membership fees", "Youth programme"};
+
+    private final JdbcTemplate jdbc;
+    private final MatchRepository matchRepository;
+    private final MatchStatsService matchStatsService;
+    private final ClubBalanceService clubBalanceService;
+    private final int clubs;
+    private final int players;
+    private final int coachesPerClub;
+    private final int matches;
+    private final int transactionsPerClub;
+    private final int meetingsPerClub;
+    private final int trainingsPerCoach;
+    private final Random random;
+
+    private final Map<String, Long> rowCounts = new LinkedHashMap<>();
+    private final List<Long> placeIds = new ArrayList<>();
+    private final Map<CategoryTypeEnum, List<Long>> categoryIds = new EnumMap<>(CategoryTypeEnum.class);
+    private final List<Long> clubIds = new ArrayList<>();
+    private final Map<Long, List<Long>> courtIdsByClub = new HashMap<>();
+    private final Map<Long, List<Long>> playerIdsByClub = new HashMap<>();
+    private final List<Long> playerIds = new ArrayList<>();
+    private final List<Long> pairIds = new ArrayList<>();
+    private final Map<Long, Long> clubIdByCoach = new LinkedHashMap<>();
+
+    private long nextPersonId = 1;
+    private long nextClubId = 1;
+    private long nextCourtId = 1;
+    private long nextPairId = 1;
+    private long nextTournamentId = 1;
+    private long nextMatchId = 1;
+    private long nextTransactionId = 1;
+    private long nextMeetingId = 1;
+    private long nextTrainingId = 1;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbc, MatchRepository matchRepository, MatchStatsService matchStatsService,
+                                  ClubBalanceService clubBalanceService,
+                                  @Value("${generator.seed:42}") long seed,
+                                  @Value("${generator.clubs:100}") int clubs,
+                                  @Value("${generator.players:10000}") int players,
+                                  @Value("${generator.coaches-per-club:3}") int coachesPerClub,
+                                  @Value("${generator.matches:100000}") int matches,
+                                  @Value("${generator.transactions-per-club:1000}") int transactionsPerClub,
+                                  @Value("${generator.meetings-per-club:50}") int meetingsPerClub,
+                                  @Value("${generator.trainings-per-coach:100}") int trainingsPerCoach) {
+        this.jdbc = jdbc;
+        this.matchRepository = matchRepository;
+        this.matchStatsService = matchStatsService;
+        this.clubBalanceService = clubBalanceService;
+        this.clubs = clubs;
+        this.players = players;
+        this.coachesPerClub = coachesPerClub;
+        this.matches = matches;
+        this.transactionsPerClub = transactionsPerClub;
+        this.meetingsPerClub = meetingsPerClub;
+        this.trainingsPerCoach = trainingsPerCoach;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        Map<String, Long> rows = generate();
+        log.info("Generated {} in {} s", rows, (System.nanoTime() - start) / 1_000_000_000);
+        log.info("Built match statistics from {} matches", matchStatsService.rebuildAll());
+        log.info("Built balances of {} clubs", clubBalanceService.rebuildAll());
+    }
+
+    /**
+     * Writes the whole data set and returns the number of rows written per table. The
+     * match statistics and club balances are left to the caller, see {@link MatchStatsService#rebuildAll()}
+     * and {@link ClubBalanceService#rebuildAll()}.
+     */
+    public Map<String, Long> generate() {
+        if (jdbc.queryForObject("select count(*) from club", Long.class) > 0) {
+            throw new IllegalStateException("The data generator expects an empty schema");
+        }
+        insertPlaces();
+        insertCategories();
+        List<Long> newClubIds = insertClubs(clubs);
+        insertPlayers();
+        insertCoaches();
+        insertPairs();
+        insertTournaments(newClubIds, matches);
+        insertTransactions(newClubIds);
+        insertMeetings(newClubIds);
+        insertTrainings();
+        restartIdGenerators();
+        return new LinkedHashMap<>(rowCounts);
+    }
+
+    /**
+     * Adds one more club with its courts, transactions and meetings, and tournaments between
+     * the existing players and pairs with at least {@code matchCount} matches. Keeps the match
+     * statistics and club balances up to date and returns the id of the new club.
+     */
+    @Transactional
+    public long generateClub(int matchCount) {
+        List<Long> newClubIds = insertClubs(1);
+        insertTournaments(newClubIds, matchCount);
+        insertTransactions(newClubIds);
+        insertMeetings(newClubIds);
+        restartIdGenerators();
+        long clubId = newClubIds.getFirst();
+        matchStatsService.matchesAdded(matchRepository.findOutcomesByClubId(clubId));
+        clubBalanceService.rebuild(clubId);
+        return clubId;
+    }
+
+    private void insertPlaces() {
+        try (Batch places = new Batch("place", "id", "zip_code", "name")) {
+            for (int i = 0; i < PLACES.length; i++) {
+                placeIds.add(i + 1L);
+                places.add(i + 1L, PLACES[i][0], PLACES[i][1]);
+            }
+        }
+    }
+
+    private void insertCategories() {
+        long categoryId = 1;
+        try (Batch categories = new Batch("category", "category_id", "type", "age_limit", "sex_limit")) {
+            for (CategoryTypeEnum type : CategoryTypeEnum.values()) {
+                for (String ageLimit : AGE_LIMITS) {
+                    for (SexEnum sex : SexEnum.values()) {
+                        categoryIds.computeIfAbsent(type, t -> new ArrayList<>()).add(categoryId);
+                        categories.add(categoryId++, type.name(), ageLimit, sex.ordinal());
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Long> insertClubs(int count) {
+        List<Long> newClubIds = new ArrayList<>();
+        try (Batch clubRows = new Batch("club", "club_id", "name", "foundation_year", "email", "budget", "zip_code",
+                "phone_number", "web_address");
+             Batch courts = new Batch("court", "court_id", "club_id", "name", "surface").after(clubRows)) {
+            for (int i = 0; i < count; i++) {
+                long clubId = nextClubId++;
+                long placeId = pick(placeIds);
+                String city = (String) PLACES[(int) placeId - 1][1];
+                clubRows.add(clubId, "TK " + city + " " + clubId, 1880 + random.nextInt(140), "info@tk" + clubId + ".hr",
+                        10_000.0 * (1 + random.nextInt(100)), placeId, "+385 1 " + (1_000_000 + random.nextInt(9_000_000)),
+                        "https://tk" + clubId + ".hr");
+                List<Long> clubCourts = new ArrayList<>();
+                SurfaceEnum surface = SurfaceEnum.values()[random.nextInt(SurfaceEnum.values().length)];
+                for (int c = 1, n = 2 + random.nextInt(7); c <= n; c++) {
+                    long courtId = nextCourtId++;
+                    clubCourts.add(courtId);
+                    if (random.nextInt(4) == 0) {
+                        surface = SurfaceEnum.values()[random.nextInt(SurfaceEnum.values().length)];
+                    }
+                    courts.add(courtId, clubId, "Court " + c, surface.name());
+                }
+                courtIdsByClub.put(clubId, clubCourts);
+                playerIdsByClub.put(clubId, new ArrayList<>());
+                newClubIds.add(clubId);
+            }
+        }
+        clubIds.addAll(newClubIds);
+        return newClubIds;
+    }
+
+    private void insertPlayers() {
+        try (Batch people = personBatch();
+             Batch playerRows = new Batch("player", "player_id", "rank", "height", "weight", "preferred_hand", "injury").after(people);
+             Batch represents = new Batch("represents", "player_id", "club_id", "from_date", "to_date").after(playerRows)) {
+            for (int rank = 1; rank <= players; rank++) {
+                long playerId = nextPersonId++;
+                addPerson(people, playerId, 1965, 45);
+                playerRows.add(playerId, rank, 150.0 + random.nextInt(55), 45.0 + random.nextInt(50),
+                        (random.nextInt(8) == 0 ? HandEnum.LEFT : HandEnum.RIGHT).ordinal(),
+                        random.nextInt(20) == 0 ? "Shoulder strain" : null);
+                long clubId = addHistory(represents, playerId);
+                playerIds.add(playerId);
+                playerIdsByClub.get(clubId).add(playerId);
+            }
+        }
+    }
+
+    private void insertCoaches() {
+        try (Batch people = personBatch();
+             Batch coaches = new Batch("coach", "coach_id", "years_of_experience", "specialization").after(people);
+             Batch holds = new Batch("holds_training_sessions", "coach_id", "club_id", "from_date", "to_date").after(coaches)) {
+            for (int i = 0; i < clubIds.size() * coachesPerClub; i++) {
+                long coachId = nextPersonId++;
+                addPerson(people, coachId, 1955, 40);
+                coaches.add(coachId, random.nextInt(35), pick(SPECIALIZATIONS));
+                clubIdByCoach.put(coachId, addHistory(holds, coachId));
+            }
+        }
+    }
+
+    private Batch personBatch() {
+        return new Batch("person", "person_id", "oib", "name", "surname", "date_of_birth", "sex", "zip_code");
+    }
+
+    private void addPerson(Batch people, long personId, int firstBirthYear, int birthYears) {
+        SexEnum sex = random.nextBoolean() ? SexEnum.MALE : SexEnum.FEMALE;
+        people.add(personId, String.valueOf(10_000_000_000L + personId), pick(sex == SexEnum.MALE ? MALE_NAMES : FEMALE_NAMES),
+                pick(SURNAMES), Date.valueOf(LocalDate.of(firstBirthYear + random.nextInt(birthYears), 1, 1)
+                        .plusDays(random.nextInt(365))), sex.name(), pick(placeIds));
+    }
+
+    /**
+     * Writes one to three consecutive memberships at distinct clubs, the last one still open,
+     * and returns the current club.
+     */
+    private long addHistory(Batch memberships, long personId) {
+        List<Long> history = new ArrayList<>();
+        for (int i = 0, n = Math.min(clubIds.size(), 1 + random.nextInt(3)); i < n; i++) {
+            long clubId = pick(clubIds);
+            while (history.contains(clubId)) {
+                clubId = pick(clubIds);
+            }
+            history.add(clubId);
+        }
+        LocalDate from = FIRST_DAY.minusYears(5).plusDays(random.nextInt(3 * 365));
+        for (int i = 0; i < history.size(); i++) {
+            LocalDate to = i == history.size() - 1 ? null : from.plusDays(180 + random.nextInt(3 * 365));
+            memberships.add(personId, history.get(i), Date.valueOf(from), to == null ? null : Date.valueOf(to));
+            from = to == null ? null : to.plusDays(1);
+        }
+        return history.getLast();
+    }
+
+    private void insertPairs() {
+        List<Long> shuffled = new ArrayList<>(playerIds);
+        Collections.shuffle(shuffled, random);
+        try (Batch pairs = new Batch("pair", "pair_id", "player1_id", "player2_id", "rank", "date_of_termination")) {
+            for (int i = 0; i + 1 < shuffled.size() && i / 2 < players / 10; i += 2) {
+                long pairId = nextPairId++;
+                boolean terminated = random.nextInt(10) == 0;
+                pairs.add(pairId, shuffled.get(i), shuffled.get(i + 1), i / 2 + 1,
+                        terminated ? Date.valueOf(FIRST_DAY.plusDays(random.nextInt(DAYS))) : null);
+                if (!terminated) {
+                    pairIds.add(pairId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays tournaments at the given clubs in turn until at least {@code matchCount} matches
+     * are written. Every tournament is a full knockout bracket, a quarter of the bigger ones
+     * with a round-robin group stage in front of it, and the winners move on to the next round.
+     */
+    private void insertTournaments(List<Long> hostClubIds, int matchCount) {
+        long written = 0;
+        try (Batch tournaments = new Batch("tournament", "tournament_id", "name", "club_id", "category_id");
+             Batch matchRows = new Batch("tennis_match", "match_id", "match_timestamp", "match_end", "match_result", "host_sets",
+                     "guest_sets", "winner_side", "duration", "stage", "player1_id", "player2_id", "pair1_id", "pair2_id",
+                     "court_id", "tournament_id").after(tournaments)) {
+            for (int t = 0; written < matchCount; t++) {
+                CategoryTypeEnum type = !pairIds.isEmpty() && random.nextInt(4) == 0 ? CategoryTypeEnum.DOUBLES : CategoryTypeEnum.SINGLES;
+                List<Long> pool = type == CategoryTypeEnum.SINGLES ? playerIds : pairIds;
+                if (pool.size() < 2) {
+                    break;
+                }
+                long clubId = hostClubIds.get(t % hostClubIds.size());
+                long tournamentId = nextTournamentId++;
+                LocalDate firstDay = FIRST_DAY.plusDays(random.nextInt(DAYS));
+                tournaments.add(tournamentId, (String) PLACES[random.nextInt(PLACES.length)][1] + " Open " +
+                        firstDay.getYear() + " #" + tournamentId, clubId, pick(categoryIds.get(type)));
+                Bracket bracket = new Bracket(matchRows, tournamentId, type, courtIdsByClub.get(clubId), firstDay);
+                int drawSize = Math.min(Integer.highestOneBit(pool.size()), 8 << random.nextInt(3));
+                List<Long> entrants = sample(pool, drawSize);
+                if (drawSize == 32 && random.nextInt(4) == 0) {
+                    entrants = bracket.playGroups(entrants);
+                }
+                bracket.playKnockout(entrants);
+                written += bracket.played;
+            }
+        }
+    }
+
+    private class Bracket {
+        private final Batch matchRows;
+        private final long tournamentId;
+        private final boolean singles;
+        private final List<Long> courtIds;
+        private LocalDate day;
+        private int played;
+
+        Bracket(Batch matchRows, long tournamentId, CategoryTypeEnum type, List<Long> courtIds, LocalDate firstDay) {
+            this.matchRows = matchRows;
+            this.tournamentId = tournamentId;
+            this.singles = type == CategoryTypeEnum.SINGLES;
+            this.courtIds = courtIds;
+            this.day = firstDay;
+        }
+
+        /** Plays groups of four round robin over three days and returns the group winners. */
+        List<Long> playGroups(List<Long> entrants) {
+            int[][] rounds = {{0, 1, 2, 3}, {0, 2, 1, 3}, {0, 3, 1, 2}};
+            List<Long> winners = new ArrayList<>();
+            int[][] wins = new int[entrants.size() / 4][4];
+            for (int[] round : rounds) {
+                List<long[]> games = new ArrayList<>();
+                for (int g = 0; g < wins.length; g++) {
+                    for (int i = 0; i < 4; i += 2) {
+                        games.add(new long[]{g, round[i], round[i + 1]});
+                    }
+                }
+                int slot = 0;
+                for (long[] game : games) {
+                    int group = (int) game[0];
+                    int host = (int) game[1];
+                    int guest = (int) game[2];
+                    boolean hostWon = play(entrants.get(group * 4 + host), entrants.get(group * 4 + guest), StageEnum.GROUP, slot++, 2);
+                    wins[group][hostWon ? host : guest]++;
+                }
+                nextDay(slot);
+            }
+            for (int g = 0; g < wins.length; g++) {
+                int best = 0;
+                for (int i = 1; i < 4; i++) {
+                    if (wins[g][i] > wins[g][best]) {
+                        best = i;
+                    }
+                }
+                winners.add(entrants.get(g * 4 + best));
+            }
+            return winners;
+        }
+
+        void playKnockout(List<Long> entrants) {
+            while (entrants.size() > 1) {
+                StageEnum stage = switch (entrants.size()) {
+                    case 32 -> StageEnum.ROUND_OF_32;
+                    case 16 -> StageEnum.ROUND_OF_16;
+                    case 8 -> StageEnum.QUARTER_FINAL;
+                    case 4 -> StageEnum.SEMI_FINAL;
+                    case 2 -> StageEnum.FINAL;
+                    default -> StageEnum.OTHER;
+                };
+                int setsToWin = stage == StageEnum.FINAL && singles ? 3 : 2;
+                List<Long> winners = new ArrayList<>();
+                int slot = 0;
+                for (int i = 0; i + 1 < entrants.size(); i += 2) {
+                    boolean hostWon = play(entrants.get(i), entrants.get(i + 1), stage, slot++, setsToWin);
+                    winners.add(entrants.get(hostWon ? i : i + 1));
+                }
+                nextDay(slot);
+                entrants = winners;
+            }
+        }
+
+        private boolean play(long host, long guest, StageEnum stage, int slot, int setsToWin) {
+            int courtsPerDay = courtIds.size() * MATCHES_PER_COURT_AND_DAY;
+            LocalDateTime timestamp = day.plusDays(slot / courtsPerDay)
+                    .atTime(9 + 2 * (slot % courtsPerDay / courtIds.size()), 0);
+            boolean hostWon = random.nextBoolean();
+            int loserSets = random.nextInt(setsToWin);
+            int hostSets = hostWon ? setsToWin : loserSets;
+            int guestSets = hostWon ? loserSets : setsToWin;
+            int minutes = 50 + 35 * (hostSets + guestSets) + random.nextInt(30);
+            matchRows.add(nextMatchId++, Timestamp.valueOf(timestamp), Timestamp.valueOf(timestamp.plusMinutes(minutes)), hostSets + "-" + guestSets, hostSets, guestSets,
+                    hostWon ? 1 : 2, String.format("%dh %02dmin", minutes / 60, minutes % 60), stage.name(),
+                    singles ? host : null, singles ? guest : null, singles ? null : host, singles ? null : guest,
+                    courtIds.get(slot % courtIds.size()), tournamentId);
+            played++;
+            return hostWon;
+        }
+
+        private void nextDay(int slots) {
+            day = day.plusDays(1 + (slots - 1) / (courtIds.size() * MATCHES_PER_COURT_AND_DAY));
+        }
+    }
+
+    private void insertTransactions(List<Long> ownerClubIds) {
+        try (Batch transactions = new Batch("transaction", "transaction_id", "club_id", "person_id",
+                "transaction_timestamp", "price", "payment_method", "description")) {
+            for (long clubId : ownerClubIds) {
+                List<Long> members = playerIdsByClub.get(clubId);
+                for (int i = 0; i < transactionsPerClub; i++) {
+                    int kind = random.nextInt(10);
+                    double price = switch (kind) {
+                        case 0, 1, 2, 3 -> 30 + random.nextInt(12) * 10;
+                        case 4, 5, 6 -> 10 + random.nextInt(5) * 5;
+                        case 7, 8 -> -(20 + random.nextInt(980));
+                        default -> 20 + random.nextInt(4) * 10;
+                    };
+                    String description = switch (kind) {
+                        case 0, 1, 2, 3 -> "Membership fee";
+                        case 4, 5, 6 -> "Court rental";
+                        case 7, 8 -> "Equipment purchase";
+                        default -> "Tournament entry fee";
+                    };
+                    transactions.add(nextTransactionId++, clubId, members.isEmpty() || kind == 7 || kind == 8 ? null : pick(members),
+                            Timestamp.valueOf(randomTime()), price,
+                            (random.nextInt(3) == 0 ? PaymentMethodEnum.CASH : PaymentMethodEnum.CREDIT_CARD).ordinal(), description);
+                }
+            }
+        }
+    }
+
+    private void insertMeetings(List<Long> ownerClubIds) {
+        try (Batch meetings = new Batch("meeting", "meeting_id", "club_id", "meeting_timestamp", "agenda", "notes");
+             Batch attends = new Batch("attends", "meeting_id", "person_id").after(meetings)) {
+            for (long clubId : ownerClubIds) {
+                List<Long> members = playerIdsByClub.get(clubId);
+                for (int i = 0; i < meetingsPerClub; i++) {
+                    long meetingId = nextMeetingId++;
+                    meetings.add(meetingId, clubId, Timestamp.valueOf(randomTime()), pick(AGENDAS),
+                            random.nextBoolean() ? "Minutes attached" : null);
+                    for (long personId : sample(members, Math.min(members.size(), 3 + random.nextInt(8)))) {
+                        attends.add(meetingId, personId);
+                    }
+                }
+            }
+        }
+    }
+
+    private void insertTrainings() {
+        try (Batch trainings = new Batch("training", "training_id", "coach_id", "training_timestamp", "training_end", "duration",
+                "description", "notes");
+             Batch trains = new Batch("trains", "player_id", "training_id").after(trainings)) {
+            for (Map.Entry<Long, Long> coach : clubIdByCoach.entrySet()) {
+                List<Long> members = playerIdsByClub.get(coach.getValue());
+                for (int i = 0; i < trainingsPerCoach; i++) {
+                    long trainingId = nextTrainingId++;
+                    LocalDateTime timestamp = randomTime();
+                    int hours = 1 + random.nextInt(2);
+                    trainings.add(trainingId, coach.getKey(), Timestamp.valueOf(timestamp), Timestamp.valueOf(timestamp.plusHours(hours)),
+                            hours + "h", pick(SPECIALIZATIONS), null);
+                    for (long playerId : sample(members, Math.min(members.size(), 1 + random.nextInt(6)))) {
+                        trains.add(playerId, trainingId);
+                    }
+                }
+            }
+        }
+    }
+
+    private LocalDateTime randomTime() {
+        return FIRST_DAY.plusDays(random.nextInt(DAYS)).atTime(8 + random.nextInt(13), 15 * random.nextInt(4));
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /** Distinct values drawn at random, without copying the pool when it is much larger than the sample. */
+    private List<Long> sample(List<Long> values, int count) {
+        if (count * 4 < values.size()) {
+            Set<Long> picked = new LinkedHashSet<>();
+            while (picked.size() < count) {
+                picked.add(pick(values));
+            }
+            return new ArrayList<>(picked);
+        }
+        List<Long> copy = new ArrayList<>(values);
+        for (int i = 0; i < count; i++) {
+            Collections.swap(copy, i, i + random.nextInt(copy.size() - i));
+        }
+        return new ArrayList<>(copy.subList(0, count));
+    }
+
+    private void restartIdGenerators() {
+        restart("place", "id", placeIds.size() + 1);
+        restart("category", "category_id", categoryIds.values().stream().mapToInt(List::size).sum() + 1);
+        restart("person", "person_id", nextPersonId);
+        restart("club", "club_id", nextClubId);
+        restart("court", "court_id", nextCourtId);
+        restart("pair", "pair_id", nextPairId);
+        restart("tournament", "tournament_id", nextTournamentId);
+        restartSequence("match_seq", nextMatchId);
+        restartSequence("transaction_seq", nextTransactionId);
+        restartSequence("meeting_seq", nextMeetingId);
+        restartSequence("training_seq", nextTrainingId);
+    }
+
+    private void restart(String table, String column, long next) {
+        jdbc.execute("alter table " + table + " alter column " + column + " restart with " + next);
+    }
+
+    /**
+     * The pooled generators hand out the ids just below each value read from the sequence,
+     * so the sequence is moved one allocation past the next free id.
+     */
+    private void restartSequence(String sequence, long next) {
+        jdbc.execute("alter sequence " + sequence + " restart with " + (next + SEQUENCE_ALLOCATION_SIZE));
+    }
+
+    /**
+     * Collects rows for one insert statement and sends them to the database every
+     * {@value #BATCH_SIZE} rows, after the pending rows of the batch they reference.
+     */
+    private class Batch implements AutoCloseable {
+        private final String table;
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        private Batch parent;
+
+        Batch(String table, String... columns) {
+            this.table = table;
+            StringJoiner values = new StringJoiner(", ", " values (", ")");
+            for (int i = 0; i < columns.length; i++) {
+                values.add("?");
+            }
+            this.sql = "insert into " + table + " (" + String.join(", ", columns) + ")" + values;
+        }
+
+        Batch after(Batch parent) {
+            this.parent = parent;
+            return this;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (!rows.isEmpty()) {
+                jdbc.batchUpdate(sql, rows);
+                rowCounts.merge(table, (long) rows.size(), Long::sum);
+                rows.clear();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
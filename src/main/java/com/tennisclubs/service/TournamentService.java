@@ -3,17 +3,38 @@ package com.tennisclubs.service;
 import com.tennisclubs.dao.*;
 import com.tennisclubs.dto.AddMatchDTO;
 import com.tennisclubs.dto.AddTournamentDTO;
+import com.tennisclubs.dto.BulkImportResultDTO;
 import com.tennisclubs.dto.GetMatchDTO;
 import com.tennisclubs.dto.GetTournamentDTO;
+import com.tennisclubs.dto.MatchOutcome;
+import com.tennisclubs.dto.PageCursor;
+import com.tennisclubs.dto.TimeRange;
 import com.tennisclubs.entity.*;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
 
 @Service
 public class TournamentService {
+    private static final int MAX_IMPORTED_MATCHES = 10_000;
+    private static final String PAIR_ID_PATTERN = "\\d{1,18}";
+    private static final String MATCH_RESULT_MESSAGE = "Match result must be <host sets>-<guest sets> with a winner";
+
     private final TournamentRepository tournamentRepository;
     private final ClubRepository clubRepository;
     private final CategoryRepository categoryRepository;
@@ -21,8 +42,15 @@ public class TournamentService {
     private final PlayerRepository playerRepository;
     private final PairRepository pairRepository;
     private final CourtRepository courtRepository;
+    private final CascadeDeleteService cascadeDeleteService;
+    private final NdjsonExporter ndjsonExporter;
+    private final MatchStatsService matchStatsService;
+    private final ReferenceDataCache referenceDataCache;
+    private final CourtBookingService courtBookingService;
+    private final PersonScheduleService personScheduleService;
+    private final OptimisticRetry optimisticRetry;
 
-    public TournamentService(TournamentRepository tournamentRepository, ClubRepository clubRepository, CategoryRepository categoryRepository, MatchRepository matchRepository, PlayerRepository playerRepository, PairRepository pairRepository, CourtRepository courtRepository) {
+    public TournamentService(TournamentRepository tournamentRepository, ClubRepository clubRepository, CategoryRepository categoryRepository, MatchRepository matchRepository, PlayerRepository playerRepository, PairRepository pairRepository, CourtRepository courtRepository, CascadeDeleteService cascadeDeleteService, NdjsonExporter ndjsonExporter, MatchStatsService matchStatsService, ReferenceDataCache referenceDataCache, CourtBookingService courtBookingService, PersonScheduleService personScheduleService, OptimisticRetry optimisticRetry) {
         this.tournamentRepository = tournamentRepository;
         this.clubRepository = clubRepository;
         this.categoryRepository = categoryRepository;
@@ -30,99 +58,165 @@ public class TournamentService {
         this.playerRepository = playerRepository;
         this.pairRepository = pairRepository;
         this.courtRepository = courtRepository;
+        this.cascadeDeleteService = cascadeDeleteService;
+        this.ndjsonExporter = ndjsonExporter;
+        this.matchStatsService = matchStatsService;
+        this.referenceDataCache = referenceDataCache;
+        this.courtBookingService = courtBookingService;
+        this.personScheduleService = personScheduleService;
+        this.optimisticRetry = optimisticRetry;
     }
 
+    @Transactional(readOnly = true)
     public List<GetTournamentDTO> getAllTournaments() {
-        return tournamentRepository.findAll().stream().
-                map(tournament -> new GetTournamentDTO(tournament.getTournamentId(), tournament.getName(),
-                        tournament.getClub().getName(), tournament.getCategory().getType(), tournament.getCategory().getAgeLimit(),
-                        tournament.getCategory().getSexLimit())).toList();
+        return tournamentRepository.findAllWithClubAndCategory().stream().map(this::toGetTournamentDTO).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<GetTournamentDTO>> getTournamentsPage(int limit, String after) {
+        PageCursor cursor = PageCursor.decode(after);
+        Slice<Tournament> tournaments = tournamentRepository.findPageAfter(cursor.getKey(), cursor.getId(), PageCursor.limit(limit));
+        PageCursor next = tournaments.hasNext() ? new PageCursor(tournaments.getContent().getLast().getName(),
+                tournaments.getContent().getLast().getTournamentId()) : null;
+        return PageCursor.toResponse(tournaments.map(this::toGetTournamentDTO).getContent(), next);
+    }
+
+    private GetTournamentDTO toGetTournamentDTO(Tournament tournament) {
+        return new GetTournamentDTO(tournament.getTournamentId(), tournament.getName(),
+                tournament.getClub().getName(), tournament.getCategory().getType(), tournament.getCategory().getAgeLimit(),
+                tournament.getCategory().getSexLimit(), tournament.getVersion());
     }
 
+    @Transactional
     public ResponseEntity<Object> addNewTournament(AddTournamentDTO dto) {
-        Category category;
-        List<Category> categories = new ArrayList<>(categoryRepository.findAll().stream().
-                filter(cat -> cat.getType().equals(dto.getType()) &&
-                        cat.getAgeLimit().equals(dto.getAgeLimit()) &&
-                        cat.getSexLimit().equals(dto.getSexLimit())).toList());
-        if (categories.isEmpty()) {
-            category = new Category(dto.getType(), dto.getAgeLimit(), dto.getSexLimit());
-            categoryRepository.save(category);
-        } else {
-            category = categories.getFirst();
-        }
+        Category category = categoryRepository.getReferenceById(
+                referenceDataCache.categoryId(dto.getType(), dto.getAgeLimit(), dto.getSexLimit()));
         Tournament newTournament = new Tournament(dto.getName(), clubRepository.findByName(dto.getClubName()).orElseThrow(),
                 category);
         tournamentRepository.save(newTournament);
         return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/tournaments/" + newTournament.getTournamentId()).body("Tournament added successfully!");
     }
 
+    @Transactional(readOnly = true)
     public GetTournamentDTO seeTournamentInfo(Long tournamentId) {
-        Tournament tournament = tournamentRepository.findByTournamentId(tournamentId).orElseThrow();
-        return new GetTournamentDTO(tournament.getTournamentId(), tournament.getName(), tournament.getClub().getName(),
-                tournament.getCategory().getType(), tournament.getCategory().getAgeLimit(),
-                tournament.getCategory().getSexLimit());
+        return toGetTournamentDTO(tournamentRepository.findByTournamentId(tournamentId).orElseThrow());
     }
 
-    public ResponseEntity<Object> changeTournamentInfo(Long tournamentId, AddTournamentDTO dto) {
-        if (!tournamentRepository.existsByTournamentId(tournamentId)) {
-            throw new NoSuchElementException();
-        }
+    public ResponseEntity<Object> changeTournamentInfo(Long tournamentId, AddTournamentDTO dto, Long expectedVersion) {
+        Long categoryId = referenceDataCache.categoryId(dto.getType(), dto.getAgeLimit(), dto.getSexLimit());
+        Tournament changedTournament = optimisticRetry.execute(expectedVersion, () -> {
+            Tournament tournament = tournamentRepository.findByTournamentId(tournamentId).orElseThrow();
+            OptimisticRetry.checkVersion(expectedVersion, tournament.getVersion());
+            tournament.setName(dto.getName());
+            tournament.setClub(clubRepository.findByName(dto.getClubName()).orElseThrow());
+            tournament.setCategory(categoryRepository.getReferenceById(categoryId));
+            return tournamentRepository.saveAndFlush(tournament);
+        });
 
-        List<Category> category = new ArrayList<>(categoryRepository.findAll().stream().
-                filter(cat -> cat.getType().equals(dto.getType()) &&
-                        cat.getAgeLimit().equals(dto.getAgeLimit()) &&
-                        cat.getSexLimit().equals(dto.getSexLimit())).toList());
-        if (category.isEmpty()) {
-            category.add(new Category(dto.getType(), dto.getAgeLimit(), dto.getSexLimit()));
-            categoryRepository.save(new Category(dto.getType(), dto.getAgeLimit(), dto.getSexLimit()));
-        }
-
-        Tournament changedTournament = tournamentRepository.findByTournamentId(tournamentId).orElseThrow();
-        changedTournament.setName(dto.getName());
-        changedTournament.setClub(clubRepository.findByName(dto.getClubName()).orElseThrow());
-        changedTournament.setCategory(category.getFirst());
-        tournamentRepository.save(changedTournament);
-
-        return ResponseEntity.ok().body("Tournament info changed successfully!");
+        return ResponseEntity.ok().eTag(String.valueOf(changedTournament.getVersion())).body("Tournament info changed successfully!");
     }
 
+    @Transactional
     public void deleteTournament(Long tournamentId) {
         Tournament tournament = tournamentRepository.findByTournamentId(tournamentId).orElseThrow();
-        List<Match> matches = matchRepository.findAll().stream().
-                filter(match -> match.getTournament().getTournamentId().equals(tournamentId)).toList();
-        matchRepository.deleteAll(matches);
-        tournamentRepository.delete(tournament);
-        if (!tournamentRepository.existsByCategory(tournament.getCategory())) {
-            categoryRepository.delete(tournament.getCategory());
-        }
+        cascadeDeleteService.deleteTournament(tournament);
     }
 
     // matches
+    @Transactional(readOnly = true)
     public List<GetMatchDTO> getAllTournamentMatches(Long tournamentId) {
-        CategoryTypeEnum type = tournamentRepository.findByTournamentId(tournamentId).orElseThrow().getCategory().getType();
+        CategoryTypeEnum type = tournamentRepository.findCategoryTypeByTournamentId(tournamentId).orElseThrow();
         return switch (type) {
             case CategoryTypeEnum.SINGLES ->
-                    matchRepository.findAll().stream().filter(match -> match.getTournament().getTournamentId().
-                            equals(tournamentId)).map(m -> new GetMatchDTO(m.getMatchId(), m.getMatchTimestamp(),
-                            m.getMatchResult(), m.getDuration(), m.getStage(), m.getPlayer1().getName() + " "
-                            + m.getPlayer1().getSurname() + ", " + m.getPlayer1().getOib(), m.getPlayer2().getName() + " "
-                            + m.getPlayer2().getSurname() + ", " + m.getPlayer2().getOib(), m.getCourt().getName(),
-                            m.getTournament().getName(), m.getTournament().getCategory().getType(),
-                            m.getTournament().getCategory().getAgeLimit(), m.getTournament().getCategory().getSexLimit(),
-                            Integer.parseInt(m.getMatchResult().split("-")[0]) > Integer.parseInt(m.getMatchResult().split("-")[1]) ? 1 : 2)).toList();
+                    matchRepository.findSinglesByTournamentId(tournamentId).stream().map(this::toSinglesMatchDTO).toList();
             case CategoryTypeEnum.DOUBLES ->
-                    matchRepository.findAll().stream().filter(match -> match.getTournament().getTournamentId().
-                            equals(tournamentId)).map(m -> new GetMatchDTO(m.getMatchId(), m.getMatchTimestamp(),
-                            m.getMatchResult(), m.getDuration(), m.getStage(), m.getPair1().getPlayer1().getSurname() + "-"
-                            + m.getPair1().getPlayer2().getSurname() + ", " + m.getPair1().getPairId(), m.getPair2().getPlayer1().getSurname() + "-" +
-                            m.getPair2().getPlayer2().getSurname() + ", " + m.getPair2().getPairId(), m.getCourt().getName(), m.getTournament().getName(),
-                            m.getTournament().getCategory().getType(), m.getTournament().getCategory().getAgeLimit(), m.getTournament().getCategory().getSexLimit(),
-                            Integer.parseInt(m.getMatchResult().split("-")[0]) > Integer.parseInt(m.getMatchResult().split("-")[1]) ? 1 : 2)).toList();
+                    matchRepository.findDoublesByTournamentId(tournamentId).stream().map(this::toDoublesMatchDTO).toList();
         };
     }
 
+    /**
+     * Matches played in {@code [from, to)} in time order, read with a range scan of the
+     * (tournament, timestamp) index. Keyset paging follows match ids, so it cannot be combined.
+     */
+    @Transactional(readOnly = true)
+    public List<GetMatchDTO> getTournamentMatchesInPeriod(Long tournamentId, LocalDate from, LocalDate to, Integer limit) {
+        if (limit != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit cannot be combined with from or to");
+        }
+        TimeRange range = TimeRange.of(from, to);
+        CategoryTypeEnum type = tournamentRepository.findCategoryTypeByTournamentId(tournamentId).orElseThrow();
+        return switch (type) {
+            case CategoryTypeEnum.SINGLES -> matchRepository.findSinglesByTournamentIdAndPeriod(tournamentId, range.getStart(),
+                    range.getEnd()).stream().map(this::toSinglesMatchDTO).toList();
+            case CategoryTypeEnum.DOUBLES -> matchRepository.findDoublesByTournamentIdAndPeriod(tournamentId, range.getStart(),
+                    range.getEnd()).stream().map(this::toDoublesMatchDTO).toList();
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<GetMatchDTO>> getTournamentMatchesPage(Long tournamentId, int limit, String after) {
+        CategoryTypeEnum type = tournamentRepository.findCategoryTypeByTournamentId(tournamentId).orElseThrow();
+        Long afterId = PageCursor.decode(after).getId();
+        Slice<GetMatchDTO> matches = switch (type) {
+            case CategoryTypeEnum.SINGLES -> matchRepository.findSinglesPageByTournamentId(tournamentId, afterId,
+                    PageCursor.limit(limit)).map(this::toSinglesMatchDTO);
+            case CategoryTypeEnum.DOUBLES -> matchRepository.findDoublesPageByTournamentId(tournamentId, afterId,
+                    PageCursor.limit(limit)).map(this::toDoublesMatchDTO);
+        };
+        PageCursor next = matches.hasNext() ? new PageCursor("", matches.getContent().getLast().getMatchId()) : null;
+        return PageCursor.toResponse(matches.getContent(), next);
+    }
+
+    /**
+     * The tournament's category type, or 404 for an unknown tournament. Read before a streamed
+     * export, whose response is already committed to 200 once its body runs.
+     */
+    @Transactional(readOnly = true)
+    public CategoryTypeEnum getTournamentType(Long tournamentId) {
+        return tournamentRepository.findCategoryTypeByTournamentId(tournamentId).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "Tournament " + tournamentId + " not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTournamentMatches(Long tournamentId, CategoryTypeEnum type, OutputStream out) throws IOException {
+        switch (type) {
+            case CategoryTypeEnum.SINGLES ->
+                    ndjsonExporter.write(matchRepository.streamSinglesByTournamentId(tournamentId), this::toSinglesMatchDTO, out);
+            case CategoryTypeEnum.DOUBLES ->
+                    ndjsonExporter.write(matchRepository.streamDoublesByTournamentId(tournamentId), this::toDoublesMatchDTO, out);
+        }
+    }
+
+    private GetMatchDTO toSinglesMatchDTO(Match m) {
+        return new GetMatchDTO(m.getMatchId(), m.getMatchTimestamp(),
+                m.getMatchResult(), m.getDuration(), m.getStage(), m.getPlayer1().getName() + " "
+                + m.getPlayer1().getSurname() + ", " + m.getPlayer1().getOib(), m.getPlayer2().getName() + " "
+                + m.getPlayer2().getSurname() + ", " + m.getPlayer2().getOib(), m.getCourt().getName(),
+                m.getTournament().getName(), m.getTournament().getCategory().getType(),
+                m.getTournament().getCategory().getAgeLimit(), m.getTournament().getCategory().getSexLimit(),
+                m.getWinnerSide(), m.getVersion());
+    }
+
+    private GetMatchDTO toDoublesMatchDTO(Match m) {
+        return new GetMatchDTO(m.getMatchId(), m.getMatchTimestamp(),
+                m.getMatchResult(), m.getDuration(), m.getStage(), m.getPair1().getPlayer1().getSurname() + "-"
+                + m.getPair1().getPlayer2().getSurname() + ", " + m.getPair1().getPairId(), m.getPair2().getPlayer1().getSurname() + "-" +
+                m.getPair2().getPlayer2().getSurname() + ", " + m.getPair2().getPairId(), m.getCourt().getName(), m.getTournament().getName(),
+                m.getTournament().getCategory().getType(), m.getTournament().getCategory().getAgeLimit(), m.getTournament().getCategory().getSexLimit(),
+                m.getWinnerSide(), m.getVersion());
+    }
+
+    /**
+     * Adds the match; a booking of the same court committed meanwhile makes this run again, so
+     * the court is checked against it.
+     */
     public ResponseEntity<Object> addNewTournamentMatch(AddMatchDTO dto, Long tournamentId) {
+        checkMatchResult(dto.getMatchResult());
+        Match match = optimisticRetry.execute(null, () -> addMatch(dto));
+        return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/tournaments/" + tournamentId + "/matches/" + match.getMatchId()).body("Match added successfully!");
+    }
+
+    private Match addMatch(AddMatchDTO dto) {
         CategoryTypeEnum type = tournamentRepository.findByTournamentId(dto.getTournamentId()).orElseThrow().getCategory().getType();
         Club club = tournamentRepository.findByTournamentId(dto.getTournamentId()).orElseThrow().getClub();
         Match newMatch = switch (type) {
@@ -130,74 +224,196 @@ public class TournamentService {
                     new Match(dto.getMatchTimestamp(), dto.getMatchResult(), dto.getDuration(), dto.getStage(),
                             playerRepository.findByOib(dto.getOpponent1()).orElseThrow(),
                             playerRepository.findByOib(dto.getOpponent2()).orElseThrow(),
-                            null, null, courtRepository.findAll().stream().filter(c -> c.getClub().equals(club) &&
-                            c.getName().equals(dto.getCourtName())).findFirst().get(), tournamentRepository.findByTournamentId(dto.getTournamentId()).orElseThrow());
+                            null, null, findCourt(club, dto.getCourtName()), tournamentRepository.findByTournamentId(dto.getTournamentId()).orElseThrow());
             case CategoryTypeEnum.DOUBLES ->
                     new Match(dto.getMatchTimestamp(), dto.getMatchResult(), dto.getDuration(), dto.getStage(),
                             null, null, pairRepository.findByPairId(Long.valueOf(dto.getOpponent1())).orElseThrow(),
                             pairRepository.findByPairId(Long.valueOf(dto.getOpponent2())).orElseThrow(),
-                            courtRepository.findAll().stream().filter(c -> c.getClub().equals(club) &&
-                                    c.getName().equals(dto.getCourtName())).findFirst().get(), tournamentRepository.findByTournamentId(dto.getTournamentId()).orElseThrow());
+                            findCourt(club, dto.getCourtName()), tournamentRepository.findByTournamentId(dto.getTournamentId()).orElseThrow());
         };
+        courtBookingService.checkCourtIsFree(newMatch);
+        personScheduleService.lockPlayers(List.of(newMatch));
         matchRepository.save(newMatch);
-
-        return ResponseEntity.ok().header(HttpHeaders.LOCATION, "/tournaments/" + tournamentId + "/matches/" + newMatch.getMatchId()).body("Match added successfully!");
+        matchStatsService.matchAdded(newMatch);
+        return newMatch;
     }
 
+    @Transactional(readOnly = true)
     public GetMatchDTO seeTournamentMatchInfo(Long matchId, Long tournamentId) {
         Match m = matchRepository.findByMatchId(matchId).orElseThrow();
-        CategoryTypeEnum type = tournamentRepository.findByTournamentId(tournamentId).orElseThrow().getCategory().getType();
+        CategoryTypeEnum type = tournamentRepository.findCategoryTypeByTournamentId(tournamentId).orElseThrow();
         return switch (type) {
-            case CategoryTypeEnum.SINGLES ->
-                    new GetMatchDTO(m.getMatchId(), m.getMatchTimestamp(), m.getMatchResult(), m.getDuration(),
-                            m.getStage(), m.getPlayer1().getName() + " " + m.getPlayer1().getSurname() + ", " + m.getPlayer1().getOib(), m.getPlayer2().getName() + " "
-                            + m.getPlayer2().getSurname() + ", " + m.getPlayer2().getOib(), m.getCourt().getName(),
-                            m.getTournament().getName(), m.getTournament().getCategory().getType(),
-                            m.getTournament().getCategory().getAgeLimit(), m.getTournament().getCategory().getSexLimit(),
-                            Integer.parseInt(m.getMatchResult().split("-")[0]) > Integer.parseInt(m.getMatchResult().split("-")[1]) ? 1 : 2);
-            case CategoryTypeEnum.DOUBLES ->
-                    new GetMatchDTO(m.getMatchId(), m.getMatchTimestamp(), m.getMatchResult(), m.getDuration(),
-                            m.getStage(), m.getPair1().getPlayer1().getSurname() + "-"
-                            + m.getPair1().getPlayer2().getSurname() + ", " + m.getPair1().getPairId(), m.getPair2().getPlayer1().getSurname() + "-" +
-                            m.getPair2().getPlayer2().getSurname() + ", " + m.getPair2().getPairId(), m.getCourt().getName(), m.getTournament().getName(),
-                            m.getTournament().getCategory().getType(), m.getTournament().getCategory().getAgeLimit(), m.getTournament().getCategory().getSexLimit(),
-                            Integer.parseInt(m.getMatchResult().split("-")[0]) > Integer.parseInt(m.getMatchResult().split("-")[1]) ? 1 : 2);
+            case CategoryTypeEnum.SINGLES -> toSinglesMatchDTO(m);
+            case CategoryTypeEnum.DOUBLES -> toDoublesMatchDTO(m);
         };
     }
 
-    public ResponseEntity<Object> changeTournamentMatchInfo(Long matchId, Long tournamentId, AddMatchDTO dto) {
-        if (!matchRepository.existsByMatchId(matchId)) {
-            throw new NoSuchElementException();
+    /**
+     * Replaces the match, so parallel score-keepers never overwrite each other unnoticed: a
+     * concurrent change makes this run again from the stored match, or fails with 412 when
+     * {@code expectedVersion} pins the version the caller read.
+     */
+    public ResponseEntity<Object> changeTournamentMatchInfo(Long matchId, Long tournamentId, AddMatchDTO dto, Long expectedVersion) {
+        checkMatchResult(dto.getMatchResult());
+        Match match = optimisticRetry.execute(expectedVersion, () -> {
+            Match changedMatch = matchRepository.findByMatchId(matchId).orElseThrow();
+            OptimisticRetry.checkVersion(expectedVersion, changedMatch.getVersion());
+            Tournament tournament = tournamentRepository.findByTournamentId(dto.getTournamentId()).orElseThrow();
+            MatchOutcome before = MatchOutcome.of(changedMatch);
+            LocalDateTime bookedAt = changedMatch.getMatchTimestamp();
+            String bookedFor = changedMatch.getDuration();
+            Court bookedCourt = changedMatch.getCourt();
+            changedMatch.setMatchResult(dto.getMatchResult());
+            changedMatch.setMatchTimestamp(dto.getMatchTimestamp());
+            changedMatch.setTournament(tournament);
+            changedMatch.setDuration(dto.getDuration());
+            changedMatch.setCourt(findCourt(tournament.getClub(), dto.getCourtName()));
+            changedMatch.setStage(dto.getStage());
+
+            switch (tournament.getCategory().getType()) {
+                case CategoryTypeEnum.SINGLES:
+                    changedMatch.setPlayer1(playerRepository.findByOib(dto.getOpponent1()).orElseThrow());
+                    changedMatch.setPlayer2(playerRepository.findByOib(dto.getOpponent2()).orElseThrow());
+                    break;
+                case CategoryTypeEnum.DOUBLES:
+                    changedMatch.setPair1(pairRepository.findByPairId(Long.valueOf(dto.getOpponent1())).orElseThrow());
+                    changedMatch.setPair2(pairRepository.findByPairId(Long.valueOf(dto.getOpponent2())).orElseThrow());
+                    break;
+            }
+            // a match keeping its slot cannot clash with anything it did not clash with before
+            if (!Objects.equals(bookedAt, changedMatch.getMatchTimestamp()) || !Objects.equals(bookedFor, changedMatch.getDuration())
+                    || bookedCourt != changedMatch.getCourt()) {
+                courtBookingService.checkCourtIsFree(changedMatch);
+            }
+            personScheduleService.lockPlayers(List.of(changedMatch));
+            matchRepository.saveAndFlush(changedMatch);
+            matchStatsService.matchChanged(before, changedMatch);
+            return changedMatch;
+        });
+
+        return ResponseEntity.ok().eTag(String.valueOf(match.getVersion())).body("Match info changed successfully!");
+    }
+
+    public ResponseEntity<Object> importTournamentMatches(Long tournamentId, List<AddMatchDTO> rows) {
+        return optimisticRetry.execute(null, () -> importMatches(tournamentId, rows, new ArrayList<>()));
+    }
+
+    /**
+     * Reads the matches from CSV with the columns matchTimestamp, matchResult, duration, stage,
+     * opponent1, opponent2 and courtName, then imports them like a JSON array.
+     */
+    public ResponseEntity<Object> importTournamentMatchesCsv(Long tournamentId, Reader csv) throws IOException {
+        List<AddMatchDTO> rows = new ArrayList<>();
+        List<BulkImportResultDTO.RowError> errors = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(csv)) {
+            for (Map<String, String> record = reader.next(); record != null; record = reader.next()) {
+                try {
+                    String timestamp = record.get("matchTimestamp");
+                    String stage = record.get("stage");
+                    rows.add(new AddMatchDTO(timestamp == null ? null : LocalDateTime.parse(timestamp), record.get("matchResult"),
+                            record.get("duration"), stage == null ? null : StageEnum.valueOf(stage), record.get("opponent1"),
+                            record.get("opponent2"), record.get("courtName"), tournamentId));
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    rows.add(null);
+                    errors.add(new BulkImportResultDTO.RowError(rows.size(), "Unreadable value: " + e.getMessage()));
+                }
+            }
         }
+        return optimisticRetry.execute(null, () -> importMatches(tournamentId, rows, new ArrayList<>(errors)));
+    }
 
-        CategoryTypeEnum type = tournamentRepository.findByTournamentId(dto.getTournamentId()).orElseThrow().getCategory().getType();
-        Club club = tournamentRepository.findByTournamentId(dto.getTournamentId()).orElseThrow().getClub();
-        Match changedMatch = matchRepository.findByMatchId(matchId).orElseThrow();
-        changedMatch.setMatchResult(dto.getMatchResult());
-        changedMatch.setMatchTimestamp(dto.getMatchTimestamp());
-        changedMatch.setTournament(tournamentRepository.findByTournamentId(dto.getTournamentId()).orElseThrow());
-        changedMatch.setDuration(dto.getDuration());
-        changedMatch.setCourt(courtRepository.findAll().stream().filter(c -> c.getClub().equals(club) &&
-                c.getName().equals(dto.getCourtName())).findFirst().get());
-        changedMatch.setStage(dto.getStage());
+    /**
+     * Resolves the players or pairs and courts of all rows with one query each, rejects rows whose
+     * court is already booked at that time, and inserts the matches in JDBC batches. Nothing is
+     * inserted when any row is invalid; the response then lists the errors by row number,
+     * counting from 1.
+     */
+    private ResponseEntity<Object> importMatches(Long tournamentId, List<AddMatchDTO> rows, List<BulkImportResultDTO.RowError> errors) {
+        if (rows.size() > MAX_IMPORTED_MATCHES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_IMPORTED_MATCHES + " matches per import");
+        }
+        Tournament tournament = tournamentRepository.findByTournamentId(tournamentId).orElseThrow();
+        boolean singles = tournament.getCategory().getType() == CategoryTypeEnum.SINGLES;
+        Map<String, Court> courts = courtRepository.findAllByClubClubId(tournament.getClub().getClubId()).stream()
+                .collect(Collectors.toMap(Court::getName, Function.identity()));
+        Set<String> opponents = new HashSet<>();
+        rows.stream().filter(Objects::nonNull).forEach(row -> {
+            opponents.add(row.getOpponent1());
+            opponents.add(row.getOpponent2());
+        });
+        opponents.remove(null);
+        Map<String, Player> players = singles ? playerRepository.findAllByOibIn(opponents).stream()
+                .collect(Collectors.toMap(Player::getOib, Function.identity())) : Map.of();
+        Map<String, Pair> pairs = singles ? Map.of() : pairRepository.findAllByPairIdIn(opponents.stream()
+                .filter(id -> id.matches(PAIR_ID_PATTERN)).map(Long::valueOf).toList()).stream()
+                .collect(Collectors.toMap(pair -> pair.getPairId().toString(), Function.identity()));
+        // players are keyed by their oib, pairs by their id without leading zeros
+        Function<String, String> opponentKey = singles ? Function.identity() : TournamentService::pairKey;
 
-        switch (type) {
-            case CategoryTypeEnum.SINGLES:
-                changedMatch.setPlayer1(playerRepository.findByOib(dto.getOpponent1()).orElseThrow());
-                changedMatch.setPlayer2(playerRepository.findByOib(dto.getOpponent2()).orElseThrow());
-                break;
-            case CategoryTypeEnum.DOUBLES:
-                changedMatch.setPair1(pairRepository.findByPairId(Long.valueOf(dto.getOpponent1())).orElseThrow());
-                changedMatch.setPair2(pairRepository.findByPairId(Long.valueOf(dto.getOpponent2())).orElseThrow());
-                break;
+        List<Match> matches = new ArrayList<>();
+        List<Integer> matchRows = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            AddMatchDTO row = rows.get(i);
+            if (row == null) {
+                continue;
+            }
+            String error = null;
+            if (row.getTournamentId() != null && !row.getTournamentId().equals(tournamentId)) {
+                error = "Match belongs to tournament " + row.getTournamentId();
+            } else if (!isDecided(row.getMatchResult())) {
+                error = MATCH_RESULT_MESSAGE;
+            } else if (!courts.containsKey(row.getCourtName())) {
+                error = "Court " + row.getCourtName() + " not found in club " + tournament.getClub().getName();
+            } else if (!(singles ? players : pairs).containsKey(opponentKey.apply(row.getOpponent1()))) {
+                error = (singles ? "Player " : "Pair ") + row.getOpponent1() + " not found";
+            } else if (!(singles ? players : pairs).containsKey(opponentKey.apply(row.getOpponent2()))) {
+                error = (singles ? "Player " : "Pair ") + row.getOpponent2() + " not found";
+            }
+            if (error != null) {
+                errors.add(new BulkImportResultDTO.RowError(i + 1, error));
+                continue;
+            }
+            matches.add(new Match(row.getMatchTimestamp(), row.getMatchResult(), row.getDuration(), row.getStage(),
+                    players.get(row.getOpponent1()), players.get(row.getOpponent2()), pairs.get(opponentKey.apply(row.getOpponent1())),
+                    pairs.get(opponentKey.apply(row.getOpponent2())), courts.get(row.getCourtName()), tournament));
+            matchRows.add(i + 1);
+        }
+        courtBookingService.findConflicts(matches).forEach((index, message) ->
+                errors.add(new BulkImportResultDTO.RowError(matchRows.get(index), message)));
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparing(BulkImportResultDTO.RowError::getRow));
+            return ResponseEntity.badRequest().body(new BulkImportResultDTO(0, errors));
+        }
+        personScheduleService.lockPlayers(matches);
+        matchRepository.saveAll(matches);
+        matchStatsService.matchesAdded(matches.stream().map(MatchOutcome::of).toList());
+        return ResponseEntity.ok().body(new BulkImportResultDTO(matches.size(), errors));
+    }
+
+    private static String pairKey(String pairId) {
+        return pairId != null && pairId.matches(PAIR_ID_PATTERN) ? Long.valueOf(pairId).toString() : pairId;
+    }
+
+    private Court findCourt(Club club, String courtName) {
+        return courtRepository.findByClubAndName(club, courtName).orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "Court " + courtName + " not found in club " + club.getName()));
+    }
+
+    private static void checkMatchResult(String matchResult) {
+        if (!isDecided(matchResult)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, MATCH_RESULT_MESSAGE);
         }
-        matchRepository.save(changedMatch);
+    }
 
-        return ResponseEntity.ok().body("Match info changed successfully!");
+    private static boolean isDecided(String matchResult) {
+        Matcher matcher = matchResult == null ? null : Match.RESULT_PATTERN.matcher(matchResult);
+        return matcher != null && matcher.matches() && Integer.parseInt(matcher.group(1)) != Integer.parseInt(matcher.group(2));
     }
 
+    @Transactional
     public void deleteTournamentMatch(Long matchId, Long tournamentId) {
         Match match = matchRepository.findByMatchId(matchId).orElseThrow();
+        matchStatsService.matchRemoved(match);
         matchRepository.delete(match);
     }
 }
@@ -0,0 +1,37 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.TrainingRepository;
+import com.tennisclubs.entity.Training;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Fills the end time of trainings stored before that column existed, so the schedule checks
+ * see them. Runs on every startup and only touches rows that are still unset.
+ */
+@Component
+public class TrainingEndBackfill implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(TrainingEndBackfill.class);
+
+    private final TrainingRepository trainingRepository;
+
+    public TrainingEndBackfill(TrainingRepository trainingRepository) {
+        this.trainingRepository = trainingRepository;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        List<Training> unscheduled = trainingRepository.findAllWithoutTrainingEnd();
+        unscheduled.forEach(Training::updateTrainingEnd);
+        if (!unscheduled.isEmpty()) {
+            log.info("Backfilled end times of {} trainings", unscheduled.size());
+        }
+    }
+}
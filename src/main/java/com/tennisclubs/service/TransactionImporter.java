@@ -0,0 +1,119 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.dao.ClubRepository;
+import com.tennisclubs.dao.PersonRepository;
+import com.tennisclubs.dao.TransactionRepository;
+import com.tennisclubs.dto.BulkImportResultDTO;
+import com.tennisclubs.dto.ImportProgressDTO;
+import com.tennisclubs.entity.Club;
+import com.tennisclubs.entity.PaymentMethodEnum;
+import com.tennisclubs.entity.Person;
+import com.tennisclubs.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports a club's transactions from CSV with the columns oib, transactionTimestamp, price,
+ * paymentMethod and description. The input is read in chunks of {@value #CHUNK_SIZE} rows.
+ * Each chunk resolves its persons with one query, is inserted in JDBC batches and committed
+ * on its own together with one update of the club balance. A progress line follows each chunk
+ * on the NDJSON response. Invalid rows are skipped and reported with their row number,
+ * counting from 1; an empty oib stores the transaction without a person.
+ */
+@Component
+public class TransactionImporter {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_DESCRIPTION_LENGTH = 200;
+
+    private final TransactionRepository transactionRepository;
+    private final PersonRepository personRepository;
+    private final ClubRepository clubRepository;
+    private final NdjsonExporter ndjsonExporter;
+    private final ClubBalanceService clubBalanceService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionImporter(TransactionRepository transactionRepository, PersonRepository personRepository, ClubRepository clubRepository, NdjsonExporter ndjsonExporter, ClubBalanceService clubBalanceService, EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.personRepository = personRepository;
+        this.clubRepository = clubRepository;
+        this.ndjsonExporter = ndjsonExporter;
+        this.clubBalanceService = clubBalanceService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void importTransactions(Long clubId, Reader csv, OutputStream out) throws IOException {
+        long processed = 0;
+        long imported = 0;
+        try (CsvReader reader = new CsvReader(csv)) {
+            List<Map<String, String>> chunk = new ArrayList<>(CHUNK_SIZE);
+            Map<String, String> record;
+            do {
+                record = reader.next();
+                if (record != null) {
+                    chunk.add(record);
+                }
+                if (chunk.size() == CHUNK_SIZE || (record == null && !chunk.isEmpty())) {
+                    List<BulkImportResultDTO.RowError> errors = new ArrayList<>();
+                    long firstRow = processed + 1;
+                    imported += transactionTemplate.execute(status -> importChunk(clubId, chunk, firstRow, errors));
+                    processed += chunk.size();
+                    chunk.clear();
+                    ndjsonExporter.writeLine(new ImportProgressDTO(processed, imported, errors, false), out);
+                }
+            } while (record != null);
+        }
+        ndjsonExporter.writeLine(new ImportProgressDTO(processed, imported, List.of(), true), out);
+    }
+
+    private int importChunk(Long clubId, List<Map<String, String>> records, long firstRow, List<BulkImportResultDTO.RowError> errors) {
+        Club club = clubRepository.getReferenceById(clubId);
+        Map<String, Person> persons = personRepository.findAllByOibIn(records.stream().map(record -> record.get("oib"))
+                .filter(Objects::nonNull).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Person::getOib, Function.identity()));
+        List<Transaction> transactions = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            Map<String, String> record = records.get(i);
+            int row = (int) (firstRow + i);
+            String oib = record.get("oib");
+            String price = record.get("price");
+            String description = record.get("description");
+            if (oib != null && !persons.containsKey(oib)) {
+                errors.add(new BulkImportResultDTO.RowError(row, "Person " + oib + " not found"));
+            } else if (price == null) {
+                errors.add(new BulkImportResultDTO.RowError(row, "Price is required"));
+            } else if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+                errors.add(new BulkImportResultDTO.RowError(row, "Description is longer than " + MAX_DESCRIPTION_LENGTH + " characters"));
+            } else {
+                try {
+                    String timestamp = record.get("transactionTimestamp");
+                    String paymentMethod = record.get("paymentMethod");
+                    transactions.add(new Transaction(persons.get(oib), club, timestamp == null ? null : LocalDateTime.parse(timestamp),
+                            Double.valueOf(price), paymentMethod == null ? null : PaymentMethodEnum.valueOf(paymentMethod), description));
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    errors.add(new BulkImportResultDTO.RowError(row, "Unreadable value: " + e.getMessage()));
+                }
+            }
+        }
+        transactionRepository.saveAll(transactions);
+        clubBalanceService.transactionsAdded(transactions);
+        entityManager.flush();
+        entityManager.clear();
+        return transactions.size();
+    }
+}
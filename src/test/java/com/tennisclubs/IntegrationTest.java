@@ -0,0 +1,108 @@
+package com.tennisclubs;
+
+import com.tennisclubs.dao.*;
+import com.tennisclubs.entity.*;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base of the tests that run against the whole application. Subclasses share one Spring context
+ * and its in-memory database, so each of them seeds its own data through the helpers below:
+ * names, OIBs and ranks are numbered from one sequence and never collide with another class.
+ * A class that needs a context of its own declares its own {@code @SpringBootTest} properties
+ * and {@code @DirtiesContext}, since that context is not reused.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:integration")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public abstract class IntegrationTest {
+    private static final int ZIP_CODE = 10000;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    protected MockMvc mockMvc;
+    @Autowired
+    protected PlaceRepository placeRepository;
+    @Autowired
+    protected ClubRepository clubRepository;
+    @Autowired
+    protected CourtRepository courtRepository;
+    @Autowired
+    protected CategoryRepository categoryRepository;
+    @Autowired
+    protected TournamentRepository tournamentRepository;
+    @Autowired
+    protected PlayerRepository playerRepository;
+    @Autowired
+    protected PairRepository pairRepository;
+    @Autowired
+    protected CoachRepository coachRepository;
+    @Autowired
+    protected RepresentsRepository representsRepository;
+    @Autowired
+    protected HoldsTrainingSessionsRepository holdsTrainingSessionsRepository;
+
+    protected static int next() {
+        return SEQUENCE.incrementAndGet();
+    }
+
+    protected Place place() {
+        return placeRepository.findByZipCode(ZIP_CODE).orElseGet(() -> placeRepository.save(new Place(ZIP_CODE, "Zagreb")));
+    }
+
+    /**
+     * A club named {@code name} followed by a sequence number.
+     */
+    protected Club club(String name, double budget) {
+        return clubRepository.save(new Club(name + " " + next(), 1900, "club@mail.hr", null, null, budget, place()));
+    }
+
+    protected Club club(String name) {
+        return club(name, 0.0);
+    }
+
+    protected Court court(Club club, String name, SurfaceEnum surface) {
+        return courtRepository.save(new Court(name, club, surface));
+    }
+
+    /**
+     * The women's under-18 category of the type; players made by {@link #player} fit it.
+     */
+    protected Category category(CategoryTypeEnum type) {
+        return categoryRepository.findByTypeAndAgeLimitAndSexLimit(type, "18", SexEnum.FEMALE)
+                .orElseGet(() -> categoryRepository.save(new Category(type, "18", SexEnum.FEMALE)));
+    }
+
+    protected Tournament tournament(Club club, Category category, String name) {
+        return tournamentRepository.save(new Tournament(name + " " + next(), club, category));
+    }
+
+    protected Player player(String name, String surname) {
+        int n = next();
+        return playerRepository.save(new Player(String.format("%011d", n), name, surname, LocalDate.of(2006, 1, 1), SexEnum.FEMALE,
+                place(), null, null, HandEnum.RIGHT, n, null));
+    }
+
+    protected Pair pair(Player player1, Player player2) {
+        return pairRepository.save(new Pair(player1, player2, next(), null));
+    }
+
+    protected Coach coach(String name, String surname) {
+        return coachRepository.save(new Coach(String.format("%011d", next()), name, surname, LocalDate.of(1980, 1, 1), SexEnum.FEMALE,
+                place(), 5, null));
+    }
+
+    protected Represents joins(Player player, Club club, LocalDate from) {
+        return representsRepository.save(new Represents(player, club, from, null));
+    }
+
+    protected HoldsTrainingSessions joins(Coach coach, Club club, LocalDate from) {
+        return holdsTrainingSessionsRepository.save(new HoldsTrainingSessions(coach, club, from, null));
+    }
+}
@@ -0,0 +1,84 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.entity.Club;
+import com.tennisclubs.entity.Player;
+import com.tennisclubs.service.ClubBalanceService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ClubBalanceTests extends IntegrationTest {
+    @Autowired
+    private ClubBalanceService clubBalanceService;
+
+    private Long htkId;
+    private Long tksId;
+    private String oib;
+
+    @BeforeAll
+    void seed() {
+        Club htk = club("HTK", 1000.0);
+        Club tks = club("TKS");
+        Player player = player("Ana", "Horvat");
+        joins(player, htk, LocalDate.of(2020, 1, 1));
+        htkId = htk.getClubId();
+        tksId = tks.getClubId();
+        oib = player.getOib();
+    }
+
+    private MockHttpServletRequestBuilder transaction(MockHttpServletRequestBuilder request, Long clubId, String timestamp, String price) {
+        return request.param("oib", oib).param("clubId", String.valueOf(clubId)).param("transactionTimestamp", timestamp)
+                .param("price", price).param("paymentMethod", "CASH").param("description", "Membership");
+    }
+
+    private String balances(Long clubId) throws Exception {
+        return mockMvc.perform(get("/clubs/" + clubId + "/balance")).andReturn().getResponse().getContentAsString()
+                + mockMvc.perform(get("/clubs/" + clubId + "/balance/monthly")).andReturn().getResponse().getContentAsString();
+    }
+
+    private void assertMatchesRebuild() throws Exception {
+        assertTrue(clubBalanceService.findOutOfSync().isEmpty());
+        String htk = balances(htkId);
+        String tks = balances(tksId);
+        clubBalanceService.rebuild(htkId);
+        clubBalanceService.rebuild(tksId);
+        assertEquals(htk, balances(htkId));
+        assertEquals(tks, balances(tksId));
+    }
+
+    @Test
+    void balancesStayEqualToARebuildAcrossAddChangeAndDelete() throws Exception {
+        String membership = mockMvc.perform(transaction(post("/clubs/" + htkId + "/transactions"), htkId, "2024-05-03T10:00:00", "50"))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("Location");
+        String nets = mockMvc.perform(transaction(post("/clubs/" + htkId + "/transactions"), htkId, "2024-06-10T10:00:00", "-30"))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("Location");
+        assertMatchesRebuild();
+        mockMvc.perform(get("/clubs/" + htkId + "/balance"))
+                .andExpect(jsonPath("$.income").value(50.0))
+                .andExpect(jsonPath("$.expenses").value(-30.0))
+                .andExpect(jsonPath("$.balance").value(1020.0));
+
+        // moves the transaction to another club and month
+        mockMvc.perform(transaction(put(membership), tksId, "2024-07-01T09:00:00", "80")).andExpect(status().isOk());
+        assertMatchesRebuild();
+        mockMvc.perform(get("/clubs/" + tksId + "/balance/monthly"))
+                .andExpect(jsonPath("$[0].month").value("2024-07"))
+                .andExpect(jsonPath("$[0].income").value(80.0));
+
+        mockMvc.perform(delete(nets)).andExpect(status().isOk());
+        assertMatchesRebuild();
+        mockMvc.perform(get("/clubs/" + htkId + "/balance"))
+                .andExpect(jsonPath("$.transactionCount").value(0))
+                .andExpect(jsonPath("$.balance").value(1000.0));
+    }
+}
@@ -0,0 +1,63 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.entity.Club;
+import com.tennisclubs.entity.Player;
+import com.tennisclubs.entity.Represents;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ClubPlayersTests extends IntegrationTest {
+    private Long htkId;
+    private Player ana;
+    private Player eva;
+    private Player iva;
+
+    @BeforeAll
+    void seed() {
+        Club htk = club("HTK");
+        Club tks = club("TKS");
+        htkId = htk.getClubId();
+        ana = player("Ana", "Kovač");
+        eva = player("Eva", "Babić");
+        iva = player("Iva", "Horvat");
+
+        // Ana left and came back, Iva left for another club
+        left(ana, htk, LocalDate.of(2019, 1, 1), LocalDate.of(2020, 1, 1));
+        joins(ana, htk, LocalDate.of(2022, 1, 1));
+        joins(eva, htk, LocalDate.of(2021, 1, 1));
+        left(iva, htk, LocalDate.of(2020, 1, 1), LocalDate.of(2023, 1, 1));
+        joins(iva, tks, LocalDate.of(2023, 1, 1));
+    }
+
+    private void left(Player player, Club club, LocalDate from, LocalDate to) {
+        representsRepository.save(new Represents(player, club, from, to));
+    }
+
+    @Test
+    void theCurrentRosterHasOnlyPlayersStillAtTheClub() throws Exception {
+        mockMvc.perform(get("/clubs/" + htkId + "/players").param("current", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].personId").value(eva.getPersonId()))
+                .andExpect(jsonPath("$[0].surname").value("Babić"))
+                .andExpect(jsonPath("$[1].personId").value(ana.getPersonId()))
+                .andExpect(jsonPath("$[1].oib").value(ana.getOib()));
+    }
+
+    @Test
+    void everyPlayerWhoEverPlayedForTheClubIsListedOnce() throws Exception {
+        mockMvc.perform(get("/clubs/" + htkId + "/players"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].personId").value(eva.getPersonId()))
+                .andExpect(jsonPath("$[1].personId").value(iva.getPersonId()))
+                .andExpect(jsonPath("$[2].personId").value(ana.getPersonId()));
+    }
+}
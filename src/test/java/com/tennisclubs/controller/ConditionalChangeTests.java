@@ -0,0 +1,68 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.entity.Club;
+import com.tennisclubs.service.MergePatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ConditionalChangeTests extends IntegrationTest {
+    private String name;
+    private String club;
+
+    @BeforeEach
+    void seedClub() {
+        Club saved = club("HTK");
+        name = saved.getName();
+        club = "/clubs/" + saved.getClubId();
+    }
+
+    private MockHttpServletRequestBuilder changeBudget(double budget) {
+        return put(club).param("name", name).param("foundationYear", "1900").param("email", "club@mail.hr")
+                .param("zipCode", "10000").param("placeName", "Zagreb").param("budget", String.valueOf(budget));
+    }
+
+    private MockHttpServletRequestBuilder patchBudget(double budget) {
+        return patch(club).contentType(MergePatch.MEDIA_TYPE).content("{\"budget\": " + budget + "}");
+    }
+
+    @Test
+    void changesWithoutIfMatchAreRejected() throws Exception {
+        mockMvc.perform(changeBudget(500)).andExpect(status().isPreconditionRequired());
+        mockMvc.perform(patchBudget(500)).andExpect(status().isPreconditionRequired());
+
+        mockMvc.perform(get(club))
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.budget").value(0.0));
+    }
+
+    @Test
+    void changesPinnedToAnOlderVersionAreRejected() throws Exception {
+        String version = mockMvc.perform(get(club)).andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(changeBudget(500).header("If-Match", version))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(changeBudget(700).header("If-Match", version)).andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patchBudget(700).header("If-Match", version)).andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get(club)).andExpect(jsonPath("$.budget").value(500.0));
+    }
+
+    @Test
+    void anyVersionMayBeReplacedExplicitly() throws Exception {
+        mockMvc.perform(patchBudget(300).header("If-Match", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(get(club)).andExpect(jsonPath("$.budget").value(300.0));
+    }
+}
@@ -0,0 +1,102 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.entity.Club;
+import com.tennisclubs.entity.Player;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:connection-release")
+@DirtiesContext
+class ConnectionReleaseTests extends IntegrationTest {
+    @Autowired
+    private ConnectionProbe probe;
+
+    private Long clubId;
+    private Long playerId;
+
+    @TestConfiguration
+    static class ProbeConfiguration {
+        @Bean
+        ConnectionProbe connectionProbe(DataSource dataSource) throws SQLException {
+            return new ConnectionProbe(dataSource.unwrap(HikariDataSource.class));
+        }
+    }
+
+    /**
+     * Records the pool and transaction state just before each response body is serialized.
+     */
+    @ControllerAdvice
+    static class ConnectionProbe implements ResponseBodyAdvice<Object> {
+        private final HikariDataSource dataSource;
+        private volatile int activeConnections = -1;
+        private volatile boolean transactionActive;
+
+        ConnectionProbe(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            activeConnections = dataSource.getHikariPoolMXBean().getActiveConnections();
+            transactionActive = TransactionSynchronizationManager.isActualTransactionActive();
+            return body;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        Club club = club("HTK");
+        Player player = player("Ana", "Horvat");
+        joins(player, club, LocalDate.of(2020, 1, 1));
+        clubId = club.getClubId();
+        playerId = player.getPersonId();
+    }
+
+    private void assertReleasedBeforeSerialization(String url) throws Exception {
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        assertEquals(0, probe.activeConnections);
+        assertFalse(probe.transactionActive);
+    }
+
+    @Test
+    void seePlayerInfoReleasesConnectionBeforeSerialization() throws Exception {
+        // walks the player's lazy memberships, which now happens inside the service transaction
+        assertReleasedBeforeSerialization("/players/" + playerId);
+    }
+
+    @Test
+    void getClubRosterReleasesConnectionBeforeSerialization() throws Exception {
+        assertReleasedBeforeSerialization("/clubs/" + clubId + "/roster");
+    }
+}
@@ -0,0 +1,88 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.entity.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ExportTests extends IntegrationTest {
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private Long clubId;
+    private Long tournamentId;
+
+    @BeforeAll
+    void seed() throws Exception {
+        Club club = club("HTK");
+        Court court = court(club, "Centre", SurfaceEnum.CLAY);
+        Tournament tournament = tournament(club, category(CategoryTypeEnum.SINGLES), "Open");
+        Player host = player("Ana", "Horvat");
+        Player guest = player("Iva", "Kovač");
+        joins(host, club, LocalDate.of(2020, 1, 1));
+        for (int day = 1; day <= 2; day++) {
+            matchRepository.save(new Match(LocalDateTime.of(2024, 5, day, 10, 0), "2-0", null, StageEnum.GROUP, host, guest,
+                    null, null, court, tournament));
+        }
+        clubId = club.getClubId();
+        tournamentId = tournament.getTournamentId();
+        for (String price : new String[]{"50.0", "-20.0", "30.0"}) {
+            mockMvc.perform(post("/clubs/" + clubId + "/transactions").param("oib", host.getOib()).param("clubId", String.valueOf(clubId))
+                            .param("transactionTimestamp", "2024-05-01T10:00:00").param("price", price).param("paymentMethod", "CASH")
+                            .param("description", "Membership"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private String[] export(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url).accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        return body.lines().toArray(String[]::new);
+    }
+
+    @Test
+    void tournamentMatchesAreExportedOnePerLine() throws Exception {
+        String[] lines = export("/tournaments/" + tournamentId + "/matches");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"matchTimestamp\":\"2024-05-01T10:00:00\""));
+        assertTrue(lines[1].contains("\"opponent1\":\"Ana Horvat, "));
+    }
+
+    @Test
+    void clubTransactionsAreExportedOnePerLine() throws Exception {
+        String[] lines = export("/clubs/" + clubId + "/transactions");
+
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].contains("\"price\":-20.0"));
+    }
+
+    @Test
+    void exportsOfUnknownIdsAreNotFound() throws Exception {
+        mockMvc.perform(get("/tournaments/0/matches").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotFound())
+                .andExpect(status().reason(containsString("Tournament 0 not found")));
+        mockMvc.perform(get("/clubs/0/transactions").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotFound())
+                .andExpect(status().reason(containsString("Club 0 not found")));
+    }
+}
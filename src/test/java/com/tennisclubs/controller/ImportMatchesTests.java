@@ -0,0 +1,118 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.entity.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ImportMatchesTests extends IntegrationTest {
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private Long singlesId;
+    private Long doublesId;
+    private Player ana;
+    private Player iva;
+    private Pair pair1;
+    private Pair pair2;
+
+    @BeforeAll
+    void seed() {
+        Club club = club("HTK");
+        court(club, "Centre", SurfaceEnum.CLAY);
+        court(club, "Court 2", SurfaceEnum.HARD);
+        singlesId = tournament(club, category(CategoryTypeEnum.SINGLES), "Open").getTournamentId();
+        doublesId = tournament(club, category(CategoryTypeEnum.DOUBLES), "Open Doubles").getTournamentId();
+        ana = player("Ana", "Horvat");
+        iva = player("Iva", "Horvat");
+        pair1 = pair(ana, iva);
+        pair2 = pair(player("Eva", "Horvat"), player("Maja", "Horvat"));
+    }
+
+    private static String row(String timestamp, String result, String opponent1, String opponent2, String court) {
+        return "{\"matchTimestamp\": \"" + timestamp + "\", \"matchResult\": \"" + result + "\", \"stage\": \"GROUP\", "
+                + "\"opponent1\": \"" + opponent1 + "\", \"opponent2\": \"" + opponent2 + "\", \"courtName\": \"" + court + "\"}";
+    }
+
+    @Test
+    void oneBadRowRejectsTheWholeImportAndIsReportedByRowNumber() throws Exception {
+        String json = "[" + row("2024-05-01T10:00:00", "2-0", ana.getOib(), iva.getOib(), "Centre") + ", "
+                + row("2024-05-01T12:00:00", "2-0", ana.getOib(), "99999999999", "Centre") + ", "
+                + row("2024-05-01T14:00:00", "1-1", ana.getOib(), iva.getOib(), "Centre") + ", "
+                + row("2024-05-01T10:30:00", "0-2", iva.getOib(), ana.getOib(), "Centre") + "]";
+
+        mockMvc.perform(post("/tournaments/" + singlesId + "/matches:bulk").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Player 99999999999 not found"))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[2].row").value(4));
+
+        assertEquals(0, matchRepository.findSinglesByTournamentId(singlesId).size());
+    }
+
+    @Test
+    void unreadableCsvValuesAreReportedWithTheirRow() throws Exception {
+        String csv = "matchTimestamp,matchResult,duration,stage,opponent1,opponent2,courtName\n"
+                + "2024-05-02T10:00:00,2-0,,GROUP," + ana.getOib() + "," + iva.getOib() + ",Court 2\n"
+                + "yesterday,2-0,,GROUP," + ana.getOib() + "," + iva.getOib() + ",Court 2\n"
+                + "2024-05-02T14:00:00,2-0,,SEMIS," + ana.getOib() + "," + iva.getOib() + ",Court 2\n";
+
+        mockMvc.perform(post("/tournaments/" + singlesId + "/matches:bulk").contentType("text/csv").content(csv))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message", startsWith("Unreadable value")))
+                .andExpect(jsonPath("$.errors[1].row").value(3))
+                .andExpect(jsonPath("$.errors[1].message", startsWith("Unreadable value")));
+
+        assertEquals(0, matchRepository.findSinglesByTournamentId(singlesId).size());
+    }
+
+    @Test
+    void importedDoublesMatchesFindPaddedPairIdsAndUpdateTheStatistics() throws Exception {
+        String padded = String.format("%03d", pair1.getPairId());
+        String json = "[" + row("2024-05-03T10:00:00", "2-1", padded, String.valueOf(pair2.getPairId()), "Centre") + ", "
+                + row("2024-05-03T10:00:00", "0-2", padded, String.valueOf(pair2.getPairId()), "Court 2") + "]";
+
+        mockMvc.perform(post("/tournaments/" + doublesId + "/matches:bulk").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+
+        mockMvc.perform(get("/doubles/" + pair1.getPairId() + "/stats"))
+                .andExpect(jsonPath("$.wins").value(1))
+                .andExpect(jsonPath("$.losses").value(1))
+                .andExpect(jsonPath("$.matchesPerSurface.CLAY").value(1))
+                .andExpect(jsonPath("$.matchesPerSurface.HARD").value(1));
+        mockMvc.perform(get("/doubles/" + pair2.getPairId() + "/stats"))
+                .andExpect(jsonPath("$.matchesPerStage.GROUP").value(2));
+    }
+
+    @Test
+    void setCountsTooLongToParseAreRejected() throws Exception {
+        String tooLong = "99999999999-0";
+        mockMvc.perform(post("/tournaments/" + singlesId + "/matches").param("matchTimestamp", "2024-05-04T10:00:00")
+                        .param("matchResult", tooLong).param("stage", "GROUP").param("opponent1", ana.getOib())
+                        .param("opponent2", iva.getOib()).param("courtName", "Centre").param("tournamentId", String.valueOf(singlesId)))
+                .andExpect(status().isBadRequest());
+
+        String json = "[" + row("2024-05-04T12:00:00", tooLong, ana.getOib(), iva.getOib(), "Centre") + "]";
+        mockMvc.perform(post("/tournaments/" + singlesId + "/matches:bulk").contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].row").value(1))
+                .andExpect(jsonPath("$.errors[0].message", startsWith("Match result must be")));
+
+        assertEquals(0, matchRepository.findSinglesByTournamentId(singlesId).size());
+    }
+}
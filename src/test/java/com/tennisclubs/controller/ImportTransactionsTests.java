@@ -0,0 +1,100 @@
+package com.tennisclubs.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.entity.Club;
+import com.tennisclubs.entity.Player;
+import com.tennisclubs.service.CsvReader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ImportTransactionsTests extends IntegrationTest {
+    private static final String HEADER = "oib,transactionTimestamp,price,paymentMethod,description\n";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long clubId;
+    private String oib;
+
+    @BeforeAll
+    void seed() {
+        Club club = club("HTK");
+        Player player = player("Ana", "Horvat");
+        joins(player, club, LocalDate.of(2020, 1, 1));
+        clubId = club.getClubId();
+        oib = player.getOib();
+    }
+
+    private List<JsonNode> importCsv(Long clubId, String csv) throws Exception {
+        MvcResult started = mockMvc.perform(post("/clubs/" + clubId + "/transactions:bulk").contentType(CsvReader.MEDIA_TYPE).content(csv))
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        return body.lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+    }
+
+    @Test
+    void aLedgerOfTwoChunksIsImportedWithProgressAndRowErrors() throws Exception {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int row = 1; row <= 1000; row++) {
+            String rowOib = row == 3 ? "99999999999" : oib;
+            csv.append(rowOib).append(",2024-05-01T10:00:00,10.0,CASH,Membership\n");
+        }
+        csv.append(oib).append(",2024-05-02T10:00:00,,CASH,No price\n");
+        csv.append(oib).append(",2024-05-02T10:00:00,10.0,BITCOIN,Unknown method\n");
+        csv.append(",2024-06-01T10:00:00,-20.0,CREDIT_CARD,Nets\n");
+
+        List<JsonNode> progress = importCsv(clubId, csv.toString());
+
+        assertEquals(3, progress.size());
+        assertEquals(1000, progress.get(0).get("processed").asLong());
+        assertEquals(999, progress.get(0).get("imported").asLong());
+        assertEquals(3, progress.get(0).get("errors").get(0).get("row").asInt());
+        assertEquals("Person 99999999999 not found", progress.get(0).get("errors").get(0).get("message").asText());
+        assertEquals(1003, progress.get(1).get("processed").asLong());
+        assertEquals(1000, progress.get(1).get("imported").asLong());
+        assertEquals(1001, progress.get(1).get("errors").get(0).get("row").asInt());
+        assertEquals("Price is required", progress.get(1).get("errors").get(0).get("message").asText());
+        assertEquals(1002, progress.get(1).get("errors").get(1).get("row").asInt());
+        assertEquals(2, progress.get(1).get("errors").size());
+        assertEquals(false, progress.get(1).get("finished").asBoolean());
+        assertEquals(1000, progress.get(2).get("imported").asLong());
+        assertEquals(true, progress.get(2).get("finished").asBoolean());
+
+        mockMvc.perform(get("/clubs/" + clubId + "/balance"))
+                .andExpect(jsonPath("$.income").value(9990.0))
+                .andExpect(jsonPath("$.expenses").value(-20.0))
+                .andExpect(jsonPath("$.transactionCount").value(1000))
+                .andExpect(jsonPath("$.balance").value(9970.0));
+    }
+
+    @Test
+    void importsIntoAnUnknownClubAreNotFound() throws Exception {
+        mockMvc.perform(post("/clubs/0/transactions:bulk").contentType(CsvReader.MEDIA_TYPE).content(HEADER))
+                .andExpect(status().isNotFound());
+    }
+}
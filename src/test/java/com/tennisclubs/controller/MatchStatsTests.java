@@ -0,0 +1,163 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.dao.MatchStatsRepository;
+import com.tennisclubs.dto.MatchOutcome;
+import com.tennisclubs.entity.*;
+import com.tennisclubs.service.MatchStatsService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MatchStatsTests extends IntegrationTest {
+    @Autowired
+    private MatchStatsRepository matchStatsRepository;
+    @Autowired
+    private MatchStatsService matchStatsService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Club club;
+    private Category category;
+
+    @BeforeAll
+    void seed() {
+        club = club("HTK");
+        court(club, "Centre", SurfaceEnum.CLAY);
+        category = category(CategoryTypeEnum.SINGLES);
+    }
+
+    private Player player() {
+        return player("Player", "P");
+    }
+
+    private Long tournament(String name) {
+        return tournament(club, category, name).getTournamentId();
+    }
+
+    private MockHttpServletRequestBuilder match(MockHttpServletRequestBuilder request, Long tournamentId, int day, Player host,
+                                                Player guest, String result, String stage) {
+        return request.param("matchTimestamp", LocalDate.of(2024, 5, day).atTime(10, 0).toString()).param("matchResult", result).param("stage", stage)
+                .param("opponent1", host.getOib()).param("opponent2", guest.getOib()).param("courtName", "Centre")
+                .param("tournamentId", String.valueOf(tournamentId));
+    }
+
+    /**
+     * Adds a match the host wins, booking the only court on the given day of May 2024.
+     */
+    private String addMatch(Long tournamentId, int day, Player host, Player guest) throws Exception {
+        return mockMvc.perform(match(post("/tournaments/" + tournamentId + "/matches"), tournamentId, day, host, guest, "2-0", "GROUP"))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("Location");
+    }
+
+    @Test
+    void statsFollowAddingChangingAndDeletingAMatch() throws Exception {
+        Player host = player();
+        Player guest = player();
+        Player substitute = player();
+        Long tournamentId = tournament("Open");
+
+        String location = addMatch(tournamentId, 10, host, guest);
+        mockMvc.perform(get("/players/" + host.getPersonId() + "/stats"))
+                .andExpect(jsonPath("$.wins").value(1))
+                .andExpect(jsonPath("$.losses").value(0))
+                .andExpect(jsonPath("$.matchesPerSurface.CLAY").value(1))
+                .andExpect(jsonPath("$.matchesPerStage.GROUP").value(1));
+        mockMvc.perform(get("/players/" + guest.getPersonId() + "/stats"))
+                .andExpect(jsonPath("$.losses").value(1));
+
+        // the guest is replaced and the result reversed: the old outcome is taken back before the new one is counted
+        String version = mockMvc.perform(get(location)).andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(match(put(location), tournamentId, 10, host, substitute, "0-2", "FINAL").header("If-Match", version))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/players/" + host.getPersonId() + "/stats"))
+                .andExpect(jsonPath("$.wins").value(0))
+                .andExpect(jsonPath("$.losses").value(1))
+                .andExpect(jsonPath("$.matchesPerStage.FINAL").value(1))
+                .andExpect(jsonPath("$.matchesPerStage.GROUP").doesNotExist());
+        mockMvc.perform(get("/players/" + substitute.getPersonId() + "/stats"))
+                .andExpect(jsonPath("$.wins").value(1));
+        assertTrue(matchStatsRepository.findByPlayerId(guest.getPersonId()).isEmpty());
+
+        mockMvc.perform(delete(location)).andExpect(status().isOk());
+        assertTrue(matchStatsRepository.findByPlayerId(host.getPersonId()).isEmpty());
+        assertTrue(matchStatsRepository.findByPlayerId(substitute.getPersonId()).isEmpty());
+        mockMvc.perform(get("/players/" + host.getPersonId() + "/stats"))
+                .andExpect(jsonPath("$.wins").value(0))
+                .andExpect(jsonPath("$.losses").value(0));
+    }
+
+    @Test
+    void cascadeDeletesTakeBackTheOutcomesOfTheDeletedMatches() throws Exception {
+        Player host = player();
+        Player guest = player();
+        Player other = player();
+        addMatch(tournament("Cup"), 1, host, guest);
+        Long mastersId = tournament("Masters");
+        addMatch(mastersId, 2, host, other);
+        addMatch(mastersId, 3, guest, other);
+
+        mockMvc.perform(delete("/tournaments/" + mastersId)).andExpect(status().isOk());
+        mockMvc.perform(get("/players/" + host.getPersonId() + "/stats"))
+                .andExpect(jsonPath("$.wins").value(1))
+                .andExpect(jsonPath("$.matchesPerStage.GROUP").value(1));
+        mockMvc.perform(get("/players/" + guest.getPersonId() + "/stats"))
+                .andExpect(jsonPath("$.wins").value(0))
+                .andExpect(jsonPath("$.losses").value(1));
+        assertTrue(matchStatsRepository.findByPlayerId(other.getPersonId()).isEmpty());
+
+        mockMvc.perform(delete("/players/" + guest.getPersonId())).andExpect(status().isOk());
+        assertTrue(matchStatsRepository.findByPlayerId(host.getPersonId()).isEmpty());
+    }
+
+    @Test
+    void concurrentFirstMatchesOfAPlayerAreAllCounted() throws Exception {
+        Player host = player();
+        Player guest = player();
+        MatchOutcome outcome = new MatchOutcome(host.getPersonId(), guest.getPersonId(), null, null, Match.HOST,
+                SurfaceEnum.CLAY, StageEnum.GROUP);
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                writers.add(executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    try {
+                        start.await();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    matchStatsService.matchesAdded(List.of(outcome));
+                })));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        mockMvc.perform(get("/players/" + host.getPersonId() + "/stats"))
+                .andExpect(jsonPath("$.wins").value(2))
+                .andExpect(jsonPath("$.matchesPerSurface.CLAY").value(2));
+        mockMvc.perform(get("/players/" + guest.getPersonId() + "/stats"))
+                .andExpect(jsonPath("$.losses").value(2))
+                .andExpect(jsonPath("$.matchesPerStage.GROUP").value(2));
+    }
+}
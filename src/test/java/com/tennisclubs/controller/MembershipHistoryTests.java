@@ -0,0 +1,113 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.entity.Club;
+import com.tennisclubs.entity.Coach;
+import com.tennisclubs.entity.Player;
+import com.tennisclubs.service.MergePatch;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MembershipHistoryTests extends IntegrationTest {
+    private Long htkId;
+    private String htk;
+    private String tks;
+    private Long playerId;
+    private Long coachId;
+
+    @BeforeAll
+    void seed() {
+        Club club = club("HTK");
+        Player player = player("Ana", "Horvat");
+        joins(player, club, LocalDate.of(2020, 1, 1));
+        Coach coach = coach("Iva", "Kovač");
+        joins(coach, club, LocalDate.of(2020, 1, 1));
+        htkId = club.getClubId();
+        htk = club.getName();
+        tks = club("TKS").getName();
+        playerId = player.getPersonId();
+        coachId = coach.getPersonId();
+    }
+
+    private void moveTo(String person, String club, String from) throws Exception {
+        String version = mockMvc.perform(get(person)).andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(patch(person).contentType(MergePatch.MEDIA_TYPE).header("If-Match", version)
+                        .content("{\"clubName\": \"" + club + "\", \"from\": \"" + from + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void aPlayerReturningToAFormerClubKeepsTheEarlierMembership() throws Exception {
+        moveTo("/players/" + playerId, tks, "2024-06-01");
+        moveTo("/players/" + playerId, htk, "2025-01-01");
+
+        mockMvc.perform(get("/players/" + playerId + "/clubs"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].clubName").value(htk))
+                .andExpect(jsonPath("$[0].from").value("2020-01-01"))
+                .andExpect(jsonPath("$[0].to").value("2024-06-01"))
+                .andExpect(jsonPath("$[1].clubName").value(tks))
+                .andExpect(jsonPath("$[1].from").value("2024-06-01"))
+                .andExpect(jsonPath("$[1].to").value("2025-01-01"))
+                .andExpect(jsonPath("$[2].clubName").value(htk))
+                .andExpect(jsonPath("$[2].from").value("2025-01-01"))
+                .andExpect(jsonPath("$[2].to").doesNotExist());
+        mockMvc.perform(get("/clubs/" + htkId + "/roster").param("at", "2024-09-01"))
+                .andExpect(jsonPath("$.players.length()").value(0));
+    }
+
+    @Test
+    void aCoachReturningToAFormerClubKeepsTheEarlierMembership() throws Exception {
+        moveTo("/coaches/" + coachId, tks, "2024-06-01");
+        moveTo("/coaches/" + coachId, htk, "2025-01-01");
+
+        mockMvc.perform(get("/coaches/" + coachId + "/clubs"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].to").value("2024-06-01"))
+                .andExpect(jsonPath("$[1].clubName").value(tks))
+                .andExpect(jsonPath("$[2].clubName").value(htk))
+                .andExpect(jsonPath("$[2].from").value("2025-01-01"));
+    }
+
+    @Test
+    void patchingOnlyTheClubMovesThePlayerFromToday() throws Exception {
+        Player player = player("Eva", "Horvat");
+        joins(player, club("HTK"), LocalDate.of(2020, 1, 1));
+        String location = "/players/" + player.getPersonId();
+        String version = mockMvc.perform(get(location)).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(patch(location).contentType(MergePatch.MEDIA_TYPE).header("If-Match", version)
+                        .content("{\"clubName\": \"" + tks + "\"}"))
+                .andExpect(status().isOk());
+
+        String today = LocalDate.now().toString();
+        mockMvc.perform(get(location + "/clubs"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].from").value("2020-01-01"))
+                .andExpect(jsonPath("$[0].to").value(today))
+                .andExpect(jsonPath("$[1].clubName").value(tks))
+                .andExpect(jsonPath("$[1].from").value(today));
+    }
+
+    @Test
+    void aMoveStartingBeforeTheCurrentMembershipIsRejected() throws Exception {
+        Coach coach = coach("Lea", "Kovač");
+        joins(coach, club("HTK"), LocalDate.of(2020, 1, 1));
+        String location = "/coaches/" + coach.getPersonId();
+
+        mockMvc.perform(patch(location).contentType(MergePatch.MEDIA_TYPE).header("If-Match", "*")
+                        .content("{\"clubName\": \"" + tks + "\", \"from\": \"2020-01-01\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get(location + "/clubs"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].to").doesNotExist());
+    }
+}
@@ -0,0 +1,117 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.dto.PageCursor;
+import com.tennisclubs.entity.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PagingTests extends IntegrationTest {
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private String surname;
+    private List<Player> namesakes;
+    private Tournament tournament;
+    private List<Match> matches;
+
+    @BeforeAll
+    void seed() {
+        Club club = club("HTK");
+        surname = "Namesake " + next();
+        namesakes = List.of(player("Ana", surname), player("Iva", surname), player("Eva", surname), player("Maja", surname));
+        namesakes.forEach(player -> joins(player, club, LocalDate.of(2020, 1, 1)));
+
+        Court centre = court(club, "Centre", SurfaceEnum.CLAY);
+        tournament = tournament(club, category(CategoryTypeEnum.SINGLES), "Open");
+        LocalDateTime start = LocalDateTime.of(2024, 5, 10, 10, 0);
+        matches = List.of(
+                matchRepository.save(new Match(start, "2-0", "1h", StageEnum.GROUP, namesakes.get(0), namesakes.get(1), null, null, centre, tournament)),
+                matchRepository.save(new Match(start.plusHours(2), "2-1", "1h", StageEnum.GROUP, namesakes.get(2), namesakes.get(3), null, null, centre, tournament)),
+                matchRepository.save(new Match(start.plusDays(1), "0-2", "1h", StageEnum.FINAL, namesakes.get(0), namesakes.get(2), null, null, centre, tournament)));
+    }
+
+    private String tournamentMatches() {
+        return "/tournaments/" + tournament.getTournamentId() + "/matches";
+    }
+
+    @Test
+    void playersWithTheSameSurnameAreNeitherRepeatedNorSkippedAcrossPages() throws Exception {
+        String before = new PageCursor(surname, 0L).encode();
+
+        MvcResult first = mockMvc.perform(get("/players").param("limit", "2").param("after", before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].playerId").value(namesakes.get(0).getPersonId()))
+                .andExpect(jsonPath("$[1].playerId").value(namesakes.get(1).getPersonId()))
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, notNullValue()))
+                .andReturn();
+
+        mockMvc.perform(get("/players").param("limit", "2").param("after", first.getResponse().getHeader(PageCursor.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].playerId").value(namesakes.get(2).getPersonId()))
+                .andExpect(jsonPath("$[1].playerId").value(namesakes.get(3).getPersonId()))
+                .andExpect(jsonPath("$[1].surname").value(surname));
+    }
+
+    @Test
+    void theLastPageHasNoNextCursor() throws Exception {
+        MvcResult first = mockMvc.perform(get(tournamentMatches()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].matchId").value(matches.get(0).getMatchId()))
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, notNullValue()))
+                .andReturn();
+
+        mockMvc.perform(get(tournamentMatches()).param("limit", "2").param("after", first.getResponse().getHeader(PageCursor.NEXT_CURSOR_HEADER)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].matchId").value(matches.get(2).getMatchId()))
+                .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER));
+
+        // a page that ends exactly on the last row knows there is nothing after it
+        mockMvc.perform(get(tournamentMatches()).param("limit", "3"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() throws Exception {
+        String withoutId = Base64.getUrlEncoder().encodeToString("Horvat".getBytes(StandardCharsets.UTF_8));
+        String notAnId = Base64.getUrlEncoder().encodeToString("Horvat\nlast".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : List.of("not a cursor!", withoutId, notAnId)) {
+            mockMvc.perform(get("/players").param("limit", "2").param("after", cursor))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(status().reason("Invalid cursor"));
+        }
+        mockMvc.perform(get(tournamentMatches()).param("limit", "2").param("after", "not a cursor!"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void limitsOutsideTheAllowedRangeAreRejected() throws Exception {
+        for (String limit : List.of("0", "-1", String.valueOf(PageCursor.MAX_LIMIT + 1))) {
+            mockMvc.perform(get("/players").param("limit", limit))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(status().reason("Limit must be between 1 and " + PageCursor.MAX_LIMIT));
+            mockMvc.perform(get("/clubs").param("limit", limit)).andExpect(status().isBadRequest());
+            mockMvc.perform(get(tournamentMatches()).param("limit", limit)).andExpect(status().isBadRequest());
+        }
+    }
+}
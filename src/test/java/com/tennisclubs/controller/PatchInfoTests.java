@@ -0,0 +1,93 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.entity.Club;
+import com.tennisclubs.entity.Player;
+import com.tennisclubs.service.MergePatch;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:patch-info",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.tennisclubs.controller.PatchInfoTests$RecordingInspector"
+})
+@DirtiesContext
+class PatchInfoTests extends IntegrationTest {
+    private Long playerId;
+    private String htk;
+    private String tks;
+
+    /**
+     * Keeps every SQL statement Hibernate prepares.
+     */
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        Club club = club("HTK");
+        Player player = player("Ana", "Horvat");
+        joins(player, club, LocalDate.of(2020, 1, 1));
+        playerId = player.getPersonId();
+        htk = club.getName();
+        tks = club("TKS").getName();
+    }
+
+    private List<String> patchPlayer(String json, String ifMatch) throws Exception {
+        RecordingInspector.STATEMENTS.clear();
+        mockMvc.perform(patch("/players/" + playerId).contentType(MergePatch.MEDIA_TYPE).content(json).header("If-Match", ifMatch))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + (Long.parseLong(ifMatch) + 1) + "\""));
+        return RecordingInspector.STATEMENTS.stream().filter(sql -> !sql.startsWith("select")).toList();
+    }
+
+    @Test
+    void patchingOneFieldUpdatesOnlyThatColumnAndTheVersion() throws Exception {
+        long version = playerRepository.findByPersonId(playerId).orElseThrow().getVersion();
+
+        List<String> writes = patchPlayer("{\"injury\": \"Sprained ankle\"}", String.valueOf(version));
+
+        assertEquals(List.of("update person set version=? where person_id=? and version=?",
+                "update player set injury=? where player_id=?"), writes);
+        mockMvc.perform(get("/players/" + playerId))
+                .andExpect(jsonPath("$.injury").value("Sprained ankle"));
+    }
+
+    @Test
+    void patchingTheClubClosesTheCurrentMembership() throws Exception {
+        long version = playerRepository.findByPersonId(playerId).orElseThrow().getVersion();
+
+        patchPlayer("{\"clubName\": \"" + tks + "\", \"from\": \"2024-06-01\"}", String.valueOf(version));
+
+        mockMvc.perform(get("/players/" + playerId))
+                .andExpect(jsonPath("$.clubName").value(tks))
+                .andExpect(jsonPath("$.previousClubs[0]").value(htk + ": 1.1.2020. - 1.6.2024."));
+    }
+
+    @Test
+    void patchingAnUnknownFieldIsRejected() throws Exception {
+        mockMvc.perform(patch("/players/" + playerId).contentType(MergePatch.MEDIA_TYPE).content("{\"club\": \"TKS\"}").header("If-Match", "*"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,116 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.entity.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RangeFilterTests extends IntegrationTest {
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private Long clubId;
+    private Long tournamentId;
+    private Long coachId;
+    private List<Match> matches;
+
+    @BeforeAll
+    void seed() throws Exception {
+        Club club = club("HTK");
+        clubId = club.getClubId();
+        Court centre = court(club, "Centre", SurfaceEnum.CLAY);
+        Tournament tournament = tournament(club, category(CategoryTypeEnum.SINGLES), "Open");
+        tournamentId = tournament.getTournamentId();
+        Player ana = player("Ana", "Horvat");
+        Player iva = player("Iva", "Horvat");
+
+        // saved out of time order, so a listing in time order is not just the id order
+        matches = List.of(
+                matchRepository.save(new Match(LocalDateTime.of(2024, 5, 11, 9, 0), "2-0", null, StageEnum.FINAL, ana, iva, null, null, centre, tournament)),
+                matchRepository.save(new Match(LocalDateTime.of(2024, 5, 10, 10, 0), "2-0", null, StageEnum.GROUP, ana, iva, null, null, centre, tournament)),
+                matchRepository.save(new Match(LocalDateTime.of(2024, 5, 9, 23, 0), "0-2", null, StageEnum.GROUP, ana, iva, null, null, centre, tournament)),
+                matchRepository.save(new Match(LocalDateTime.of(2024, 5, 12, 0, 0), "2-1", null, StageEnum.FINAL, ana, iva, null, null, centre, tournament)),
+                matchRepository.save(new Match(null, "2-0", null, StageEnum.FINAL, ana, iva, null, null, centre, tournament)));
+
+        Coach coach = coach("Lea", "Coach");
+        coachId = coach.getPersonId();
+        for (String start : List.of("2024-06-04T10:00:00", "2024-06-03T10:00:00")) {
+            mockMvc.perform(post("/coaches/" + coachId + "/training-sessions").param("trainingTimestamp", start).param("duration", "1h")
+                            .param("description", "Serve").param("coachId", String.valueOf(coachId)).param("players", ana.getOib()))
+                    .andExpect(status().isOk());
+        }
+        for (String start : List.of("2024-07-01T18:00:00", "2024-08-01T18:00:00")) {
+            mockMvc.perform(post("/clubs/" + clubId + "/meetings").param("meetingTimestamp", start).param("agenda", "Budget")
+                            .param("clubId", String.valueOf(clubId)).param("oibs", iva.getOib()))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private String tournamentMatches() {
+        return "/tournaments/" + tournamentId + "/matches";
+    }
+
+    @Test
+    void matchesInThePeriodAreListedInTimeOrder() throws Exception {
+        mockMvc.perform(get(tournamentMatches()).param("from", "2024-05-10").param("to", "2024-05-12"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].matchId").value(matches.get(1).getMatchId()))
+                .andExpect(jsonPath("$[1].matchId").value(matches.get(0).getMatchId()));
+
+        // either bound alone leaves the other side open, and a match without a time is in no period
+        mockMvc.perform(get(tournamentMatches()).param("from", "2024-05-11"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].matchId").value(matches.get(3).getMatchId()));
+        mockMvc.perform(get(tournamentMatches()).param("to", "2024-05-10"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].matchId").value(matches.get(2).getMatchId()));
+
+        mockMvc.perform(get(tournamentMatches()))
+                .andExpect(jsonPath("$.length()").value(5));
+    }
+
+    @Test
+    void trainingsAndMeetingsAreFilteredByTheirTime() throws Exception {
+        mockMvc.perform(get("/coaches/" + coachId + "/training-sessions").param("from", "2024-06-04"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].trainingTimestamp").value("2024-06-04T10:00:00"));
+        mockMvc.perform(get("/coaches/" + coachId + "/training-sessions").param("to", "2024-06-04"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].trainingTimestamp").value("2024-06-03T10:00:00"));
+        mockMvc.perform(get("/coaches/" + coachId + "/training-sessions"))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        mockMvc.perform(get("/clubs/" + clubId + "/meetings").param("from", "2024-07-01").param("to", "2024-08-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].meetingTimestamp").value("2024-07-01T18:00:00"));
+        mockMvc.perform(get("/clubs/" + clubId + "/meetings"))
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void invertedPeriodsAndPagedPeriodsAreRejected() throws Exception {
+        mockMvc.perform(get(tournamentMatches()).param("from", "2024-05-12").param("to", "2024-05-10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/coaches/" + coachId + "/training-sessions").param("from", "2024-06-04").param("to", "2024-06-04"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/clubs/" + clubId + "/meetings").param("from", "2024-08-01").param("to", "2024-07-01"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get(tournamentMatches()).param("from", "2024-05-10").param("limit", "2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(status().reason("limit cannot be combined with from or to"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.entity.Coach;
+import com.tennisclubs.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TrainingScheduleTests extends IntegrationTest {
+    private Coach coach(String name) {
+        return coach(name, "Coach");
+    }
+
+    private Player player(String name) {
+        return player(name, "Player");
+    }
+
+    private static MockHttpServletRequestBuilder training(MockHttpServletRequestBuilder request, Coach coach, LocalDateTime start,
+                                                          String duration, Player... players) {
+        request.param("trainingTimestamp", start.toString()).param("duration", duration).param("description", "Serve")
+                .param("coachId", String.valueOf(coach.getPersonId()));
+        for (Player player : players) {
+            request.param("players", player.getOib());
+        }
+        return request;
+    }
+
+    private static String trainings(Coach coach) {
+        return "/coaches/" + coach.getPersonId() + "/training-sessions";
+    }
+
+    @Test
+    void aTrainingClashingWithTheCoachsTrainingIsRejected() throws Exception {
+        Coach coach = coach("Ana");
+        LocalDateTime start = LocalDateTime.of(2024, 6, 3, 10, 0);
+        mockMvc.perform(training(post(trainings(coach)), coach, start, "1h", player("Iva"))).andExpect(status().isOk());
+
+        mockMvc.perform(training(post(trainings(coach)), coach, start.plusMinutes(30), "1h", player("Eva")))
+                .andExpect(status().isConflict())
+                .andExpect(status().reason(containsString("Ana Coach has a training from 2024-06-03T10:00 to 2024-06-03T11:00")));
+    }
+
+    @Test
+    void aTrainingClashingWithAPlayersTrainingIsRejected() throws Exception {
+        Player maja = player("Maja");
+        LocalDateTime start = LocalDateTime.of(2024, 6, 4, 10, 0);
+        Coach first = coach("Lea");
+        mockMvc.perform(training(post(trainings(first)), first, start, "1h 30min", maja)).andExpect(status().isOk());
+
+        Coach second = coach("Nika");
+        mockMvc.perform(training(post(trainings(second)), second, start.plusHours(1), "1h", player("Sara"), maja))
+                .andExpect(status().isConflict())
+                .andExpect(status().reason(containsString("Maja Player has a training from 2024-06-04T10:00 to 2024-06-04T11:30")));
+    }
+
+    @Test
+    void backToBackTrainingsAreAllowed() throws Exception {
+        Coach coach = coach("Petra");
+        Player player = player("Tena");
+        LocalDateTime start = LocalDateTime.of(2024, 6, 5, 10, 0);
+        mockMvc.perform(training(post(trainings(coach)), coach, start, "1h", player)).andExpect(status().isOk());
+
+        mockMvc.perform(training(post(trainings(coach)), coach, start.plusHours(1), "1h", player)).andExpect(status().isOk());
+        mockMvc.perform(training(post(trainings(coach)), coach, start.minusHours(1), "1h", player)).andExpect(status().isOk());
+    }
+
+    @Test
+    void aChangedTrainingDoesNotClashWithItself() throws Exception {
+        Coach coach = coach("Rita");
+        Player player = player("Zora");
+        LocalDateTime start = LocalDateTime.of(2024, 6, 6, 10, 0);
+        String location = mockMvc.perform(training(post(trainings(coach)), coach, start, "1h", player))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader("Location");
+        String trainingId = location.substring(location.lastIndexOf('/') + 1);
+
+        mockMvc.perform(training(put(trainings(coach) + "/" + trainingId), coach, start.plusMinutes(30), "1h", player))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,99 @@
+package com.tennisclubs.controller;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.entity.Club;
+import com.tennisclubs.entity.Player;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TransactionSummaryTests extends IntegrationTest {
+    private Long htkId;
+    private Player ana;
+    private Player iva;
+
+    @BeforeAll
+    void seed() throws Exception {
+        Club htk = club("HTK");
+        Club tks = club("TKS");
+        ana = player("Ana", "Horvat");
+        iva = player("Iva", "Kovač");
+        joins(ana, htk, LocalDate.of(2020, 1, 1));
+        joins(iva, htk, LocalDate.of(2020, 1, 1));
+        htkId = htk.getClubId();
+
+        transaction(htkId, ana, "2024-04-30T23:59:00", "10", "CASH");
+        transaction(htkId, ana, "2024-05-03T10:00:00", "50", "CASH");
+        transaction(htkId, ana, "2024-05-20T10:00:00", "-30", "CREDIT_CARD");
+        transaction(htkId, iva, "2024-06-01T00:00:00", "100", "CASH");
+        transaction(htkId, ana, "2024-07-01T00:00:00", "20", "CASH");
+        transaction(tks.getClubId(), iva, "2024-05-10T10:00:00", "500", "CASH");
+    }
+
+    private void transaction(Long clubId, Player player, String timestamp, String price, String paymentMethod) throws Exception {
+        mockMvc.perform(post("/clubs/" + clubId + "/transactions").param("oib", player.getOib()).param("clubId", String.valueOf(clubId))
+                        .param("transactionTimestamp", timestamp).param("price", price).param("paymentMethod", paymentMethod)
+                        .param("description", "Membership"))
+                .andExpect(status().isOk());
+    }
+
+    private String summary() {
+        return "/clubs/" + htkId + "/transactions/summary";
+    }
+
+    @Test
+    void monthsInThePeriodAreSummedWithoutTheRowsOnItsEnd() throws Exception {
+        mockMvc.perform(get(summary()).param("from", "2024-05-01").param("to", "2024-07-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].key").value("2024-05"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].total").value(20.0))
+                .andExpect(jsonPath("$[0].income").value(50.0))
+                .andExpect(jsonPath("$[0].expenses").value(-30.0))
+                .andExpect(jsonPath("$[1].key").value("2024-06"))
+                .andExpect(jsonPath("$[1].count").value(1))
+                .andExpect(jsonPath("$[1].expenses").value(0.0));
+
+        mockMvc.perform(get(summary()))
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].key").value("2024-04"))
+                .andExpect(jsonPath("$[3].key").value("2024-07"));
+    }
+
+    @Test
+    void paymentMethodsAndPersonsAreSummedForTheClubOnly() throws Exception {
+        mockMvc.perform(get(summary()).param("from", "2024-05-01").param("to", "2024-07-01").param("groupBy", "PAYMENT_METHOD"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].key").value("CASH"))
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].total").value(150.0))
+                .andExpect(jsonPath("$[1].key").value("CREDIT_CARD"))
+                .andExpect(jsonPath("$[1].total").value(-30.0));
+
+        // persons are ordered by their total, the largest first
+        mockMvc.perform(get(summary()).param("groupBy", "PERSON"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].key").value("Iva Kovač, " + iva.getOib()))
+                .andExpect(jsonPath("$[0].total").value(100.0))
+                .andExpect(jsonPath("$[1].key").value("Ana Horvat, " + ana.getOib()))
+                .andExpect(jsonPath("$[1].count").value(4))
+                .andExpect(jsonPath("$[1].total").value(50.0));
+    }
+
+    @Test
+    void periodsThatEndBeforeTheyStartAreRejected() throws Exception {
+        mockMvc.perform(get(summary()).param("from", "2024-06-01").param("to", "2024-06-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(summary()).param("from", "2024-06-01").param("to", "2024-05-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(summary()).param("groupBy", "WEEK"))
+                .andExpect(status().isBadRequest());
+    }
+}
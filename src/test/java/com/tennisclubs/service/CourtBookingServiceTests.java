@@ -0,0 +1,115 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.entity.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CourtBookingServiceTests extends IntegrationTest {
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 5, 10, 12, 0);
+
+    @Autowired
+    private CourtBookingService courtBookingService;
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Court centre;
+    private Court court2;
+    private Tournament tournament;
+    private Player host;
+    private Player guest;
+    private Match booked;
+
+    @BeforeAll
+    void seed() {
+        Club club = club("HTK");
+        centre = court(club, "Centre", SurfaceEnum.CLAY);
+        court2 = court(club, "Court 2", SurfaceEnum.HARD);
+        tournament = tournament(club, category(CategoryTypeEnum.SINGLES), "Open");
+        host = player("Iva", "Horvat");
+        guest = player("Ana", "Kovač");
+        // Centre is booked from noon to 14:00, Court 2 from 2:00 to 14:00 by a match of ten hours
+        booked = matchRepository.save(match(NOON, null, centre));
+        matchRepository.save(match(NOON.minusHours(10), "10h", court2));
+    }
+
+    private Match match(LocalDateTime timestamp, String duration, Court court) {
+        return new Match(timestamp, "2-0", duration, StageEnum.GROUP, host, guest, null, null, court, tournament);
+    }
+
+    private Map<Integer, String> findConflicts(Match... matches) {
+        return new TransactionTemplate(transactionManager).execute(status -> courtBookingService.findConflicts(List.of(matches)));
+    }
+
+    @Test
+    void bookingsThatStartedBeforeTheMatchAreFoundWithinTheLongestMatch() {
+        assertEquals(Map.of(0, "Court Court 2 is already booked from 2024-05-10T02:00 to 2024-05-10T12:00"),
+                findConflicts(match(NOON.minusHours(1), "30min", court2)));
+    }
+
+    @Test
+    void bookingsMeetingAtTheirEndsDoNotClash() {
+        assertEquals(Map.of(), findConflicts(match(NOON.minusHours(2), null, centre), match(NOON.plusHours(2), "1h", centre)));
+        assertEquals(Map.of(0, "Court Centre is already booked from 2024-05-10T12:00 to 2024-05-10T14:00"),
+                findConflicts(match(NOON.plusHours(2).minusMinutes(1), null, centre)));
+    }
+
+    @Test
+    void matchesOfTheSameListClashWithEachOther() {
+        Map<Integer, String> conflicts = findConflicts(match(NOON.plusDays(1), null, centre), match(NOON.plusDays(1), null, court2),
+                match(NOON.plusDays(1).plusHours(1), null, centre));
+
+        assertEquals(Map.of(2, "Court Centre is already booked from 2024-05-11T12:00 to 2024-05-11T14:00"), conflicts);
+    }
+
+    @Test
+    void aChangedMatchDoesNotClashWithItsOwnBooking() {
+        Match changed = matchRepository.findById(booked.getMatchId()).orElseThrow();
+        changed.setMatchTimestamp(NOON.plusHours(1));
+
+        assertEquals(Map.of(), findConflicts(changed));
+    }
+
+    @Test
+    void concurrentBookingsOfTheSameCourtCannotBothCommit() {
+        TransactionTemplate otherWriter = new TransactionTemplate(transactionManager);
+        otherWriter.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            courtBookingService.findConflicts(List.of(match(NOON.plusDays(2), null, centre)));
+            otherWriter.executeWithoutResult(other -> courtBookingService.findConflicts(List.of(match(NOON.plusDays(2), null, centre))));
+        }));
+    }
+
+    @Test
+    void aChangeKeepingTheSlotDoesNotCheckTheCourt() throws Exception {
+        Match kept = matchRepository.save(match(NOON.plusDays(3), "1h", court2));
+        long courtVersion = courtRepository.findById(court2.getCourtId()).orElseThrow().getVersion();
+
+        mockMvc.perform(put("/tournaments/" + tournament.getTournamentId() + "/matches/" + kept.getMatchId())
+                        .param("matchTimestamp", NOON.plusDays(3).toString()).param("matchResult", "0-2").param("duration", "1h")
+                        .param("stage", "FINAL").param("opponent1", host.getOib()).param("opponent2", guest.getOib())
+                        .param("courtName", "Court 2").param("tournamentId", String.valueOf(tournament.getTournamentId()))
+                        .header("If-Match", "*"))
+                .andExpect(status().isOk());
+
+        assertEquals(courtVersion, courtRepository.findById(court2.getCourtId()).orElseThrow().getVersion());
+    }
+}
@@ -0,0 +1,124 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.dao.MatchRepository;
+import com.tennisclubs.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:list-query-count",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DirtiesContext
+class ListQueryCountTests extends IntegrationTest {
+    private static final int CLUBS = 3;
+    private static final int PLAYERS_PER_CLUB = 6;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private PlayerService playerService;
+    @Autowired
+    private CoachService coachService;
+    @Autowired
+    private TournamentService tournamentService;
+
+    private Long tournamentId;
+    private Long coachId;
+
+    @BeforeAll
+    void seed() {
+        Category category = category(CategoryTypeEnum.SINGLES);
+        for (int c = 0; c < CLUBS; c++) {
+            Club club = club("Club");
+            Court court = court(club, "Centre", SurfaceEnum.CLAY);
+            Tournament tournament = tournament(club, category, "Open");
+            tournamentId = tournament.getTournamentId();
+
+            Coach coach = coach("Coach", "C" + c);
+            joins(coach, club, LocalDate.of(2020, 1, 1));
+            coachId = coach.getPersonId();
+
+            Player previous = null;
+            for (int p = 0; p < PLAYERS_PER_CLUB; p++) {
+                Player player = player("Player", "P" + p);
+                joins(player, club, LocalDate.of(2020, 1, 1));
+                if (previous != null) {
+                    matchRepository.save(new Match(LocalDateTime.of(2024, 5, 1, 10, 0), "2-1", null, StageEnum.GROUP, previous, player, null, null, court, tournament));
+                }
+                previous = player;
+            }
+        }
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void getAllPlayersUsesSingleQuery() {
+        Statistics statistics = statistics();
+        assertEquals(CLUBS * PLAYERS_PER_CLUB, playerService.getAllPlayers().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllCoachesUsesSingleQuery() {
+        Statistics statistics = statistics();
+        assertEquals(CLUBS, coachService.getAllCoaches().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllTournamentsUsesSingleQuery() {
+        Statistics statistics = statistics();
+        assertEquals(CLUBS, tournamentService.getAllTournaments().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAllTournamentMatchesUsesTwoQueries() {
+        Statistics statistics = statistics();
+        assertEquals(PLAYERS_PER_CLUB - 1, tournamentService.getAllTournamentMatches(tournamentId).size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getTournamentMatchesInPeriodUsesTwoQueries() {
+        Statistics statistics = statistics();
+        assertEquals(PLAYERS_PER_CLUB - 1, tournamentService.getTournamentMatchesInPeriod(tournamentId,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 2), null).size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, tournamentService.getTournamentMatchesInPeriod(tournamentId, LocalDate.of(2024, 5, 2), null, null).size());
+    }
+
+    @Test
+    void getCoachFreeSlotsUsesFourQueries() {
+        Statistics statistics = statistics();
+        assertEquals(1, coachService.getCoachFreeSlots(coachId, LocalDate.of(2024, 5, 1), null).size());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getPlayersAvailableToTheCoachUsesThreeQueries() {
+        Statistics statistics = statistics();
+        assertEquals(PLAYERS_PER_CLUB, coachService.getPlayersAvailableToTheCoach(coachId).size());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+}
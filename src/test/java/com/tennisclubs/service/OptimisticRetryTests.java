@@ -0,0 +1,73 @@
+package com.tennisclubs.service;
+
+import com.tennisclubs.IntegrationTest;
+import com.tennisclubs.entity.Club;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OptimisticRetryTests extends IntegrationTest {
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long clubId;
+
+    @BeforeEach
+    void seedClub() {
+        clubId = club("HTK").getClubId();
+    }
+
+    /**
+     * Reads the club, lets another writer commit a change to it, then adds to the budget it read.
+     */
+    private Club addToBudgetRacingAnotherWriter(AtomicInteger attempts, Long expectedVersion) {
+        return optimisticRetry.execute(expectedVersion, () -> {
+            Club club = clubRepository.findByClubId(clubId).orElseThrow();
+            OptimisticRetry.checkVersion(expectedVersion, club.getVersion());
+            if (attempts.incrementAndGet() == 1) {
+                TransactionTemplate otherWriter = new TransactionTemplate(transactionManager);
+                otherWriter.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                otherWriter.executeWithoutResult(status -> {
+                    Club sameClub = clubRepository.findByClubId(clubId).orElseThrow();
+                    sameClub.setBudget(sameClub.getBudget() + 100);
+                });
+            }
+            club.setBudget(club.getBudget() + 10);
+            return clubRepository.saveAndFlush(club);
+        });
+    }
+
+    @Test
+    void concurrentChangeIsRetriedFromAFreshRead() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Club club = addToBudgetRacingAnotherWriter(attempts, null);
+
+        assertEquals(2, attempts.get());
+        assertEquals(110.0, clubRepository.findByClubId(clubId).orElseThrow().getBudget());
+        assertEquals(2, club.getVersion());
+    }
+
+    @Test
+    void concurrentChangeFailsThePreconditionOfAPinnedVersion() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> addToBudgetRacingAnotherWriter(attempts, 0L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        assertEquals(1, attempts.get());
+        assertEquals(100.0, clubRepository.findByClubId(clubId).orElseThrow().getBudget());
+    }
+}